@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Colon definitions per second compiled by the outer interpreter, which reads and writes HERE,
+ * STATE, BASE and LATEST for every word it compiles.
+ *
+ * <p>Each invocation starts with a freshly bootstrapped machine so that the definitions don't pile
+ * up in memory and the dictionary from one invocation to the next.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompileBenchmark {
+
+  private static final int DEFINITIONS = 4000;
+
+  private static final String SOURCE =
+      IntStream.range(0, DEFINITIONS)
+          .mapToObj(i -> ": W%d 1 2 + DUP * SWAP OVER 10 MOD DROP DROP ;\n".formatted(i))
+          .collect(Collectors.joining());
+
+  private Machine machine;
+
+  @Setup(Level.Invocation)
+  public void setUp() {
+    machine =
+        new Machine(
+            new MachineState(
+                0, 0, new PagedMemory(), new Dictionary(), new Stack(), new TaggedStack()));
+    machine.setInput(new InputSource(() -> new StringReader(SOURCE)));
+    machine.setNextInstructionPointer(machine.getDictionaryItem("INTERPRET").get().getAddress());
+    machine.jumpTo(machine.getDictionaryItem("QUIT").get().getAddress());
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(DEFINITIONS)
+  public void colonDefinitions() {
+    try {
+      machine.run(InnerInterpreter.NO_HALT);
+    } catch (GracefulShutdown _ex) { // The whole source has been read.
+    }
+  }
+}
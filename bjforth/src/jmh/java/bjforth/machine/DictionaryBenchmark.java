@@ -0,0 +1,106 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Lookups in a dictionary of generated words: what INTERPRET does for a token, what FIND does for
+ * a name and what SEE, HIDDEN and ; do for an address.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DictionaryBenchmark {
+
+  private static final int LOOKUPS = 1024;
+
+  @Param({"50000"})
+  public int words;
+
+  private Dictionary dictionary;
+  private Token[] tokens;
+  private String[] names;
+  private int[] addresses;
+
+  @Setup
+  public void setUp() {
+    dictionary = new Dictionary();
+    for (var i = 0; i < words; i++) {
+      var name = "word-%d".formatted(i);
+      dictionary.put(name, new DictionaryItem(name, i * 4, false, false));
+    }
+    var random = new Random(42);
+    tokens = new Token[LOOKUPS];
+    names = new String[LOOKUPS];
+    addresses = new int[LOOKUPS];
+    for (var i = 0; i < LOOKUPS; i++) {
+      var word = random.nextInt(words);
+      names[i] = "Word-%d".formatted(word);
+      tokens[i] = new Token(names[i]);
+      addresses[i] = word * 4;
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int findToken() {
+    var found = 0;
+    for (var token : tokens) {
+      found += dictionary.findVisible(token.getFolded()).isPresent() ? 1 : 0;
+    }
+    return found;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int findName() {
+    var found = 0;
+    for (var name : names) {
+      found += dictionary.getAllForName(name).isPresent() ? 1 : 0;
+    }
+    return found;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(LOOKUPS)
+  public int getByAddress() {
+    var found = 0;
+    for (var address : addresses) {
+      found += dictionary.get(address).isPresent() ? 1 : 0;
+    }
+    return found;
+  }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.config.Options;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Instructions per second of each inner interpreter, where an instruction is a memory cell
+ * executed, running {@code : LOOP 1000 BEGIN 1- DUP 0= UNTIL DROP ;}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EngineBenchmark {
+
+  private static final int ITERATIONS = 1000;
+
+  /** The number of cells the loop executes, checked in {@link #setUp()}. */
+  private static final int INSTRUCTIONS = 8 * ITERATIONS + 8;
+
+  @Param({Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  public String engine;
+
+  private Machine machine;
+  private int callSite;
+
+  @Setup
+  public void setUp() {
+    machine =
+        new Machine(
+            new MachineState(
+                0, 0, new PagedMemory(), new Dictionary(), new Stack(), new TaggedStack()),
+            engine);
+    callSite =
+        ThreadedCode.define(
+            machine, "DOCOL", "LIT", ITERATIONS, "1-", "DUP", "0=", "0BRANCH", -4, "DROP", "EXIT");
+    var steps = ThreadedCode.step(machine, callSite);
+    if (steps != INSTRUCTIONS) {
+      throw new IllegalStateException(
+          "Expected %d instructions but was %d".formatted(INSTRUCTIONS, steps));
+    }
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(INSTRUCTIONS)
+  public void countDownLoop() {
+    ThreadedCode.run(machine, callSite);
+  }
+}
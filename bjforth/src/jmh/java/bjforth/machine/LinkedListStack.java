@@ -0,0 +1,126 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.LinkedList;
+
+/**
+ * The former LinkedList based stack, kept as the baseline of {@link StackBenchmark}.
+ *
+ * <p>The stack manipulation operations pop and push the way the primitives used to.
+ */
+class LinkedListStack extends Stack {
+
+  private final LinkedList<Object> list = new LinkedList<>();
+
+  @Override
+  public Object pop() {
+    return list.removeFirst();
+  }
+
+  @Override
+  public void push(Object item) {
+    list.addFirst(item);
+  }
+
+  @Override
+  public Object peek() {
+    return list.peek();
+  }
+
+  @Override
+  public int getPointer() {
+    if (list.size() <= 0) {
+      throw new MachineException("Empty stack");
+    }
+    return list.size() - 1;
+  }
+
+  @Override
+  public void setPointer(int pointer) {
+    if (pointer >= list.size() || pointer < 0) {
+      throw new MachineException("Invalid stack pointer");
+    }
+    for (int i = list.size() - 1; i > pointer; i--) list.remove(i);
+  }
+
+  @Override
+  public Object getItem(int pointer) {
+    if (pointer >= list.size() || pointer < 0) {
+      throw new MachineException("Invalid stack pointer");
+    }
+    return list.get(pointer);
+  }
+
+  @Override
+  boolean isInt(int pointer) {
+    return pointer >= 0 && pointer < list.size() && list.get(pointer) instanceof Integer;
+  }
+
+  @Override
+  boolean isIntOrLong(int pointer) {
+    return pointer >= 0
+        && pointer < list.size()
+        && (list.get(pointer) instanceof Integer || list.get(pointer) instanceof Long);
+  }
+
+  @Override
+  long popLong() {
+    return ((Number) pop()).longValue();
+  }
+
+  @Override
+  void drop() {
+    pop();
+  }
+
+  @Override
+  void dup() {
+    var p = pop();
+    push(p);
+    push(p);
+  }
+
+  @Override
+  void over() {
+    var first = pop();
+    var second = pop();
+    push(second);
+    push(first);
+    push(second);
+  }
+
+  @Override
+  void swap() {
+    var p1 = pop();
+    var p2 = pop();
+    push(p1);
+    push(p2);
+  }
+
+  @Override
+  void rot() {
+    var first = pop();
+    var second = pop();
+    var third = pop();
+    push(second);
+    push(first);
+    push(third);
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.config.Options;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Runs the inner interpreter over a threaded-code count down loop, ie {@code : LOOP 1000 BEGIN 1-
+ * DUP 0= UNTIL DROP ;}, on top of each memory implementation.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MemoryBenchmark {
+
+  @Param({Options.MEMORY_PAGED, Options.MEMORY_HASHMAP})
+  public String memory;
+
+  @Param({"1000"})
+  public int iterations;
+
+  private Machine machine;
+  private int callSite;
+
+  @Setup
+  public void setUp() {
+    var mem =
+        switch (memory) {
+          case Options.MEMORY_HASHMAP -> new HashMapMemory();
+          default -> new PagedMemory();
+        };
+    machine =
+        new Machine(new MachineState(0, 0, mem, new Dictionary(), new Stack(), new Stack()));
+    callSite =
+        ThreadedCode.define(
+            machine, "DOCOL", "LIT", iterations, "1-", "DUP", "0=", "0BRANCH", -4, "DROP", "EXIT");
+  }
+
+  @Benchmark
+  public void countDownLoop() {
+    ThreadedCode.run(machine, callSite);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Words per second of the outer interpreter, ie QUIT and INTERPRET, over a literal heavy source:
+ * every other word is a number, of each kind NUMBER parses, and the rest are DROPs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OuterInterpreterBenchmark {
+
+  private static final String LINE =
+      "1 DROP -42 DROP 65535 DROP 2147483648 DROP -9223372036854775808 DROP"
+          + " 123456789012345678901234567890 DROP 3.25 DROP -1.5E10 DROP\n";
+
+  private static final int LINES = 1000;
+
+  private static final int WORDS = 16 * LINES;
+
+  private static final String SOURCE = LINE.repeat(LINES);
+
+  private Machine machine;
+  private int quit;
+  private int interpret;
+
+  @Setup
+  public void setUp() {
+    machine =
+        new Machine(
+            new MachineState(
+                0, 0, new PagedMemory(), new Dictionary(), new Stack(), new TaggedStack()));
+    quit = machine.getDictionaryItem("QUIT").get().getAddress();
+    interpret = machine.getDictionaryItem("INTERPRET").get().getAddress();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(WORDS)
+  public void literals() {
+    machine.setInput(new InputSource(() -> new StringReader(SOURCE)));
+    machine.setNextInstructionPointer(interpret);
+    machine.jumpTo(quit);
+    try {
+      machine.run(InnerInterpreter.NO_HALT);
+    } catch (GracefulShutdown _ex) { // The whole source has been read.
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the parameter stack implementations: the array based one, the tagged one which keeps
+ * ints and longs unboxed and the former LinkedList one.
+ *
+ * <p>Runs a DUP, SWAP, ROT, OVER mix and a summing loop through the inner interpreter, and moves
+ * the stack pointer of a deep stack.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StackBenchmark {
+
+  private static final String[] MIX = {"DUP", "SWAP", "ROT", "OVER", "DROP", "DROP"};
+
+  // : SUM 0 depth BEGIN SWAP OVER + SWAP 1- DUP 0= UNTIL DROP ; SUM DROP
+  private static final Object[] SUM_LOOP = {
+    "SWAP", "OVER", "+", "SWAP", "1-", "DUP", "0=", "0BRANCH", -8, "DROP", "DROP", "EXIT"
+  };
+
+  @Param({"array", "tagged", "linkedlist"})
+  public String stack;
+
+  @Param({"100"})
+  public int repetitions;
+
+  @Param({"1000"})
+  public int depth;
+
+  private Machine machine;
+  private int stackMix;
+  private int sumLoop;
+
+  @Setup
+  public void setUp() {
+    machine =
+        new Machine(
+            new MachineState(0, 0, new PagedMemory(), new Dictionary(), new Stack(), newStack()));
+    var cells = new ArrayList<Object>(List.of("DOCOL", "LIT", 1, "LIT", 2, "LIT", 3));
+    for (var i = 0; i < repetitions; i++) {
+      cells.addAll(List.of(MIX));
+    }
+    cells.addAll(List.of("DROP", "DROP", "DROP", "EXIT"));
+    stackMix = ThreadedCode.define(machine, cells.toArray());
+    cells = new ArrayList<Object>(List.of("DOCOL", "LIT", 0, "LIT", depth));
+    cells.addAll(List.of(SUM_LOOP));
+    sumLoop = ThreadedCode.define(machine, cells.toArray());
+  }
+
+  @Benchmark
+  public void stackMix() {
+    ThreadedCode.run(machine, stackMix);
+  }
+
+  @Benchmark
+  public void sumLoop() {
+    ThreadedCode.run(machine, sumLoop);
+  }
+
+  @Benchmark
+  public Object stackPointer() {
+    var s = newStack();
+    for (var i = 0; i < depth; i++) {
+      s.push(i);
+    }
+    var pointer = s.getPointer();
+    var deepest = s.getItem(pointer);
+    s.setPointer(0);
+    return deepest;
+  }
+
+  private Stack newStack() {
+    return switch (stack) {
+      case "linkedlist" -> new LinkedListStack();
+      case "tagged" -> new TaggedStack();
+      default -> new Stack();
+    };
+  }
+}
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.config.Options;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The stack heavy words of bjForth.forth, ie NIP, TUCK, PICK, MAX, MIN and WITHIN, on each
+ * parameter stack implementation.
+ *
+ * <p>The words are compiled the way bjForth.forth defines them. Each benchmark calls one of them
+ * in a loop and reports the average time per call.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StackWordsBenchmark {
+
+  private static final int CALLS = 1000;
+
+  @Param({Options.STACK_BOXED, Options.STACK_TAGGED, Options.STACK_CACHED})
+  public String stack;
+
+  private Machine machine;
+  private int nip;
+  private int tuck;
+  private int pick;
+  private int max;
+  private int min;
+  private int within;
+
+  @Setup
+  public void setUp() {
+    machine =
+        new Machine(
+            new MachineState(0, 0, new PagedMemory(), new Dictionary(), new Stack(), newStack()),
+            Options.ENGINE_DIRECT);
+    ThreadedCode.word(machine, "TRUE", "DOCOL", "LIT", 1, "EXIT");
+    ThreadedCode.word(machine, "FALSE", "DOCOL", "LIT", 0, "EXIT");
+    ThreadedCode.word(machine, "NIP", "DOCOL", "SWAP", "DROP", "EXIT");
+    ThreadedCode.word(machine, "TUCK", "DOCOL", "SWAP", "OVER", "EXIT");
+    ThreadedCode.word(machine, "PICK", "DOCOL", "1-", "DSP@@", "EXIT");
+    ThreadedCode.word(
+        machine, "MAX", "DOCOL", "2DUP", ">", "0BRANCH", 4, "NIP", "BRANCH", 3, "SWAP", "NIP",
+        "EXIT");
+    ThreadedCode.word(
+        machine, "MIN", "DOCOL", "2DUP", "<", "0BRANCH", 4, "NIP", "BRANCH", 3, "SWAP", "NIP",
+        "EXIT");
+    ThreadedCode.word(
+        machine, "WITHIN", "DOCOL", "-ROT", "OVER", "<=", "0BRANCH", 10, ">", "0BRANCH", 4,
+        "TRUE", "BRANCH", 2, "FALSE", "BRANCH", 3, "2DROP", "FALSE", "EXIT");
+    nip = loop("LIT", 1, "LIT", 2, "NIP", "DROP");
+    tuck = loop("LIT", 1, "LIT", 2, "TUCK", "DROP", "DROP", "DROP");
+    pick = loop("LIT", 1, "LIT", 2, "LIT", 3, "LIT", 2, "PICK", "DROP", "DROP", "DROP", "DROP");
+    max = loop("LIT", 1, "LIT", 2, "MAX", "DROP");
+    min = loop("LIT", 1, "LIT", 2, "MIN", "DROP");
+    within = loop("LIT", 20, "LIT", 30, "LIT", 10, "WITHIN", "DROP");
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public void nip() {
+    ThreadedCode.run(machine, nip);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public void tuck() {
+    ThreadedCode.run(machine, tuck);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public void pick() {
+    ThreadedCode.run(machine, pick);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public void max() {
+    ThreadedCode.run(machine, max);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public void min() {
+    ThreadedCode.run(machine, min);
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(CALLS)
+  public void within() {
+    ThreadedCode.run(machine, within);
+  }
+
+  /** Defines {@code : BENCH CALLS BEGIN body 1- DUP 0= UNTIL DROP ;} and returns its call site. */
+  private int loop(Object... body) {
+    var cells = new ArrayList<Object>(List.of("DOCOL", "LIT", CALLS));
+    cells.addAll(List.of(body));
+    cells.addAll(List.of("1-", "DUP", "0=", "0BRANCH", -(body.length + 4), "DROP", "EXIT"));
+    return ThreadedCode.define(machine, cells.toArray());
+  }
+
+  private Stack newStack() {
+    return switch (stack) {
+      case Options.STACK_BOXED -> new Stack();
+      case Options.STACK_TAGGED -> new TaggedStack();
+      default -> new CachedStack();
+    };
+  }
+}
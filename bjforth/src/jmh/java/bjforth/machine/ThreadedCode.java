@@ -0,0 +1,93 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.variables.Variables;
+
+/** Lays threaded code straight into memory and runs it, for the benchmarks. */
+class ThreadedCode {
+
+  /**
+   * Compiles a colon definition made of the given cells at HERE, followed by a call site which
+   * invokes it.
+   *
+   * <p>A String cell is the name of a word, except "DOCOL" which stands for the codeword; anything
+   * else, eg literals and branch offsets, is stored as is.
+   *
+   * @return the address of the call site
+   */
+  static int define(Machine machine, Object... cells) {
+    var word = lay(machine, cells);
+    var callSite = word + cells.length;
+    machine.setMemoryAt(callSite, word);
+    machine.setMemoryAt(Variables.get("HERE").getAddress(), callSite + 2);
+    return callSite;
+  }
+
+  /**
+   * Compiles a colon definition made of the given cells at HERE, like {@link #define(Machine,
+   * Object...)}, and adds it to the dictionary under the given name.
+   *
+   * @return the address of the word
+   */
+  static int word(Machine machine, String name, Object... cells) {
+    var word = lay(machine, cells);
+    machine.setMemoryAt(Variables.get("HERE").getAddress(), word + cells.length);
+    machine.createDictionaryItem(name, new DictionaryItem(name, word, false, false));
+    return word;
+  }
+
+  private static int lay(Machine machine, Object... cells) {
+    var here = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
+    for (var i = 0; i < cells.length; i++) {
+      if ("DOCOL".equals(cells[i])) {
+        machine.setMemoryAt(here + i, Machine.DOCOL_CODEWORD);
+      } else if (cells[i] instanceof String name) {
+        machine.setMemoryAt(here + i, machine.getDictionaryItem(name).get().getAddress());
+      } else {
+        machine.setMemoryAt(here + i, cells[i]);
+      }
+    }
+    return here;
+  }
+
+  /** Runs the word invoked at the given call site until it returns. */
+  static void run(Machine machine, int callSite) {
+    machine.setNextInstructionPointer(callSite + 1);
+    machine.jumpTo(callSite);
+    machine.run(callSite + 1);
+  }
+
+  /**
+   * Steps through the word invoked at the given call site until it returns.
+   *
+   * @return the number of steps taken
+   */
+  static int step(Machine machine, int callSite) {
+    var returnAddress = callSite + 1;
+    machine.setNextInstructionPointer(returnAddress);
+    machine.jumpTo(callSite);
+    var steps = 0;
+    while (machine.getInstrcutionPointer() != returnAddress) {
+      machine.step();
+      steps++;
+    }
+    return steps;
+  }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.config;
+
+/**
+ * Startup options.
+ *
+ * <p>Each option is read from a system property named {@code bjforth.<name>}, eg {@code
+ * -Dbjforth.memory=hashmap}. Command line arguments of the form {@code --<name>=<value>} are
+ * turned into the same system properties by {@link #parse(String[])}.
+ */
+public class Options {
+
+  private static final String PREFIX = "bjforth.";
+
+  public static final String MEMORY = "memory";
+  public static final String MEMORY_PAGED = "paged";
+  public static final String MEMORY_HASHMAP = "hashmap";
+
+  public static final String STACK = "stack";
+  public static final String STACK_TAGGED = "tagged";
+  public static final String STACK_BOXED = "boxed";
+  public static final String STACK_CACHED = "cached";
+
+  public static final String ENGINE = "engine";
+  public static final String ENGINE_STEPPING = "stepping";
+  public static final String ENGINE_DIRECT = "direct";
+  public static final String ENGINE_JIT = "jit";
+
+  public static final String JIT_THRESHOLD = "jit.threshold";
+
+  public static final String INLINE_CACHE_SIZE = "inlinecache.size";
+
+  public static final String IMPORTS = "imports";
+
+  public static final String IMAGE = "image";
+
+  public static final String IMAGE_FORMAT = "image.format";
+  public static final String IMAGE_FORMAT_MAPPED = "mapped";
+  public static final String IMAGE_FORMAT_STREAM = "stream";
+
+  public static final String MODULE_CACHE = "module.cache";
+
+  public static final String FUSIONS = "fusions";
+  public static final String FUSIONS_ALL = "all";
+  public static final String FUSIONS_NONE = "none";
+
+  public static void parse(String[] args) {
+    for (var arg : args) {
+      if (arg.startsWith("--") && arg.contains("=")) {
+        var separator = arg.indexOf('=');
+        System.setProperty(PREFIX + arg.substring(2, separator), arg.substring(separator + 1));
+      }
+    }
+  }
+
+  public static String get(String name, String defaultValue) {
+    return System.getProperty(PREFIX + name, defaultValue);
+  }
+
+  public static String memory() {
+    return get(MEMORY, MEMORY_PAGED);
+  }
+
+  public static String stack() {
+    return get(STACK, STACK_TAGGED);
+  }
+
+  public static String engine() {
+    return get(ENGINE, ENGINE_STEPPING);
+  }
+
+  public static int jitThreshold() {
+    return Integer.parseInt(get(JIT_THRESHOLD, "100"));
+  }
+
+  /** How many receiver classes an interop call site caches before it's considered megamorphic. */
+  public static int inlineCacheSize() {
+    return Integer.parseInt(get(INLINE_CACHE_SIZE, "4"));
+  }
+
+  /** A comma separated list of the packages interop type names are looked up in. */
+  public static String imports() {
+    return get(IMPORTS, "java.lang,java.util,java.io");
+  }
+
+  /** The image file to load at startup, if not empty. */
+  public static String image() {
+    return get(IMAGE, "");
+  }
+
+  /** The format SAVE-IMAGE writes; either format can be loaded. */
+  public static String imageFormat() {
+    return get(IMAGE_FORMAT, IMAGE_FORMAT_MAPPED);
+  }
+
+  /** The directory included files are cached in, see INCLUDE, if not empty. */
+  public static String moduleCache() {
+    return get(MODULE_CACHE, "");
+  }
+
+  /** Either {@link #FUSIONS_ALL}, {@link #FUSIONS_NONE} or a comma separated list of names. */
+  public static String fusions() {
+    return get(FUSIONS, FUSIONS_ALL);
+  }
+}
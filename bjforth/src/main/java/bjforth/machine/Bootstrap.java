@@ -28,9 +28,9 @@ class Bootstrap {
         (variable -> {
           state.getMemory().set(variable.getAddress(), variable.getInitialValue());
         }));
-    for (int i = 0; i < PrimitiveFactory.getPrimitiveContainers().size(); i++) {
+    for (int i = 0; i < PrimitiveFactory.getPrimitiveCount(); i++) {
       var address = i + Variables.variables.size();
-      var primitive = PrimitiveFactory.getPrimitiveContainers().get(i).get();
+      var primitive = PrimitiveFactory.getPrimitive(i);
       var dictItem =
           new DictionaryItem(
               primitive.getName(), address, primitive.isImmediate(), primitive.isHidden());
@@ -40,13 +40,13 @@ class Bootstrap {
     state
         .getMemory()
         .set(
-            Variables.get("HERE").getAddress(),
-            Variables.variables.size() + PrimitiveFactory.getPrimitiveContainers().size());
+            Variables.HERE_ADDRESS,
+            Variables.variables.size() + PrimitiveFactory.getPrimitiveCount());
 
     state
         .getMemory()
         .set(
-            Variables.get("LATEST").getAddress(),
-            Variables.variables.size() + PrimitiveFactory.getPrimitiveContainers().size() - 1);
+            Variables.LATEST_ADDRESS,
+            Variables.variables.size() + PrimitiveFactory.getPrimitiveCount() - 1);
   }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A tagged parameter stack which keeps the top item in fields of its own, ie a top-of-stack
+ * register.
+ *
+ * <p>The arithmetic, comparison and stack shuffling primitives mostly work on the top item, so
+ * popping it and pushing the result only touches the register. The register is spilled into the
+ * arrays when an item is pushed on top of it or when the whole stack is needed, eg by DSP@, DSP!
+ * or .S.
+ */
+class CachedStack extends TaggedStack {
+
+  private boolean cached = false;
+  private byte cachedTag;
+  private long cachedLong;
+  private Object cachedRef;
+
+  CachedStack() {}
+
+  CachedStack(CachedStack other) {
+    super(other);
+  }
+
+  @Override
+  Stack copy() {
+    spill();
+    return new CachedStack(this);
+  }
+
+  @Override
+  public void push(Object item) {
+    spill();
+    cached = true;
+    cachedRef = item;
+    if (item instanceof Integer n) {
+      cachedTag = INT;
+      cachedLong = n;
+    } else if (item instanceof Long n) {
+      cachedTag = LONG;
+      cachedLong = n;
+    } else {
+      cachedTag = REF;
+    }
+  }
+
+  @Override
+  void pushInt(int value) {
+    spill();
+    cache(INT, value);
+  }
+
+  @Override
+  void pushLong(long value) {
+    spill();
+    cache(LONG, value);
+  }
+
+  @Override
+  public Object pop() {
+    if (!cached) {
+      return super.pop();
+    }
+    var item = box();
+    clear();
+    return item;
+  }
+
+  @Override
+  long popLong() {
+    if (!cached) {
+      return super.popLong();
+    }
+    clear();
+    return cachedLong;
+  }
+
+  @Override
+  int peekInt() {
+    return cached ? (int) cachedLong : super.peekInt();
+  }
+
+  @Override
+  public Object peek() {
+    return cached ? box() : super.peek();
+  }
+
+  @Override
+  public Object getItem(int pointer) {
+    if (!cached) {
+      return super.getItem(pointer);
+    } else if (pointer == 0) {
+      return box();
+    } else if (pointer < 0) {
+      throw new MachineException("Invalid stack pointer");
+    } else {
+      return super.getItem(pointer - 1);
+    }
+  }
+
+  @Override
+  boolean isInt(int pointer) {
+    if (!cached) {
+      return super.isInt(pointer);
+    }
+    return pointer == 0 ? cachedTag == INT : super.isInt(pointer - 1);
+  }
+
+  @Override
+  boolean isIntOrLong(int pointer) {
+    if (!cached) {
+      return super.isIntOrLong(pointer);
+    }
+    return pointer == 0 ? cachedTag != REF : super.isIntOrLong(pointer - 1);
+  }
+
+  @Override
+  public int getPointer() {
+    spill();
+    return super.getPointer();
+  }
+
+  @Override
+  public void setPointer(int pointer) {
+    spill();
+    super.setPointer(pointer);
+  }
+
+  @Override
+  void drop() {
+    if (cached) {
+      clear();
+    } else {
+      super.drop();
+    }
+  }
+
+  @Override
+  void dup() {
+    if (cached) {
+      store();
+    } else {
+      super.dup();
+    }
+  }
+
+  @Override
+  void over() {
+    if (!cached) {
+      super.over();
+      return;
+    }
+    requireBelow();
+    store();
+    load(top - 2);
+  }
+
+  @Override
+  void swap() {
+    if (!cached) {
+      super.swap();
+      return;
+    }
+    requireBelow();
+    var tag = cachedTag;
+    var value = cachedLong;
+    var ref = cachedRef;
+    load(top - 1);
+    super.drop();
+    if (tag == INT) {
+      super.pushInt((int) value);
+    } else if (tag == LONG) {
+      super.pushLong(value);
+    } else {
+      super.push(ref);
+    }
+  }
+
+  @Override
+  void nip() {
+    if (!cached) {
+      super.nip();
+      return;
+    }
+    requireBelow();
+    super.drop();
+  }
+
+  @Override
+  void rot() {
+    spill();
+    super.rot();
+  }
+
+  @Override
+  int size() {
+    return super.size() + (cached ? 1 : 0);
+  }
+
+  @Override
+  Iterator<Object> iterator() {
+    spill();
+    return super.iterator();
+  }
+
+  @Override
+  Iterator<Object> descendingIterator() {
+    spill();
+    return super.descendingIterator();
+  }
+
+  private void cache(byte tag, long value) {
+    cached = true;
+    cachedTag = tag;
+    cachedLong = value;
+    cachedRef = null;
+  }
+
+  private void clear() {
+    cached = false;
+    cachedRef = null;
+  }
+
+  /** The register as an object, boxing it the first time it's needed. */
+  private Object box() {
+    if (cachedRef == null) {
+      if (cachedTag == INT) {
+        cachedRef = Integer.valueOf((int) cachedLong);
+      } else if (cachedTag == LONG) {
+        cachedRef = Long.valueOf(cachedLong);
+      }
+    }
+    return cachedRef;
+  }
+
+  /** Pushes a copy of the register into the arrays, leaving the register as is. */
+  private void store() {
+    if (cachedTag == INT) {
+      super.pushInt((int) cachedLong);
+    } else if (cachedTag == LONG) {
+      super.pushLong(cachedLong);
+    } else {
+      super.push(cachedRef);
+    }
+  }
+
+  /** Moves the register into the arrays. */
+  private void spill() {
+    if (cached) {
+      store();
+      clear();
+    }
+  }
+
+  /** Copies the slot at the given index into the register. */
+  private void load(int index) {
+    cached = true;
+    cachedTag = tag(index);
+    if (cachedTag == REF) {
+      cachedRef = read(index);
+    } else {
+      cachedLong = longValue(index);
+      cachedRef = null;
+    }
+  }
+
+  /** Underflow, when there's nothing below the register, leaves the stack empty. */
+  private void requireBelow() {
+    if (super.size() == 0) {
+      clear();
+      throw new NoSuchElementException();
+    }
+  }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.primitives.PrimitiveFactory;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The compiled forms of the colon definitions which {@link DirectInterpreter} runs often.
+ *
+ * <p>A colon definition is compiled once it's been entered {@code threshold} times. Compiling
+ * follows the threaded code from the codeword along every path it can take (through BRANCH and
+ * 0BRANCH, stopping at EXIT) and decodes each cell together with the primitive it points to. The
+ * operand cells, eg the literal of LIT or the String of LITSTRING, are skipped. The cells of the
+ * parts of a superinstruction are decoded too, as a branch may land on them. Cells which can't be
+ * decoded are left to the interpreter, and so are words whose code (see {@link CodeGenerator})
+ * would be too large.
+ *
+ * <p>Every cell a compiled word was decoded from is watched and writing to any of them throws the
+ * compiled word away. A word which writes into its own body while running compiled is never
+ * compiled again, ie self-modifying code is always interpreted.
+ */
+class CodeCache {
+
+  /** The most cells a single word may span to be compiled. */
+  private static final int MAX_CELLS = 1 << 16;
+
+  private final Machine machine;
+  private final MachineState state;
+  private final int threshold;
+  private final int base;
+  private final NativeSubroutine[] handlers;
+  private final byte[] kinds;
+
+  /** The number of times each codeword has been entered, by address. */
+  private int[] entries = new int[1024];
+
+  /** The compiled word each cell belongs to, by address. */
+  private CompiledWord[] owners = new CompiledWord[1024];
+
+  private final List<CompiledWord> words = new ArrayList<>();
+  private final BitSet watched = new BitSet();
+  private final BitSet rejected = new BitSet();
+
+  CodeCache(
+      Machine machine,
+      MachineState state,
+      int threshold,
+      int base,
+      NativeSubroutine[] handlers,
+      byte[] kinds) {
+    this.machine = machine;
+    this.state = state;
+    this.threshold = threshold;
+    this.base = base;
+    this.handlers = handlers;
+    this.kinds = kinds;
+  }
+
+  /** The compiled word whose body contains the given address, if any. */
+  CompiledWord get(int address) {
+    return address >= 0 && address < owners.length ? owners[address] : null;
+  }
+
+  /** To be called every time the interpreter enters the codeword at the given address. */
+  void entered(int address) {
+    if (address < 0 || rejected.get(address)) {
+      return;
+    }
+    if (address >= entries.length) {
+      entries = Arrays.copyOf(entries, Math.max(address + 1, entries.length * 2));
+    }
+    if (++entries[address] == threshold) {
+      compile(address);
+    }
+  }
+
+  void memoryWritten(int address) {
+    if (address < 0 || !watched.get(address)) {
+      return;
+    }
+    var word = get(address);
+    if (word != null) {
+      discard(word);
+    } else { // A primitive cell: any word may depend on it.
+      for (var w : List.copyOf(words)) {
+        discard(w);
+      }
+      watched.clear();
+    }
+  }
+
+  /** Never compiles the word at the given address again. */
+  void reject(int address) {
+    rejected.set(address);
+  }
+
+  private void discard(CompiledWord word) {
+    word.invalidate();
+    words.remove(word);
+    Arrays.fill(owners, word.getStart(), word.getEnd(), null);
+    watched.clear(word.getStart(), word.getEnd());
+    entries[word.getStart()] = 0;
+  }
+
+  private void compile(int start) {
+    var memory = state.getMemory();
+    var word = new CompiledWord(machine, state, this, start);
+    var visited = new BitSet();
+    var primitives = new BitSet();
+    var pending = new ArrayDeque<Integer>();
+    pending.push(start);
+    while (!pending.isEmpty()) {
+      int address = pending.pop();
+      if (address < start || address - start >= MAX_CELLS) {
+        rejected.set(start);
+        return;
+      }
+      if (visited.get(address)) {
+        continue;
+      }
+      visited.set(address);
+      var content = memory.get(address);
+      if (content == Machine.DOCOL_CODEWORD) {
+        word.decodeDocol(address);
+        pending.push(address + 1);
+      } else if (content instanceof Integer target) {
+        var opcode = target - base;
+        if (opcode >= 0 && opcode < handlers.length && memory.get(target) == handlers[opcode]) {
+          primitives.set(target);
+          switch (kinds[opcode]) {
+            case DirectInterpreter.LIT -> {
+              visited.set(address + 1);
+              word.decodeLit(address, memory.get(address + 1));
+              pending.push(address + 2);
+            }
+            case DirectInterpreter.BRANCH, DirectInterpreter.ZBRANCH -> {
+              visited.set(address + 1);
+              if (memory.get(address + 1) instanceof Integer offset) {
+                var destination = address + 1 + offset;
+                if (kinds[opcode] == DirectInterpreter.BRANCH) {
+                  word.decodeBranch(address, destination);
+                } else {
+                  word.decodeZeroBranch(address, destination, target, handlers[opcode]);
+                  pending.push(address + 2);
+                }
+                pending.push(destination);
+              }
+            }
+            case DirectInterpreter.EXIT -> word.decodeExit(address, target);
+            case DirectInterpreter.LIT_ADD -> {
+              visited.set(address + 1);
+              word.decodeLitAdd(address, memory.get(address + 1), target, handlers[opcode]);
+              pending.push(address + 2);
+            }
+            case DirectInterpreter.DUP_ZBRANCH -> {
+              if (memory.get(address + 2) instanceof Integer offset) {
+                var destination = address + 2 + offset;
+                word.decodeDupZeroBranch(address, destination, target, handlers[opcode]);
+              } else {
+                word.decodePrimitive(address, target, handlers[opcode]);
+              }
+              pending.push(address + 1);
+            }
+            case DirectInterpreter.OVER_EQU -> {
+              word.decodeOverEqu(address, target, handlers[opcode]);
+              pending.push(address + 1);
+            }
+            case DirectInterpreter.SWAP_DROP -> {
+              word.decodeSwapDrop(address, target);
+              pending.push(address + 1);
+            }
+            default -> {
+              word.decodePrimitive(address, target, handlers[opcode]);
+              if (PrimitiveFactory.hasOperand(opcode)) { // Eg the String of LITSTRING.
+                visited.set(address + 1);
+                pending.push(address + 2);
+              } else {
+                pending.push(address + 1);
+              }
+            }
+          }
+        } else {
+          word.decodeJump(address, target);
+          pending.push(address + 1);
+        }
+      }
+    }
+    var end = visited.length();
+    if (end > owners.length) {
+      owners = Arrays.copyOf(owners, Math.max(end, owners.length * 2));
+    }
+    for (var address = start; address < end; address++) {
+      if (owners[address] != null) {
+        rejected.set(start);
+        return;
+      }
+    }
+    word.setEnd(end);
+    if (!word.generate()) {
+      rejected.set(start);
+      return;
+    }
+    Arrays.fill(owners, start, end, word);
+    words.add(word);
+    watched.set(start, end);
+    watched.or(primitives);
+  }
+}
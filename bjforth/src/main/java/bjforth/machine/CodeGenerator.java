@@ -0,0 +1,564 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.objectweb.asm.Opcodes.AALOAD;
+import static org.objectweb.asm.Opcodes.ACC_FINAL;
+import static org.objectweb.asm.Opcodes.ACC_PUBLIC;
+import static org.objectweb.asm.Opcodes.ACC_STATIC;
+import static org.objectweb.asm.Opcodes.ACC_SUPER;
+import static org.objectweb.asm.Opcodes.ALOAD;
+import static org.objectweb.asm.Opcodes.ASTORE;
+import static org.objectweb.asm.Opcodes.ATHROW;
+import static org.objectweb.asm.Opcodes.BIPUSH;
+import static org.objectweb.asm.Opcodes.CHECKCAST;
+import static org.objectweb.asm.Opcodes.DUP;
+import static org.objectweb.asm.Opcodes.GETFIELD;
+import static org.objectweb.asm.Opcodes.GETSTATIC;
+import static org.objectweb.asm.Opcodes.GOTO;
+import static org.objectweb.asm.Opcodes.I2L;
+import static org.objectweb.asm.Opcodes.ICONST_0;
+import static org.objectweb.asm.Opcodes.ICONST_1;
+import static org.objectweb.asm.Opcodes.IFEQ;
+import static org.objectweb.asm.Opcodes.IFLE;
+import static org.objectweb.asm.Opcodes.IFNE;
+import static org.objectweb.asm.Opcodes.IF_ICMPEQ;
+import static org.objectweb.asm.Opcodes.IF_ICMPNE;
+import static org.objectweb.asm.Opcodes.ILOAD;
+import static org.objectweb.asm.Opcodes.INVOKEINTERFACE;
+import static org.objectweb.asm.Opcodes.INVOKESPECIAL;
+import static org.objectweb.asm.Opcodes.INVOKESTATIC;
+import static org.objectweb.asm.Opcodes.INVOKEVIRTUAL;
+import static org.objectweb.asm.Opcodes.ISTORE;
+import static org.objectweb.asm.Opcodes.ISUB;
+import static org.objectweb.asm.Opcodes.L2I;
+import static org.objectweb.asm.Opcodes.LADD;
+import static org.objectweb.asm.Opcodes.LCMP;
+import static org.objectweb.asm.Opcodes.LLOAD;
+import static org.objectweb.asm.Opcodes.LSTORE;
+import static org.objectweb.asm.Opcodes.NEW;
+import static org.objectweb.asm.Opcodes.POP;
+import static org.objectweb.asm.Opcodes.PUTSTATIC;
+import static org.objectweb.asm.Opcodes.RETURN;
+import static org.objectweb.asm.Opcodes.SIPUSH;
+import static org.objectweb.asm.Opcodes.V21;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Type;
+
+/**
+ * Generates the code of a {@link CompiledWord}, ie a hidden class whose {@code run} does what the
+ * inner interpreter would do, cell after cell.
+ *
+ * <p>Each decoded cell becomes a block of bytecode with its operands built in: LIT pushes its
+ * literal, BRANCH jumps straight to the block of its destination, a primitive is called through a
+ * constant and so on. IP and NIP are kept in local variables and are written to the machine state
+ * only before a primitive is called and when leaving, also by an exception. Where IP isn't known
+ * beforehand, eg after EXIT or a primitive, the block to run next is picked by a TABLESWITCH.
+ *
+ * <p>The objects the code refers to, eg the machine and the literals, are the class data of the
+ * class and are kept in static final fields, which HotSpot treats as constants.
+ *
+ * <p>The class is written by ASM as a Java 21 class, with its stack map frames computed by ASM
+ * too, so it goes through the same type checking verifier as any other class.
+ */
+final class CodeGenerator {
+
+  /** HotSpot doesn't compile larger methods, see {@code -XX:-DontCompileHugeMethods}. */
+  private static final int MAX_CODE_LENGTH = 8000;
+
+  private static final String NAME = "bjforth/machine/GeneratedWord";
+  private static final String OBJECT = "java/lang/Object";
+  private static final String INTEGER = "java/lang/Integer";
+  private static final String MACHINE = "bjforth/machine/Machine";
+  private static final String STATE = "bjforth/machine/MachineState";
+  private static final String WORD = "bjforth/machine/CompiledWord";
+  private static final String CODE = "bjforth/machine/CompiledWord$Code";
+  private static final String SUBROUTINE = "bjforth/machine/NativeSubroutine";
+  private static final String EXCEPTION = "bjforth/machine/MachineException";
+  private static final String NO_SUCH_ELEMENT = "java/util/NoSuchElementException";
+  private static final String METHOD_HANDLES = "java/lang/invoke/MethodHandles";
+
+  // The local variables of run.
+  private static final int HALT = 1;
+  private static final int IP = 2;
+  private static final int NIP = 3;
+  private static final int TOP = 4;
+  private static final int SUM = 5;
+  private static final int THROWN = 7;
+
+  private final CompiledWord word;
+  private final int start;
+  private final ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+  private final MethodVisitor code;
+
+  private final List<Object> constants = new ArrayList<>();
+  private final List<String> constantTypes = new ArrayList<>();
+
+  /** The field of each constant, by type. */
+  private final Map<String, Map<Object, String>> constantFields = new HashMap<>();
+
+  /** The block of each cell, by offset from the start. */
+  private final Label[] blocks;
+
+  private final Label dispatch = new Label();
+  private final Label leave = new Label();
+  private final Label end = new Label();
+
+  /** The ranges, in pairs, in which the state is left to the primitive being called. */
+  private final List<Label> primitiveCalls = new ArrayList<>();
+
+  /** Where the primitives run inline may fail, to be reported the way the primitives do. */
+  private final List<Failure> failures = new ArrayList<>();
+
+  private final String machine;
+  private final String state;
+  private final String self;
+
+  private CodeGenerator(Machine machine, MachineState state, CompiledWord word) {
+    this.word = word;
+    start = word.getStart();
+    writer.visit(V21, ACC_FINAL | ACC_SUPER, NAME, null, OBJECT, new String[] {CODE});
+    code = writer.visitMethod(ACC_PUBLIC, "run", "(I)V", null, null);
+    code.visitCode();
+    blocks = new Label[word.getEnd() - start];
+    for (var i = 0; i < blocks.length; i++) {
+      blocks[i] = word.operationAt(start + i) == CompiledWord.INTERPRET ? leave : new Label();
+    }
+    this.machine = constant(machine, MACHINE);
+    this.state = constant(state, STATE);
+    self = constant(word, WORD);
+  }
+
+  /** The code of the given word, or null if it'd be too large. */
+  static CompiledWord.Code generate(Machine machine, MachineState state, CompiledWord word) {
+    var generator = new CodeGenerator(machine, state, word);
+    generator.run();
+    if (generator.end.getOffset() > MAX_CODE_LENGTH) {
+      return null;
+    }
+    generator.initializer();
+    generator.constructor();
+    generator.writer.visitEnd();
+    try {
+      var lookup =
+          MethodHandles.lookup()
+              .defineHiddenClassWithClassData(
+                  generator.writer.toByteArray(), generator.constants.toArray(), true);
+      return (CompiledWord.Code)
+          lookup.findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+    } catch (Throwable e) {
+      throw new MachineException(e);
+    }
+  }
+
+  private String constant(Object value, String type) {
+    var fields =
+        constantFields.computeIfAbsent(
+            type, _type -> type.equals(INTEGER) ? new HashMap<>() : new IdentityHashMap<>());
+    var field = fields.get(value);
+    if (field == null) {
+      field = "c" + constants.size();
+      constants.add(value);
+      constantTypes.add(type);
+      fields.put(value, field);
+      writer.visitField(ACC_STATIC | ACC_FINAL, field, "L" + type + ";", null, null).visitEnd();
+    }
+    return field;
+  }
+
+  /** Reads the constants from the class data. */
+  private void initializer() {
+    var init = writer.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+    init.visitCode();
+    init.visitMethodInsn(
+        INVOKESTATIC, METHOD_HANDLES, "lookup", "()Ljava/lang/invoke/MethodHandles$Lookup;", false);
+    init.visitLdcInsn("_");
+    init.visitLdcInsn(Type.getObjectType("[L" + OBJECT + ";"));
+    init.visitMethodInsn(
+        INVOKESTATIC,
+        METHOD_HANDLES,
+        "classData",
+        "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/Class;)"
+            + "Ljava/lang/Object;",
+        false);
+    init.visitTypeInsn(CHECKCAST, "[L" + OBJECT + ";");
+    init.visitVarInsn(ASTORE, 0);
+    for (var i = 0; i < constants.size(); i++) {
+      var type = constantTypes.get(i);
+      init.visitVarInsn(ALOAD, 0);
+      push(init, i);
+      init.visitInsn(AALOAD);
+      if (!type.equals(OBJECT)) {
+        init.visitTypeInsn(CHECKCAST, type);
+      }
+      init.visitFieldInsn(PUTSTATIC, NAME, "c" + i, "L" + type + ";");
+    }
+    init.visitInsn(RETURN);
+    init.visitMaxs(0, 0);
+    init.visitEnd();
+  }
+
+  private void constructor() {
+    var init = writer.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+    init.visitCode();
+    init.visitVarInsn(ALOAD, 0);
+    init.visitMethodInsn(INVOKESPECIAL, OBJECT, "<init>", "()V", false);
+    init.visitInsn(RETURN);
+    init.visitMaxs(0, 0);
+    init.visitEnd();
+  }
+
+  private void run() {
+    readState();
+    code.visitLabel(dispatch);
+    code.visitVarInsn(ILOAD, IP);
+    code.visitVarInsn(ILOAD, HALT);
+    code.visitJumpInsn(IF_ICMPEQ, leave);
+    code.visitFieldInsn(GETSTATIC, NAME, self, "L" + WORD + ";");
+    code.visitMethodInsn(INVOKEVIRTUAL, WORD, "isValid", "()Z", false);
+    code.visitJumpInsn(IFEQ, leave);
+    loadMachine();
+    code.visitFieldInsn(GETFIELD, MACHINE, "threadedCodeDepth", "I");
+    code.visitJumpInsn(IFLE, leave);
+    code.visitVarInsn(ILOAD, IP);
+    push(code, start);
+    code.visitInsn(ISUB);
+    code.visitTableSwitchInsn(0, blocks.length - 1, leave, blocks);
+
+    for (var i = 0; i < blocks.length; i++) {
+      if (blocks[i] != leave) {
+        code.visitLabel(blocks[i]);
+        cell(start + i);
+      }
+    }
+
+    code.visitLabel(leave);
+    writeState();
+    code.visitInsn(RETURN);
+
+    var thrown = new Label();
+    code.visitLabel(thrown);
+    code.visitVarInsn(ASTORE, THROWN);
+    writeState();
+    code.visitVarInsn(ALOAD, THROWN);
+    code.visitInsn(ATHROW);
+
+    for (var failure : failures) {
+      var handler = new Label();
+      code.visitLabel(handler);
+      code.visitInsn(POP);
+      writeState();
+      code.visitTypeInsn(NEW, EXCEPTION);
+      code.visitInsn(DUP);
+      code.visitLdcInsn(failure.message());
+      code.visitMethodInsn(INVOKESPECIAL, EXCEPTION, "<init>", "(Ljava/lang/String;)V", false);
+      code.visitInsn(ATHROW);
+      code.visitTryCatchBlock(failure.from(), failure.to(), handler, NO_SUCH_ELEMENT);
+    }
+    var from = dispatch;
+    for (var i = 0; i < primitiveCalls.size(); i += 2) {
+      code.visitTryCatchBlock(from, primitiveCalls.get(i), thrown, null);
+      from = primitiveCalls.get(i + 1);
+    }
+    code.visitTryCatchBlock(from, leave, thrown, null);
+    code.visitLabel(end);
+    code.visitMaxs(0, 0);
+    code.visitEnd();
+  }
+
+  private void cell(int address) {
+    switch (word.operationAt(address)) {
+      case CompiledWord.DOCOL -> {
+        loadMachine();
+        callMachine("enterThreadedCode", "()V");
+        loadMachine();
+        code.visitVarInsn(ILOAD, NIP);
+        box();
+        callMachine("pushToReturnStack", "(Ljava/lang/Object;)V");
+        next(address + 1);
+      }
+      case CompiledWord.LIT -> {
+        loadMachine();
+        if (word.literalAt(address) instanceof Integer literal) {
+          push(code, literal);
+          callMachine("pushIntToParameterStack", "(I)V");
+        } else {
+          var literal = constant(word.literalAt(address), OBJECT);
+          code.visitFieldInsn(GETSTATIC, NAME, literal, "L" + OBJECT + ";");
+          callMachine("pushToParameterStack", "(Ljava/lang/Object;)V");
+        }
+        next(address + 2);
+      }
+      case CompiledWord.BRANCH -> next(word.destinationAt(address));
+      case CompiledWord.ZBRANCH -> {
+        var call = new Label();
+        var fallThrough = new Label();
+        ifNotInt(0, call);
+        loadMachine();
+        callMachine("popIntFromParameterStack", "()I");
+        code.visitJumpInsn(IFNE, fallThrough);
+        next(word.destinationAt(address));
+        code.visitLabel(fallThrough);
+        next(address + 2);
+        code.visitLabel(call);
+        primitive(address);
+      }
+      case CompiledWord.EXIT -> {
+        set(NIP, address + 1);
+        set(IP, word.primitiveAt(address));
+        var from = new Label();
+        var to = new Label();
+        code.visitLabel(from);
+        loadMachine();
+        callMachine("popFromReturnStack", "()Ljava/lang/Object;");
+        code.visitLabel(to);
+        failures.add(new Failure(from, to, "Return stack empty."));
+        code.visitTypeInsn(CHECKCAST, INTEGER);
+        code.visitMethodInsn(INVOKEVIRTUAL, INTEGER, "intValue", "()I", false);
+        code.visitVarInsn(ISTORE, NIP);
+        loadMachine();
+        callMachine("exitThreadedCode", "()V");
+        code.visitVarInsn(ILOAD, NIP);
+        code.visitVarInsn(ISTORE, IP);
+        code.visitJumpInsn(GOTO, dispatch);
+      }
+      case CompiledWord.JUMP -> {
+        set(NIP, address + 1);
+        set(IP, word.destinationAt(address));
+        resume(word.destinationAt(address));
+      }
+      case CompiledWord.LIT_ADD -> {
+        if (word.literalAt(address) instanceof Integer literal) {
+          var call = new Label();
+          var promote = new Label();
+          var done = new Label();
+          ifNotInt(0, call);
+          loadMachine();
+          loadMachine();
+          callMachine("popIntFromParameterStack", "()I");
+          code.visitInsn(I2L);
+          push(code, literal);
+          code.visitInsn(I2L);
+          code.visitInsn(LADD);
+          code.visitVarInsn(LSTORE, SUM);
+          code.visitVarInsn(LLOAD, SUM);
+          code.visitVarInsn(LLOAD, SUM);
+          code.visitInsn(L2I);
+          code.visitInsn(I2L);
+          code.visitInsn(LCMP);
+          code.visitJumpInsn(IFNE, promote);
+          code.visitVarInsn(LLOAD, SUM);
+          code.visitInsn(L2I);
+          callMachine("pushIntToParameterStack", "(I)V");
+          code.visitJumpInsn(GOTO, done);
+          code.visitLabel(promote);
+          code.visitVarInsn(LLOAD, SUM);
+          callMachine("pushLongToParameterStack", "(J)V");
+          code.visitLabel(done);
+          next(address + 3);
+          code.visitLabel(call);
+        }
+        primitive(address);
+      }
+      case CompiledWord.DUP_ZBRANCH -> {
+        var call = new Label();
+        var fallThrough = new Label();
+        ifNotInt(0, call);
+        loadMachine();
+        callMachine("peekIntFromParameterStack", "()I");
+        code.visitJumpInsn(IFNE, fallThrough);
+        next(word.destinationAt(address));
+        code.visitLabel(fallThrough);
+        next(address + 3);
+        code.visitLabel(call);
+        primitive(address);
+      }
+      case CompiledWord.OVER_EQU -> {
+        var call = new Label();
+        var unequal = new Label();
+        var push = new Label();
+        ifNotInt(0, call);
+        ifNotInt(1, call);
+        loadMachine();
+        callMachine("popIntFromParameterStack", "()I");
+        code.visitVarInsn(ISTORE, TOP);
+        loadMachine();
+        loadMachine();
+        callMachine("peekIntFromParameterStack", "()I");
+        code.visitVarInsn(ILOAD, TOP);
+        code.visitJumpInsn(IF_ICMPNE, unequal);
+        code.visitInsn(ICONST_1);
+        code.visitJumpInsn(GOTO, push);
+        code.visitLabel(unequal);
+        code.visitInsn(ICONST_0);
+        code.visitLabel(push);
+        callMachine("pushIntToParameterStack", "(I)V");
+        next(address + 2);
+        code.visitLabel(call);
+        primitive(address);
+      }
+      case CompiledWord.SWAP_DROP -> {
+        set(NIP, address + 1);
+        set(IP, word.primitiveAt(address));
+        var from = new Label();
+        var to = new Label();
+        code.visitLabel(from);
+        loadMachine();
+        callMachine("nipParameterStack", "()V");
+        code.visitLabel(to);
+        failures.add(new Failure(from, to, "Stack error."));
+        next(address + 2);
+      }
+      default -> primitive(address);
+    }
+  }
+
+  private record Failure(Label from, Label to, String message) {}
+
+  /** Calls the primitive of the cell the usual way. */
+  private void primitive(int address) {
+    code.visitFieldInsn(GETSTATIC, NAME, state, "L" + STATE + ";");
+    pushBoxed(word.primitiveAt(address));
+    code.visitMethodInsn(
+        INVOKEVIRTUAL, STATE, "setInstructionPointer", "(L" + INTEGER + ";)V", false);
+    code.visitFieldInsn(GETSTATIC, NAME, state, "L" + STATE + ";");
+    pushBoxed(address + 1);
+    code.visitMethodInsn(
+        INVOKEVIRTUAL, STATE, "setNextInstructionPointer", "(L" + INTEGER + ";)V", false);
+    var from = new Label();
+    var to = new Label();
+    code.visitLabel(from);
+    code.visitFieldInsn(
+        GETSTATIC,
+        NAME,
+        constant(word.subroutineAt(address), SUBROUTINE),
+        "L" + SUBROUTINE + ";");
+    loadMachine();
+    code.visitMethodInsn(INVOKEINTERFACE, SUBROUTINE, "call", "(L" + MACHINE + ";)V", true);
+    code.visitLabel(to);
+    primitiveCalls.add(from);
+    primitiveCalls.add(to);
+    readState();
+    code.visitFieldInsn(GETSTATIC, NAME, self, "L" + WORD + ";");
+    code.visitMethodInsn(INVOKEVIRTUAL, WORD, "isValid", "()Z", false);
+    code.visitJumpInsn(IFNE, dispatch);
+    code.visitFieldInsn(GETSTATIC, NAME, self, "L" + WORD + ";"); // It wrote into its own body.
+    code.visitMethodInsn(INVOKEVIRTUAL, WORD, "selfModified", "()V", false);
+    code.visitJumpInsn(GOTO, dispatch);
+  }
+
+  /** Sets both IP and NIP to the given address and goes on from there. */
+  private void next(int address) {
+    push(code, address);
+    code.visitInsn(DUP);
+    code.visitVarInsn(ISTORE, IP);
+    code.visitVarInsn(ISTORE, NIP);
+    resume(address);
+  }
+
+  /** Goes on from the given address, which IP is already set to. */
+  private void resume(int address) {
+    var i = address - start;
+    if (i >= 0 && i < blocks.length && blocks[i] != leave) {
+      code.visitVarInsn(ILOAD, HALT);
+      push(code, address);
+      code.visitJumpInsn(IF_ICMPEQ, leave);
+      code.visitJumpInsn(GOTO, blocks[i]);
+    } else {
+      code.visitJumpInsn(GOTO, leave);
+    }
+  }
+
+  private void ifNotInt(int pointer, Label otherwise) {
+    loadMachine();
+    push(code, pointer);
+    callMachine("isIntOnParameterStack", "(I)Z");
+    code.visitJumpInsn(IFEQ, otherwise);
+  }
+
+  private static void push(MethodVisitor method, int value) {
+    if (value >= -1 && value <= 5) {
+      method.visitInsn(ICONST_0 + value);
+    } else if (value == (byte) value) {
+      method.visitIntInsn(BIPUSH, value);
+    } else if (value == (short) value) {
+      method.visitIntInsn(SIPUSH, value);
+    } else {
+      method.visitLdcInsn(value);
+    }
+  }
+
+  private void set(int local, int value) {
+    push(code, value);
+    code.visitVarInsn(ISTORE, local);
+  }
+
+  private void loadMachine() {
+    code.visitFieldInsn(GETSTATIC, NAME, machine, "L" + MACHINE + ";");
+  }
+
+  private void callMachine(String name, String descriptor) {
+    code.visitMethodInsn(INVOKEVIRTUAL, MACHINE, name, descriptor, false);
+  }
+
+  /** Pushes the given value, boxed once and for all. */
+  private void pushBoxed(int value) {
+    code.visitFieldInsn(GETSTATIC, NAME, constant(value, INTEGER), "L" + INTEGER + ";");
+  }
+
+  private void box() {
+    code.visitMethodInsn(INVOKESTATIC, INTEGER, "valueOf", "(I)L" + INTEGER + ";", false);
+  }
+
+  private void readState() {
+    code.visitFieldInsn(GETSTATIC, NAME, state, "L" + STATE + ";");
+    code.visitMethodInsn(
+        INVOKEVIRTUAL, STATE, "getInstructionPointer", "()L" + INTEGER + ";", false);
+    code.visitMethodInsn(INVOKEVIRTUAL, INTEGER, "intValue", "()I", false);
+    code.visitVarInsn(ISTORE, IP);
+    code.visitFieldInsn(GETSTATIC, NAME, state, "L" + STATE + ";");
+    code.visitMethodInsn(
+        INVOKEVIRTUAL, STATE, "getNextInstructionPointer", "()L" + INTEGER + ";", false);
+    code.visitMethodInsn(INVOKEVIRTUAL, INTEGER, "intValue", "()I", false);
+    code.visitVarInsn(ISTORE, NIP);
+  }
+
+  private void writeState() {
+    code.visitFieldInsn(GETSTATIC, NAME, state, "L" + STATE + ";");
+    code.visitVarInsn(ILOAD, IP);
+    box();
+    code.visitMethodInsn(
+        INVOKEVIRTUAL, STATE, "setInstructionPointer", "(L" + INTEGER + ";)V", false);
+    code.visitFieldInsn(GETSTATIC, NAME, state, "L" + STATE + ";");
+    code.visitVarInsn(ILOAD, NIP);
+    box();
+    code.visitMethodInsn(
+        INVOKEVIRTUAL, STATE, "setNextInstructionPointer", "(L" + INTEGER + ";)V", false);
+  }
+}
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.Arrays;
+
+/**
+ * A colon definition compiled by {@link CodeCache}.
+ *
+ * <p>Each cell of the body is first decoded into an operation which does in one go what the
+ * interpreter does in two, ie jumping to the primitive a cell points to and then executing it. The
+ * operands of LIT, BRANCH and 0BRANCH, and of the superinstructions, are read at compile time.
+ * {@link CodeGenerator} then turns the operations into JVM bytecode, one class per word, which is
+ * what runs. IP and NIP are still kept exactly as the interpreter would keep them, so primitives
+ * which read or change them work unchanged.
+ */
+class CompiledWord {
+
+  static final byte INTERPRET = 0;
+  static final byte DOCOL = 1;
+  static final byte LIT = 2;
+  static final byte BRANCH = 3;
+  static final byte ZBRANCH = 4;
+  static final byte EXIT = 5;
+  static final byte PRIMITIVE = 6;
+  static final byte JUMP = 7;
+  static final byte LIT_ADD = 8;
+  static final byte DUP_ZBRANCH = 9;
+  static final byte OVER_EQU = 10;
+  static final byte SWAP_DROP = 11;
+
+  private final Machine machine;
+  private final MachineState state;
+  private final CodeCache codeCache;
+  private final int start;
+  private int end;
+  private boolean valid = true;
+
+  private byte[] operations = new byte[16];
+
+  /** The destination of BRANCH, 0BRANCH and jumps. */
+  private int[] destinations = new int[16];
+
+  /** The address of the primitive a cell points to. */
+  private int[] primitives = new int[16];
+
+  private Object[] literals = new Object[16];
+  private NativeSubroutine[] subroutines = new NativeSubroutine[16];
+
+  private Code code;
+
+  CompiledWord(Machine machine, MachineState state, CodeCache codeCache, int start) {
+    this.machine = machine;
+    this.state = state;
+    this.codeCache = codeCache;
+    this.start = start;
+    this.end = start;
+  }
+
+  int getStart() {
+    return start;
+  }
+
+  int getEnd() {
+    return end;
+  }
+
+  void setEnd(int end) {
+    this.end = end;
+  }
+
+  void invalidate() {
+    valid = false;
+  }
+
+  void decodeDocol(int address) {
+    decode(address, DOCOL);
+  }
+
+  void decodeLit(int address, Object literal) {
+    var i = decode(address, LIT);
+    literals[i] = literal;
+  }
+
+  void decodeBranch(int address, int destination) {
+    var i = decode(address, BRANCH);
+    destinations[i] = destination;
+  }
+
+  void decodeZeroBranch(int address, int destination, int primitive, NativeSubroutine subroutine) {
+    var i = decode(address, ZBRANCH);
+    destinations[i] = destination;
+    primitives[i] = primitive;
+    subroutines[i] = subroutine;
+  }
+
+  void decodeExit(int address, int primitive) {
+    var i = decode(address, EXIT);
+    primitives[i] = primitive;
+  }
+
+  void decodePrimitive(int address, int primitive, NativeSubroutine subroutine) {
+    var i = decode(address, PRIMITIVE);
+    primitives[i] = primitive;
+    subroutines[i] = subroutine;
+  }
+
+  void decodeLitAdd(int address, Object literal, int primitive, NativeSubroutine subroutine) {
+    var i = decode(address, LIT_ADD);
+    literals[i] = literal;
+    primitives[i] = primitive;
+    subroutines[i] = subroutine;
+  }
+
+  void decodeDupZeroBranch(
+      int address, int destination, int primitive, NativeSubroutine subroutine) {
+    var i = decode(address, DUP_ZBRANCH);
+    destinations[i] = destination;
+    primitives[i] = primitive;
+    subroutines[i] = subroutine;
+  }
+
+  void decodeOverEqu(int address, int primitive, NativeSubroutine subroutine) {
+    var i = decode(address, OVER_EQU);
+    primitives[i] = primitive;
+    subroutines[i] = subroutine;
+  }
+
+  void decodeSwapDrop(int address, int primitive) {
+    var i = decode(address, SWAP_DROP);
+    primitives[i] = primitive;
+  }
+
+  void decodeJump(int address, int destination) {
+    var i = decode(address, JUMP);
+    destinations[i] = destination;
+  }
+
+  private int decode(int address, byte operation) {
+    var i = address - start;
+    if (i >= operations.length) {
+      var capacity = Math.max(i + 1, operations.length * 2);
+      operations = Arrays.copyOf(operations, capacity);
+      destinations = Arrays.copyOf(destinations, capacity);
+      primitives = Arrays.copyOf(primitives, capacity);
+      literals = Arrays.copyOf(literals, capacity);
+      subroutines = Arrays.copyOf(subroutines, capacity);
+    }
+    operations[i] = operation;
+    return i;
+  }
+
+  byte operationAt(int address) {
+    var i = address - start;
+    return address >= start && address < end ? operations[i] : INTERPRET;
+  }
+
+  int destinationAt(int address) {
+    return destinations[address - start];
+  }
+
+  int primitiveAt(int address) {
+    return primitives[address - start];
+  }
+
+  Object literalAt(int address) {
+    return literals[address - start];
+  }
+
+  NativeSubroutine subroutineAt(int address) {
+    return subroutines[address - start];
+  }
+
+  /** Generates the code of the word, once it's been decoded; false if it's too large. */
+  boolean generate() {
+    code = CodeGenerator.generate(machine, state, this);
+    return code != null;
+  }
+
+  boolean isValid() {
+    return valid;
+  }
+
+  /** To be called by the code when a primitive has written into the body. */
+  void selfModified() {
+    codeCache.reject(start);
+  }
+
+  /**
+   * Executes the body, starting at IP, until IP leaves it, reaches the given address or reaches a
+   * cell which has to be interpreted.
+   */
+  void run(int haltAddress) {
+    code.run(haltAddress);
+  }
+
+  /** The code {@link CodeGenerator} generates for a word. */
+  interface Code {
+
+    void run(int haltAddress);
+  }
+}
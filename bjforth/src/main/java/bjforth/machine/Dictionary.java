@@ -20,68 +20,282 @@ package bjforth.machine;
 
 import java.util.*;
 
+/**
+ * The words of the machine, indexed by name and by address.
+ *
+ * <p>Names are case-insensitive: they're folded to upper case once, on the way in, and {@link
+ * Token}s carry their folded name already. The items of a name are kept newest first, so the
+ * newest definition shadows the older ones. The address index maps the address of every item to
+ * the item which was first put at that address.
+ *
+ * <p>Every item also belongs to a wordlist, the current one when it was put. Finding a word, ie
+ * {@link #findVisible(String)}, only searches the wordlists of the search order, top first. The
+ * other lookups see every wordlist.
+ *
+ * <p>The dictionary of a {@link MappedImage} starts out empty and takes the items of a name, or of
+ * an address, from the image the first time they're looked up, so that it costs nothing to open an
+ * image however many words it has.
+ */
 class Dictionary {
 
+  static final int FORTH_WORDLIST = 0;
+
   final Map<String, List<DictionaryItem>> items = new HashMap<>();
-  final Map<Integer, String> reverseLookup = new HashMap<>();
+  final Map<Integer, DictionaryItem> byAddress = new HashMap<>();
+  final List<Map<String, List<DictionaryItem>>> wordlists = new ArrayList<>();
+  private int[] searchOrder = {FORTH_WORDLIST};
+  private int current = FORTH_WORDLIST;
+
+  /**
+   * The items of a name in all the wordlists of the search order, in search order, for when there
+   * is more than one. Entries are dropped when the name is put or removed and the whole cache when
+   * the search order changes.
+   */
+  private final Map<String, List<DictionaryItem>> searchOrderCache = new HashMap<>();
+
+  /**
+   * Counts the changes to the items of the names and to the search order, so that a {@link Token}
+   * can tell whether the items it was last found among are still those of its name.
+   */
+  private int version = 0;
+
+  /**
+   * The image the items not looked up yet come from, if any, and the names and addresses taken
+   * from it so far. Names which the image doesn't have aren't kept, as they're mostly numbers.
+   */
+  private MappedImage image = null;
 
-  Dictionary() {}
+  private final Set<String> loadedNames = new HashSet<>();
+  private final Set<Integer> loadedAddresses = new HashSet<>();
+
+  Dictionary() {
+    wordlists.add(new HashMap<>());
+  }
 
   Dictionary(Dictionary other) {
-    items.putAll(other.items);
-    other.items.forEach(
-        (name, items) -> {
-          reverseLookup.putIfAbsent(items.get(0).getAddress(), name);
-        });
+    copyFrom(other);
   }
 
-  public void put(String name, DictionaryItem item) {
-    List<DictionaryItem> currentValue;
-    var nameUpper = name.toUpperCase();
-    if (items.containsKey(nameUpper)) {
-      currentValue = items.get(nameUpper);
-    } else {
-      currentValue = new ArrayList<>();
+  private void copyFrom(Dictionary other) {
+    other.loadAll();
+    other.items.forEach((name, dictItems) -> items.put(name, new ArrayList<>(dictItems)));
+    byAddress.putAll(other.byAddress);
+    for (var wordlist : other.wordlists) {
+      var copy = new HashMap<String, List<DictionaryItem>>();
+      wordlist.forEach((name, dictItems) -> copy.put(name, new ArrayList<>(dictItems)));
+      wordlists.add(copy);
     }
-    currentValue.addFirst(item);
-    items.put(nameUpper, currentValue);
-    reverseLookup.putIfAbsent(item.getAddress(), item.getName());
+    searchOrder = other.searchOrder;
+    current = other.current;
+  }
+
+  static String fold(String name) {
+    return name.toUpperCase();
+  }
+
+  public void put(String name, DictionaryItem item) {
+    var foldedName = fold(name);
+    load(foldedName);
+    load(item.getAddress());
+    items.computeIfAbsent(foldedName, _name -> new ArrayList<>()).addFirst(item);
+    wordlists.get(current).computeIfAbsent(foldedName, _name -> new ArrayList<>()).addFirst(item);
+    byAddress.putIfAbsent(item.getAddress(), item);
+    searchOrderCache.remove(foldedName);
+    version++;
   }
 
+  /**
+   * The oldest item for the name, ie the primitive even if it has been redefined since; which is
+   * what the primitives want when they compile or jump to LIT, EXIT, QUIT and the like.
+   */
   public Optional<DictionaryItem> get(String name) {
-    return Optional.ofNullable(items.get(name.toUpperCase()))
-        .map(dictionaryItems -> dictionaryItems.get(dictionaryItems.size() - 1));
+    var foldedName = fold(name);
+    load(foldedName);
+    var dictItems = items.get(foldedName);
+    return dictItems == null ? Optional.empty() : Optional.of(dictItems.getLast());
   }
 
   public Optional<DictionaryItem> get(Integer address) {
-    return Optional.ofNullable(reverseLookup.get(address))
-        .flatMap(
-            name -> {
-              return Optional.ofNullable(items.get(name.toUpperCase()))
-                  .flatMap(
-                      dictItems ->
-                          dictItems.stream()
-                              .filter(item -> item.getAddress().equals(address))
-                              .findFirst());
-            });
+    load(address);
+    return Optional.ofNullable(byAddress.get(address));
   }
 
+  /** All the items for the name, newest first. */
   public Optional<List<DictionaryItem>> getAllForName(String name) {
-    return Optional.ofNullable(items.get(name.toUpperCase()));
+    var foldedName = fold(name);
+    load(foldedName);
+    return Optional.ofNullable(items.get(foldedName));
+  }
+
+  /**
+   * The first item which isn't hidden, searching the wordlists in search order and each wordlist
+   * newest first, for a name which is already upper case.
+   */
+  public Optional<DictionaryItem> findVisible(String foldedName) {
+    return findVisible(findInSearchOrder(foldedName));
+  }
+
+  /**
+   * Like {@link #findVisible(String)}, but the items the token was last found among are used as
+   * they are unless the dictionary has changed since. Whether they're hidden is still checked, as
+   * that's changed on the items themselves.
+   */
+  Optional<DictionaryItem> findVisible(Token token) {
+    if (token.dictionary != this || token.version != version) {
+      token.items = findInSearchOrder(token.getFolded());
+      token.dictionary = this;
+      token.version = version;
+    }
+    return findVisible(token.items);
+  }
+
+  private static Optional<DictionaryItem> findVisible(List<DictionaryItem> dictItems) {
+    for (var item : dictItems) {
+      if (!item.getIsHidden()) {
+        return Optional.of(item);
+      }
+    }
+    return Optional.empty();
+  }
+
+  /** The items of the name in the wordlists of the search order, in search order. */
+  private List<DictionaryItem> findInSearchOrder(String foldedName) {
+    load(foldedName);
+    if (searchOrder.length == 1) {
+      return wordlists.get(searchOrder[0]).getOrDefault(foldedName, List.of());
+    }
+    return searchOrderCache.computeIfAbsent(foldedName, this::collectInSearchOrder);
+  }
+
+  private List<DictionaryItem> collectInSearchOrder(String foldedName) {
+    var result = new ArrayList<DictionaryItem>();
+    for (var wordlist : searchOrder) {
+      var dictItems = wordlists.get(wordlist).get(foldedName);
+      if (dictItems != null) {
+        result.addAll(dictItems);
+      }
+    }
+    return List.copyOf(result);
   }
 
+  /** Removes the newest item for the name, whichever wordlist it's in. */
   public void remove(String name) {
-    var item = items.get(name);
-    if (item != null) {
-      reverseLookup.remove(item.getFirst().getAddress());
-      item.removeFirst();
-      if (item.isEmpty()) {
-        items.remove(name);
+    var foldedName = fold(name);
+    load(foldedName);
+    var dictItems = items.get(foldedName);
+    if (dictItems != null) {
+      var item = dictItems.removeFirst();
+      load(item.getAddress());
+      byAddress.remove(item.getAddress(), item);
+      if (dictItems.isEmpty()) {
+        items.remove(foldedName);
       }
+      for (var wordlist : wordlists) {
+        var wordlistItems = wordlist.get(foldedName);
+        if (wordlistItems != null && wordlistItems.removeIf(i -> i == item)) {
+          if (wordlistItems.isEmpty()) {
+            wordlist.remove(foldedName);
+          }
+          break;
+        }
+      }
+      searchOrderCache.remove(foldedName);
+      version++;
     }
   }
 
   public Set<String> getNames() {
+    loadAll();
     return items.keySet();
   }
+
+  /** Removes every item and wordlist, leaving an empty Forth wordlist as the only one. */
+  void clear() {
+    image = null;
+    loadedNames.clear();
+    loadedAddresses.clear();
+    items.clear();
+    byAddress.clear();
+    wordlists.clear();
+    wordlists.add(new HashMap<>());
+    searchOrder = new int[] {FORTH_WORDLIST};
+    current = FORTH_WORDLIST;
+    searchOrderCache.clear();
+    version++;
+  }
+
+  /** Replaces every item and wordlist with those of the other dictionary. */
+  void replaceWith(Dictionary other) {
+    clear();
+    wordlists.clear();
+    copyFrom(other);
+  }
+
+  /** Makes the dictionary, which should be empty, take its items from the image. */
+  void setImage(MappedImage image, int wordlistCount) {
+    this.image = image;
+    while (wordlists.size() < wordlistCount) {
+      wordlists.add(new HashMap<>());
+    }
+  }
+
+  /** Takes every item of the image, if any, so that the maps have all the items. */
+  void loadAll() {
+    if (image != null) {
+      image.getNames().forEach(this::load);
+      image.getAddresses().forEach(this::load);
+      image = null;
+    }
+  }
+
+  private void load(String foldedName) {
+    if (image != null && !loadedNames.contains(foldedName)) {
+      if (image.loadName(foldedName, this)) {
+        loadedNames.add(foldedName);
+        searchOrderCache.remove(foldedName);
+      }
+    }
+  }
+
+  private void load(int address) {
+    if (image != null && loadedAddresses.add(address)) {
+      image.loadAddress(address, this);
+    }
+  }
+
+  /** Creates an empty wordlist and returns its id. */
+  int createWordlist() {
+    wordlists.add(new HashMap<>());
+    return wordlists.size() - 1;
+  }
+
+  /** The search order, top first. */
+  int[] getSearchOrder() {
+    return searchOrder.clone();
+  }
+
+  void setSearchOrder(int[] wordlists) {
+    for (var wordlist : wordlists) {
+      requireWordlist(wordlist);
+    }
+    searchOrder = wordlists.clone();
+    searchOrderCache.clear();
+    version++;
+  }
+
+  /** The wordlist new definitions are put in. */
+  int getCurrent() {
+    return current;
+  }
+
+  void setCurrent(int wordlist) {
+    requireWordlist(wordlist);
+    current = wordlist;
+  }
+
+  private void requireWordlist(int wordlist) {
+    if (wordlist < 0 || wordlist >= wordlists.size()) {
+      throw new MachineException("No such wordlist: %d".formatted(wordlist));
+    }
+  }
 }
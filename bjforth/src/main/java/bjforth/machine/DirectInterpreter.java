@@ -0,0 +1,245 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.primitives.PrimitiveFactory;
+import bjforth.variables.Variables;
+import java.util.NoSuchElementException;
+
+/**
+ * An inner interpreter which keeps IP and NIP in local ints and dispatches on opcodes.
+ *
+ * <p>Each primitive gets a dense opcode, ie its index in {@link PrimitiveFactory}, which is also
+ * its offset from the first primitive address in memory. The cheapest and most frequent ones (LIT,
+ * BRANCH, 0BRANCH and EXIT) and the superinstructions, for ints, are executed right in the loop.
+ * Every other primitive is called the usual way, with IP and NIP written to the machine state
+ * before the call and read back after.
+ *
+ * <p>Semantically it's the same as {@link SteppingInterpreter}: the same cells are visited in the
+ * same order and the state is left the same way, exceptions included.
+ *
+ * <p>Optionally, colon definitions which are entered often enough are compiled (see {@link
+ * CodeCache}) and from then on run compiled whenever IP is in their body.
+ */
+class DirectInterpreter implements InnerInterpreter {
+
+  static final byte GENERIC = 0;
+  static final byte LIT = 1;
+  static final byte BRANCH = 2;
+  static final byte ZBRANCH = 3;
+  static final byte EXIT = 4;
+  static final byte LIT_ADD = 5;
+  static final byte DUP_ZBRANCH = 6;
+  static final byte OVER_EQU = 7;
+  static final byte SWAP_DROP = 8;
+
+  private final Machine machine;
+  private final MachineState state;
+  private final int base;
+  private final NativeSubroutine[] handlers;
+  private final byte[] kinds;
+  private final CodeCache codeCache;
+
+  DirectInterpreter(Machine machine, MachineState state) {
+    this(machine, state, 0);
+  }
+
+  /**
+   * @param compileThreshold the number of times a colon definition is entered before it's
+   *     compiled, or 0 to never compile
+   */
+  DirectInterpreter(Machine machine, MachineState state, int compileThreshold) {
+    this.machine = machine;
+    this.state = state;
+    base = Variables.variables.size();
+    var count = PrimitiveFactory.getPrimitiveCount();
+    handlers = new NativeSubroutine[count];
+    kinds = new byte[count];
+    for (var opcode = 0; opcode < count; opcode++) {
+      var primitive = PrimitiveFactory.getPrimitive(opcode);
+      handlers[opcode] = primitive;
+      kinds[opcode] =
+          switch (primitive.getName()) {
+            case "LIT" -> LIT;
+            case "BRANCH" -> BRANCH;
+            case "0BRANCH" -> ZBRANCH;
+            case "EXIT" -> EXIT;
+            case "LIT+" -> LIT_ADD;
+            case "DUP0BRANCH" -> DUP_ZBRANCH;
+            case "OVER=" -> OVER_EQU;
+            case "SWAPDROP" -> SWAP_DROP;
+            default -> GENERIC;
+          };
+    }
+    codeCache =
+        compileThreshold > 0
+            ? new CodeCache(machine, state, compileThreshold, base, handlers, kinds)
+            : null;
+  }
+
+  @Override
+  public void memoryWritten(int address) {
+    if (codeCache != null) {
+      codeCache.memoryWritten(address);
+    }
+  }
+
+  @Override
+  public void run(int haltAddress) {
+    var memory = state.getMemory();
+    int ip = state.getInstructionPointer();
+    int nip = state.getNextInstructionPointer();
+    var inPrimitive = false;
+    try {
+      while (ip != haltAddress) {
+        if (codeCache != null && machine.threadedCodeDepth > 0) {
+          var word = codeCache.get(ip);
+          if (word != null) {
+            state.setInstructionPointer(ip);
+            state.setNextInstructionPointer(nip);
+            inPrimitive = true; // The compiled word keeps the state up to date itself.
+            word.run(haltAddress);
+            inPrimitive = false;
+            ip = state.getInstructionPointer();
+            nip = state.getNextInstructionPointer();
+            if (ip == haltAddress) {
+              break;
+            }
+          }
+        }
+        var content = memory.get(ip);
+        if (content instanceof Integer address) {
+          if (machine.threadedCodeDepth > 0) {
+            nip = ip + 1;
+          }
+          ip = address;
+        } else if (content instanceof NativeSubroutine subroutine) {
+          var opcode = ip - base;
+          var kind =
+              opcode >= 0 && opcode < handlers.length && handlers[opcode] == subroutine
+                  ? kinds[opcode]
+                  : GENERIC;
+          switch (kind) {
+            case LIT -> {
+              machine.pushToParameterStack(memory.get(nip));
+              ip = ++nip;
+            }
+            case BRANCH -> {
+              nip += (Integer) memory.get(nip);
+              ip = nip;
+            }
+            case ZBRANCH -> {
+              if (machine.isIntOnParameterStack(0)) {
+                if (machine.popIntFromParameterStack() == 0) {
+                  nip += (Integer) memory.get(nip);
+                } else {
+                  nip++;
+                }
+                ip = nip;
+              } else { // Let 0BRANCH itself report the error.
+                kind = GENERIC;
+              }
+            }
+            case EXIT -> {
+              try {
+                nip = (Integer) machine.popFromReturnStack();
+              } catch (NoSuchElementException _ex) {
+                throw new MachineException("Return stack empty.");
+              }
+              machine.exitThreadedCode();
+              ip = nip;
+            }
+            case LIT_ADD -> {
+              if (memory.get(nip) instanceof Integer literal && machine.isIntOnParameterStack(0)) {
+                var sum = (long) machine.popIntFromParameterStack() + literal;
+                if (sum == (int) sum) {
+                  machine.pushIntToParameterStack((int) sum);
+                } else {
+                  machine.pushLongToParameterStack(sum);
+                }
+                nip += 2;
+                ip = nip;
+              } else {
+                kind = GENERIC;
+              }
+            }
+            case DUP_ZBRANCH -> {
+              if (machine.isIntOnParameterStack(0)) {
+                nip++; // The offset of 0BRANCH.
+                if (machine.peekIntFromParameterStack() == 0) {
+                  nip += (Integer) memory.get(nip);
+                } else {
+                  nip++;
+                }
+                ip = nip;
+              } else {
+                kind = GENERIC;
+              }
+            }
+            case OVER_EQU -> {
+              if (machine.isIntOnParameterStack(0) && machine.isIntOnParameterStack(1)) {
+                var top = machine.popIntFromParameterStack();
+                machine.pushIntToParameterStack(
+                    machine.peekIntFromParameterStack() == top ? 1 : 0);
+                ip = ++nip;
+              } else {
+                kind = GENERIC;
+              }
+            }
+            case SWAP_DROP -> {
+              try {
+                machine.nipParameterStack();
+              } catch (NoSuchElementException _ex) {
+                throw new MachineException("Stack error.");
+              }
+              ip = ++nip;
+            }
+            default -> {}
+          }
+          if (kind == GENERIC) {
+            state.setInstructionPointer(ip);
+            state.setNextInstructionPointer(nip);
+            inPrimitive = true;
+            subroutine.call(machine);
+            inPrimitive = false;
+            ip = state.getInstructionPointer();
+            nip = state.getNextInstructionPointer();
+          }
+        } else if (content == Machine.DOCOL_CODEWORD) {
+          if (codeCache != null) {
+            codeCache.entered(ip);
+          }
+          machine.enterThreadedCode();
+          machine.pushToReturnStack(nip);
+          nip = ip + 1;
+          ip = nip;
+        } else if (content == null) {
+          throw new MachineException("Don't know how to execute *(%d)=null".formatted(ip));
+        } else {
+          ip++;
+        }
+      }
+    } finally {
+      if (!inPrimitive) {
+        state.setInstructionPointer(ip);
+        state.setNextInstructionPointer(nip);
+      }
+    }
+  }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/** Memory which keeps each cell as an entry of a hash map. */
+class HashMapMemory extends Memory {
+  private final Map<Integer, Object> cells = new HashMap<>();
+
+  HashMapMemory() {}
+
+  HashMapMemory(HashMapMemory other) {
+    cells.putAll(other.cells);
+  }
+
+  @Override
+  void set(int address, Object value) {
+    if (value == null) {
+      cells.remove(address);
+    } else {
+      cells.put(address, value);
+    }
+  }
+
+  @Override
+  Object get(int address) {
+    return cells.get(address);
+  }
+
+  @Override
+  Set<Integer> getAddresses() {
+    return Set.copyOf(cells.keySet());
+  }
+
+  @Override
+  Memory copy() {
+    return new HashMapMemory(this);
+  }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import bjforth.primitives.ParsedValue;
+import bjforth.primitives.Primitive;
+import bjforth.primitives.PrimitiveFactory;
+import bjforth.primitives.lib.ClassCache;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiFunction;
+
+/**
+ * A snapshot of the memory and the dictionary of a machine, to be loaded instead of compiling the
+ * same source again, eg bjForth.forth at every startup.
+ *
+ * <p>An image is written with a {@link DataOutputStream} and consists of:
+ *
+ * <ul>
+ *   <li>a header and the {@link ImageStamp} of the image
+ *   <li>the names of the primitives, so that a primitive is written as its id and read back as the
+ *       primitive of the same name
+ *   <li>the packages imported for the Java interop words
+ *   <li>every non-null memory cell, as its address, a tag for its type and its value
+ *   <li>every dictionary item and, by id, the items of each name and of each wordlist, the items by
+ *       address, the search order and the current wordlist
+ * </ul>
+ *
+ * <p>A cell can hold a number, a String, a Character, a Boolean, a primitive, a {@link Codeword}, a
+ * Class or a {@link ParsedValue}, eg the descriptor of a Java method, which is written as its
+ * source and parsed again when the image is read. Any other object, eg a reader stored in a
+ * variable, can't be saved. The stacks aren't part of an image.
+ */
+class Image {
+
+  private static final int MAGIC = 0x626a4649; // "bjFI"
+  private static final int VERSION = 4;
+
+  enum Tag {
+    INTEGER,
+    LONG,
+    SHORT,
+    BYTE,
+    DOUBLE,
+    FLOAT,
+    BIG_INTEGER,
+    BIG_DECIMAL,
+    STRING,
+    CHARACTER,
+    BOOLEAN,
+    PRIMITIVE,
+    CLASS,
+    PARSED,
+    CODEWORD
+  }
+
+  static final Tag[] TAGS = Tag.values();
+
+  static final Codeword[] CODEWORDS = Codeword.values();
+
+  static void save(MachineState state, Path path, ImageStamp stamp) {
+    try (var out =
+        new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path), 64 * 1024))) {
+      out.writeInt(MAGIC);
+      out.writeInt(VERSION);
+      writeUTF(out, stamp.build());
+      out.writeInt(stamp.sources().size());
+      for (var source : stamp.sources()) {
+        writeUTF(out, source.path());
+        writeUTF(out, source.hash());
+      }
+      writePrimitives(out);
+      var imports = ClassCache.getImports();
+      out.writeInt(imports.size());
+      for (var packageName : imports) {
+        writeUTF(out, packageName);
+      }
+      writeMemory(out, state.getMemory());
+      writeDictionary(out, state.getDictionary());
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /**
+   * Replaces the memory and the dictionary of the machine with those of the image, which can be a
+   * {@link MappedImage} too.
+   */
+  static void load(Machine machine, MachineState state, Path path) {
+    if (MappedImage.isMappedImage(path)) {
+      MappedImage.open(path).copyTo(machine, state);
+      return;
+    }
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        throw new MachineException("Not a bjForth image: %s".formatted(path));
+      }
+      readStamp(in);
+      var primitives = readPrimitives(in);
+      for (var count = in.readInt(); count > 0; count--) {
+        ClassCache.addImport(readUTF(in));
+      }
+      readMemory(in, machine, state.getMemory(), primitives);
+      readDictionary(in, state.getDictionary());
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /**
+   * The stamp of an image of either format.
+   *
+   * @return empty if the file isn't an image of the current version of its format
+   */
+  static Optional<ImageStamp> readStamp(Path path) {
+    if (MappedImage.isMappedImage(path)) {
+      return MappedImage.readStamp(path);
+    }
+    try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return Optional.empty();
+      }
+      return Optional.of(readStamp(in));
+    } catch (EOFException e) {
+      return Optional.empty();
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  private static ImageStamp readStamp(DataInputStream in) throws IOException {
+    var build = readUTF(in);
+    var sources = new ArrayList<ImageStamp.Source>();
+    for (var count = in.readInt(); count > 0; count--) {
+      sources.add(new ImageStamp.Source(readUTF(in), readUTF(in)));
+    }
+    return new ImageStamp(build, sources);
+  }
+
+  /** Writes the names of the primitives, so that {@link #writeValue} can write their ids. */
+  static void writePrimitives(DataOutputStream out) throws IOException {
+    out.writeInt(PrimitiveFactory.getPrimitiveCount());
+    for (var id = 0; id < PrimitiveFactory.getPrimitiveCount(); id++) {
+      writeUTF(out, PrimitiveFactory.getPrimitive(id).getName());
+    }
+  }
+
+  /** The primitives by the ids they were written with, for {@link #readValue}. */
+  static Primitive[] readPrimitives(DataInputStream in) throws IOException {
+    var primitives = new Primitive[in.readInt()];
+    for (var id = 0; id < primitives.length; id++) {
+      var name = readUTF(in);
+      primitives[id] =
+          PrimitiveFactory.getPrimitive(name)
+              .orElseThrow(() -> new MachineException("Unknown primitive: %s".formatted(name)));
+    }
+    return primitives;
+  }
+
+  private static void writeMemory(DataOutputStream out, Memory memory) throws IOException {
+    var addresses = memory.getAddresses().stream().sorted().toList();
+    out.writeInt(addresses.size());
+    for (var address : addresses) {
+      out.writeInt(address);
+      writeValue(out, address, memory.get(address));
+    }
+  }
+
+  static void writeValue(DataOutputStream out, int address, Object value) throws IOException {
+    switch (value) {
+      case Integer i -> {
+        out.writeByte(Tag.INTEGER.ordinal());
+        out.writeInt(i);
+      }
+      case Long l -> {
+        out.writeByte(Tag.LONG.ordinal());
+        out.writeLong(l);
+      }
+      case Short s -> {
+        out.writeByte(Tag.SHORT.ordinal());
+        out.writeShort(s);
+      }
+      case Byte b -> {
+        out.writeByte(Tag.BYTE.ordinal());
+        out.writeByte(b);
+      }
+      case Double d -> {
+        out.writeByte(Tag.DOUBLE.ordinal());
+        out.writeDouble(d);
+      }
+      case Float f -> {
+        out.writeByte(Tag.FLOAT.ordinal());
+        out.writeFloat(f);
+      }
+      case BigInteger n -> {
+        out.writeByte(Tag.BIG_INTEGER.ordinal());
+        writeUTF(out, n.toString());
+      }
+      case BigDecimal n -> {
+        out.writeByte(Tag.BIG_DECIMAL.ordinal());
+        writeUTF(out, n.toString());
+      }
+      case String s -> {
+        out.writeByte(Tag.STRING.ordinal());
+        writeUTF(out, s);
+      }
+      case Codeword codeword -> {
+        out.writeByte(Tag.CODEWORD.ordinal());
+        out.writeByte(codeword.ordinal());
+      }
+      case Character c -> {
+        out.writeByte(Tag.CHARACTER.ordinal());
+        out.writeChar(c);
+      }
+      case Boolean b -> {
+        out.writeByte(Tag.BOOLEAN.ordinal());
+        out.writeBoolean(b);
+      }
+      case Primitive primitive -> {
+        var id = PrimitiveFactory.getPrimitiveId(primitive.getName());
+        if (id == -1 || PrimitiveFactory.getPrimitive(id) != primitive) {
+          throw cannotSave(address, value);
+        }
+        out.writeByte(Tag.PRIMITIVE.ordinal());
+        out.writeInt(id);
+      }
+      case Class<?> clazz -> {
+        out.writeByte(Tag.CLASS.ordinal());
+        writeUTF(out, clazz.getName());
+      }
+      case ParsedValue parsed -> {
+        out.writeByte(Tag.PARSED.ordinal());
+        writeUTF(out, parsed.getParserName());
+        writeUTF(out, parsed.getSource());
+      }
+      default -> throw cannotSave(address, value);
+    }
+  }
+
+  static MachineException cannotSave(int address, Object value) {
+    return new MachineException(
+        "Cannot save *(%d)=%s in an image".formatted(address, value.getClass().getName()));
+  }
+
+  private static void readMemory(
+      DataInputStream in, Machine machine, Memory memory, Primitive[] primitives)
+      throws IOException {
+    for (var address : List.copyOf(memory.getAddresses())) {
+      machine.setMemoryAt(address, null);
+    }
+    for (var count = in.readInt(); count > 0; count--) {
+      var address = in.readInt();
+      machine.setMemoryAt(address, readValue(in, primitives));
+    }
+  }
+
+  static Object readValue(DataInputStream in, Primitive[] primitives) throws IOException {
+    return readValue(in, primitives, PrimitiveFactory::parse);
+  }
+
+  /**
+   * Reads a value written by {@link #writeValue}.
+   *
+   * @param parse makes the value of a {@link ParsedValue} from the name of its parser and its
+   *     source
+   */
+  static Object readValue(
+      DataInputStream in, Primitive[] primitives, BiFunction<String, String, Object> parse)
+      throws IOException {
+    return switch (TAGS[in.readByte()]) {
+      case INTEGER -> in.readInt();
+      case LONG -> in.readLong();
+      case SHORT -> in.readShort();
+      case BYTE -> in.readByte();
+      case DOUBLE -> in.readDouble();
+      case FLOAT -> in.readFloat();
+      case BIG_INTEGER -> new BigInteger(readUTF(in));
+      case BIG_DECIMAL -> new BigDecimal(readUTF(in));
+      case STRING -> readUTF(in);
+      case CHARACTER -> in.readChar();
+      case BOOLEAN -> in.readBoolean();
+      case PRIMITIVE -> primitives[in.readInt()];
+      case CLASS -> ClassCache.forName(readUTF(in));
+      case PARSED -> parse.apply(readUTF(in), readUTF(in));
+      case CODEWORD -> CODEWORDS[in.readByte()];
+    };
+  }
+
+  /**
+   * Writes the length of the UTF-8 encoding of the String and then the encoding itself. Unlike
+   * {@link DataOutputStream#writeUTF}, it's not limited to 65535 bytes.
+   */
+  static void writeUTF(DataOutputStream out, String s) throws IOException {
+    var utf = s.getBytes(UTF_8);
+    out.writeInt(utf.length);
+    out.write(utf);
+  }
+
+  /** Reads a String written by {@link #writeUTF}. */
+  static String readUTF(DataInputStream in) throws IOException {
+    var utf = new byte[in.readInt()];
+    in.readFully(utf);
+    return new String(utf, UTF_8);
+  }
+
+  private static void writeDictionary(DataOutputStream out, Dictionary dictionary)
+      throws IOException {
+    var ids = new IdentityHashMap<DictionaryItem, Integer>();
+    var items = new ArrayList<DictionaryItem>();
+    dictionary.byAddress.values().forEach(item -> addItem(item, ids, items));
+    dictionary.items.values().forEach(list -> list.forEach(item -> addItem(item, ids, items)));
+    out.writeInt(items.size());
+    for (var item : items) {
+      writeUTF(out, item.getName());
+      out.writeInt(item.getAddress());
+      out.writeBoolean(item.getIsImmediate());
+      out.writeBoolean(item.getIsHidden());
+      out.writeInt(item.getLength());
+    }
+    writeItemsByName(out, dictionary.items, ids);
+    out.writeInt(dictionary.wordlists.size());
+    for (var wordlist : dictionary.wordlists) {
+      writeItemsByName(out, wordlist, ids);
+    }
+    out.writeInt(dictionary.byAddress.size());
+    for (var entry : dictionary.byAddress.entrySet()) {
+      out.writeInt(entry.getKey());
+      out.writeInt(ids.get(entry.getValue()));
+    }
+    var searchOrder = dictionary.getSearchOrder();
+    out.writeInt(searchOrder.length);
+    for (var wordlist : searchOrder) {
+      out.writeInt(wordlist);
+    }
+    out.writeInt(dictionary.getCurrent());
+  }
+
+  private static void addItem(
+      DictionaryItem item, Map<DictionaryItem, Integer> ids, List<DictionaryItem> items) {
+    if (!ids.containsKey(item)) {
+      ids.put(item, items.size());
+      items.add(item);
+    }
+  }
+
+  private static void writeItemsByName(
+      DataOutputStream out,
+      Map<String, List<DictionaryItem>> byName,
+      Map<DictionaryItem, Integer> ids)
+      throws IOException {
+    out.writeInt(byName.size());
+    for (var entry : byName.entrySet()) {
+      writeUTF(out, entry.getKey());
+      out.writeInt(entry.getValue().size());
+      for (var item : entry.getValue()) {
+        out.writeInt(ids.get(item));
+      }
+    }
+  }
+
+  private static void readDictionary(DataInputStream in, Dictionary dictionary) throws IOException {
+    var items = new DictionaryItem[in.readInt()];
+    for (var id = 0; id < items.length; id++) {
+      var item = new DictionaryItem(readUTF(in), in.readInt(), in.readBoolean(), in.readBoolean());
+      item.setLength(in.readInt());
+      items[id] = item;
+    }
+    dictionary.clear();
+    readItemsByName(in, dictionary.items, items);
+    var wordlists = in.readInt();
+    for (var wordlist = 0; wordlist < wordlists; wordlist++) {
+      if (wordlist > 0) {
+        dictionary.createWordlist();
+      }
+      readItemsByName(in, dictionary.wordlists.get(wordlist), items);
+    }
+    for (var count = in.readInt(); count > 0; count--) {
+      dictionary.byAddress.put(in.readInt(), items[in.readInt()]);
+    }
+    var searchOrder = new int[in.readInt()];
+    for (var i = 0; i < searchOrder.length; i++) {
+      searchOrder[i] = in.readInt();
+    }
+    dictionary.setSearchOrder(searchOrder);
+    dictionary.setCurrent(in.readInt());
+  }
+
+  private static void readItemsByName(
+      DataInputStream in, Map<String, List<DictionaryItem>> byName, DictionaryItem[] items)
+      throws IOException {
+    for (var names = in.readInt(); names > 0; names--) {
+      var name = readUTF(in);
+      var list = new ArrayList<DictionaryItem>();
+      for (var count = in.readInt(); count > 0; count--) {
+        list.add(items[in.readInt()]);
+      }
+      byName.put(name, list);
+    }
+  }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * What an image was saved from: the build of bjForth, ie the hash of its jar, and the files given
+ * on the command line which had been read by then, with the hashes of their contents.
+ *
+ * <p>It's checked when booting from an image instead of comparing the modification times of the
+ * files, which eg tar only keeps to the second, so that an image saved by another build or from
+ * files which have changed since isn't used.
+ *
+ * @param build see {@link ModuleCache#implementation()}
+ */
+record ImageStamp(String build, List<Source> sources) {
+
+  /** A file read, as its absolute path and the SHA-256 of its contents. */
+  record Source(String path, String hash) {
+
+    static Source of(Path path) {
+      return new Source(path.toAbsolutePath().normalize().toString(), ModuleCache.hash(path));
+    }
+  }
+
+  /** The stamp of an image saved by this build after reading the files. */
+  static ImageStamp of(List<Source> sources) {
+    return new ImageStamp(ModuleCache.implementation(), List.copyOf(sources));
+  }
+
+  /**
+   * The files left to read after booting from the image, ie those whose contents the image wasn't
+   * saved from.
+   *
+   * @return empty if the image is stale, ie it was saved by another build or one of the files is
+   *     one the image was saved from but has changed since
+   */
+  Optional<List<Path>> unread(List<Path> files) {
+    if (!build.equals(ModuleCache.implementation())) {
+      return Optional.empty();
+    }
+    var result = new ArrayList<Path>();
+    for (var file : files) {
+      if (!Files.isRegularFile(file)) {
+        result.add(file);
+        continue;
+      }
+      var source = Source.of(file);
+      if (sources.contains(source)) {
+        continue;
+      }
+      if (sources.stream().anyMatch(s -> s.path().equals(source.path()))) {
+        return Optional.empty();
+      }
+      result.add(file);
+    }
+    return Optional.of(result);
+  }
+}
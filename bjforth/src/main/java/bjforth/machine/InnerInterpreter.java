@@ -0,0 +1,43 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import bjforth.config.Options;
+
+/** The inner interpreter, ie what executes memory cells one after the other. */
+interface InnerInterpreter {
+
+  /** An address which is never reached, for running until an exception stops the machine. */
+  int NO_HALT = Integer.MIN_VALUE;
+
+  /** Executes memory cells, starting at IP, until IP reaches the given address. */
+  void run(int haltAddress);
+
+  /** To be told about every write to memory, after it's happened. */
+  default void memoryWritten(int address) {}
+
+  static InnerInterpreter of(String kind, Machine machine, MachineState state) {
+    return switch (kind) {
+      case Options.ENGINE_STEPPING -> new SteppingInterpreter(machine, state);
+      case Options.ENGINE_DIRECT -> new DirectInterpreter(machine, state);
+      case Options.ENGINE_JIT -> new DirectInterpreter(machine, state, Options.jitThreshold());
+      default -> throw new MachineException("Unknown engine: %s".formatted(kind));
+    };
+  }
+}
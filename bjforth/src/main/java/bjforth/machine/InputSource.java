@@ -0,0 +1,180 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * The characters the machine reads its source from.
+ *
+ * <p>The reader is read in blocks into a buffer and the parsing words consume the buffer one char
+ * at a time through a cursor, or a whole word at a time through {@link #readToken(TokenCache)}. The
+ * reader is only opened on the first read, so that System.in can be replaced after the machine is
+ * created. A file is decoded whole into the buffer instead, see {@link #file(Path)}.
+ */
+class InputSource {
+
+  static final int BUFFER_SIZE = 64 * 1024;
+
+  private final Supplier<Reader> readerSupplier;
+
+  /** The file read, or null if it's not a file. */
+  private final Path path;
+
+  private Reader reader = null;
+  private char[] buffer;
+  private int position = 0;
+  private int limit = 0;
+
+  InputSource(Supplier<Reader> readerSupplier) {
+    this(readerSupplier, BUFFER_SIZE);
+  }
+
+  InputSource(Supplier<Reader> readerSupplier, int bufferSize) {
+    this.readerSupplier = readerSupplier;
+    this.path = null;
+    this.buffer = new char[bufferSize];
+  }
+
+  /** Reads the given chars, those of the file, and nothing else. */
+  private InputSource(Path path, char[] chars) {
+    this.readerSupplier = Reader::nullReader;
+    this.path = path;
+    this.buffer = chars;
+    this.limit = chars.length;
+  }
+
+  /** Reads from System.in. */
+  static InputSource stdin() {
+    return new InputSource(() -> new InputStreamReader(System.in));
+  }
+
+  /**
+   * Reads a UTF-8 file, which is memory mapped and decoded in one go. A newline is added to the
+   * end so that the last word ends at the end of the file.
+   */
+  static InputSource file(Path path) {
+    try (var channel = FileChannel.open(path)) {
+      var chars = UTF_8.decode(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      var buffer = new char[chars.remaining() + 1];
+      chars.get(buffer, 0, buffer.length - 1);
+      buffer[buffer.length - 1] = '\n';
+      return new InputSource(path, buffer);
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /** The file read, or null if it's not a file, eg System.in. */
+  Path getPath() {
+    return path;
+  }
+
+  /** Whether the reader has been opened, ie anything has been read from it. */
+  boolean isStarted() {
+    return reader != null;
+  }
+
+  /**
+   * Consumes the next char.
+   *
+   * @throws GracefulShutdown if there's nothing left to read
+   */
+  char read() {
+    if (position == limit && !fill(limit)) {
+      throw new GracefulShutdown();
+    }
+    return buffer[position++];
+  }
+
+  /**
+   * Consumes the next word, the way WORD reads it: leading blanks are skipped, a leading # makes
+   * the rest of the line a comment and the word ends at a space, tab or newline which is consumed
+   * too.
+   *
+   * <p>The word is scanned in the buffer and only turned into a String the first time it's seen.
+   *
+   * @param tokens the cache of the machine, which all its sources share
+   * @throws GracefulShutdown if the input ends before the word does
+   */
+  Token readToken(TokenCache tokens) {
+    var ch = read();
+    while (ch == '#' || isBlank(ch)) {
+      if (ch == '#') {
+        while (read() != '\n') {}
+      }
+      ch = read();
+    }
+    var start = position - 1;
+    var hash = Token.hash(0, ch);
+    while (true) {
+      if (position == limit) {
+        if (!fill(start)) {
+          throw new GracefulShutdown();
+        }
+        start = 0;
+      }
+      ch = buffer[position++];
+      if (ch == ' ' || ch == '\t' || ch == '\n') {
+        return tokens.intern(buffer, start, position - 1 - start, hash);
+      }
+      hash = Token.hash(hash, ch);
+    }
+  }
+
+  private static boolean isBlank(char ch) {
+    return ch == ' ' || ch == '\t' || ch == '\r' || ch == '\b' || ch == '\n';
+  }
+
+  /** Refills the buffer, keeping the chars from the given index on at its start. */
+  private boolean fill(int keepFrom) {
+    if (reader == null) {
+      reader = readerSupplier.get();
+    }
+    var kept = limit - keepFrom;
+    if (kept == buffer.length) {
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    } else if (kept > 0) {
+      System.arraycopy(buffer, keepFrom, buffer, 0, kept);
+    }
+    position = kept;
+    limit = kept;
+    try {
+      int n;
+      do {
+        n = reader.read(buffer, kept, buffer.length - kept);
+      } while (n == 0);
+      if (n == -1) {
+        return false;
+      }
+      limit = kept + n;
+      return true;
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+}
@@ -19,9 +19,19 @@
 package bjforth.machine;
 
 import static bjforth.config.Constants.*;
-import static bjforth.primitives.PrimitiveFactory.getPrimitiveContainers;
+import static bjforth.primitives.PrimitiveFactory.getPrimitive;
+import static bjforth.variables.Variables.BASE_ADDRESS;
+import static bjforth.variables.Variables.HERE_ADDRESS;
+import static bjforth.variables.Variables.LATEST_ADDRESS;
+import static bjforth.variables.Variables.STATE_ADDRESS;
 import static com.diogonunes.jcolor.Ansi.colorize;
 
+import bjforth.config.Options;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -29,11 +39,55 @@ import java.util.stream.IntStream;
 
 public class Machine {
 
+  /** The codeword of colon definitions, which Forth code compiles with {@code DOCOL ,}. */
+  public static final Codeword DOCOL_CODEWORD = Codeword.DOCOL;
+
+  /** The address a word run by {@link #executeWord(int)} returns to, which is never executed. */
+  static final int WORD_RETURN_ADDRESS = Integer.MIN_VALUE + 1;
+
   private MachineState state;
+  private InnerInterpreter interpreter;
+  private InputSource input = InputSource.stdin();
+
+  /** The tokens read from any of the sources, so that included files share them. */
+  private final TokenCache tokens = new TokenCache();
+
+  /** How many files can be included within one another, eg to stop a file which includes itself. */
+  static final int MAX_INCLUDE_DEPTH = 64;
+
+  /** The sources which included files have interrupted, the latest on top. */
+  private final Deque<InputSource> includingInputs = new ArrayDeque<>();
+
+  /** Files yet to be included once nothing is being included, the next first. */
+  private final Deque<Path> pendingFiles = new ArrayDeque<>();
+
+  /** The file of the pending ones being read, if any. */
+  private Path pendingFile;
+
+  /** The pending files which have been read through, for the stamp of an image. */
+  private final List<ImageStamp.Source> filesRead = new ArrayList<>();
+
+  /** Null unless the {@code module.cache} option is set. */
+  private final ModuleCache moduleCache;
 
   public Machine(MachineState state) {
+    this(state, Options.engine());
+  }
+
+  Machine(MachineState state, String engine) {
+    this(state, engine, true);
+  }
+
+  private Machine(MachineState state, String engine, boolean bootstrap) {
     this.state = state;
-    new Bootstrap().apply(state);
+    if (bootstrap) {
+      new Bootstrap().apply(state);
+    }
+    interpreter = InnerInterpreter.of(engine, this, state);
+    moduleCache =
+        Options.moduleCache().isEmpty()
+            ? null
+            : new ModuleCache(this, state, Path.of(Options.moduleCache()));
   }
 
   public Object getMemoryAt(Integer address) {
@@ -42,6 +96,46 @@ public class Machine {
 
   public void setMemoryAt(Integer address, Object value) {
     state.getMemory().set(address, value);
+    interpreter.memoryWritten(address);
+    if (moduleCache != null) {
+      moduleCache.memoryWritten(address);
+    }
+  }
+
+  /** The value of HERE, ie the next free cell. */
+  public int getHere() {
+    return (Integer) state.getMemory().get(HERE_ADDRESS);
+  }
+
+  public void setHere(int value) {
+    setMemoryAt(HERE_ADDRESS, value);
+  }
+
+  /** The value of STATE: 0 when interpreting and 1 when compiling. */
+  public int getCompilationState() {
+    return (Integer) state.getMemory().get(STATE_ADDRESS);
+  }
+
+  public void setCompilationState(int value) {
+    setMemoryAt(STATE_ADDRESS, value);
+  }
+
+  /** The value of BASE, ie the radix numbers are read in. */
+  public int getBase() {
+    return (Integer) state.getMemory().get(BASE_ADDRESS);
+  }
+
+  public void setBase(int value) {
+    setMemoryAt(BASE_ADDRESS, value);
+  }
+
+  /** The value of LATEST, ie the address of the newest definition. */
+  public int getLatest() {
+    return (Integer) state.getMemory().get(LATEST_ADDRESS);
+  }
+
+  public void setLatest(int value) {
+    setMemoryAt(LATEST_ADDRESS, value);
   }
 
   public void pushToParameterStack(Object item) {
@@ -68,6 +162,164 @@ public class Machine {
     state.getParameterStack().setPointer(pointer);
   }
 
+  public boolean isIntOnParameterStack(int pointer) {
+    return state.getParameterStack().isInt(pointer);
+  }
+
+  public boolean isIntOrLongOnParameterStack(int pointer) {
+    return state.getParameterStack().isIntOrLong(pointer);
+  }
+
+  /** To be called only after {@link #isIntOnParameterStack(int)} has confirmed the type. */
+  public int popIntFromParameterStack() {
+    return state.getParameterStack().popInt();
+  }
+
+  /** To be called only after {@link #isIntOnParameterStack(int)} has confirmed the type. */
+  public int peekIntFromParameterStack() {
+    return state.getParameterStack().peekInt();
+  }
+
+  /** To be called only after {@link #isIntOrLongOnParameterStack(int)} has confirmed the type. */
+  public long popLongFromParameterStack() {
+    return state.getParameterStack().popLong();
+  }
+
+  public void pushIntToParameterStack(int value) {
+    state.getParameterStack().pushInt(value);
+  }
+
+  public void pushLongToParameterStack(long value) {
+    state.getParameterStack().pushLong(value);
+  }
+
+  public void dropParameterStack() {
+    state.getParameterStack().drop();
+  }
+
+  public void dupParameterStack() {
+    state.getParameterStack().dup();
+  }
+
+  public void overParameterStack() {
+    state.getParameterStack().over();
+  }
+
+  public void swapParameterStack() {
+    state.getParameterStack().swap();
+  }
+
+  /** Drops the item below the top, ie SWAP DROP. */
+  public void nipParameterStack() {
+    state.getParameterStack().nip();
+  }
+
+  public void rotParameterStack() {
+    state.getParameterStack().rot();
+  }
+
+  /**
+   * Consumes the next char of the input.
+   *
+   * @throws GracefulShutdown if there's nothing left to read
+   */
+  public char readFromInput() {
+    while (true) {
+      try {
+        return input.read();
+      } catch (GracefulShutdown e) {
+        endInclude(e);
+      }
+    }
+  }
+
+  void setInput(InputSource input) {
+    this.input = input;
+  }
+
+  /**
+   * Consumes the next word of the input.
+   *
+   * @throws GracefulShutdown if the input ends before the word does
+   */
+  public Token readToken() {
+    while (true) {
+      try {
+        return input.readToken(tokens);
+      } catch (GracefulShutdown e) {
+        endInclude(e);
+      }
+    }
+  }
+
+  /**
+   * Reads the file before the rest of the current input, ie the input goes back to where it was
+   * once the file has been read. A relative path is resolved against the directory of the file
+   * being read, if any, so that a library can include its own files from anywhere.
+   *
+   * @throws MachineException if {@link #MAX_INCLUDE_DEPTH} files are being included already
+   */
+  public void include(Path path) {
+    if (includingInputs.size() >= MAX_INCLUDE_DEPTH) {
+      throw new MachineException(
+          "Too many nested includes, at most %d: %s".formatted(MAX_INCLUDE_DEPTH, path));
+    }
+    var including = input.getPath();
+    if (including != null && !path.isAbsolute()) {
+      path = including.resolveSibling(path);
+    }
+    if (moduleCache != null
+        && moduleCache.include(path, includingInputs.size(), isInteractive())) {
+      return;
+    }
+    var source = InputSource.file(path);
+    includingInputs.push(input);
+    input = source;
+  }
+
+  /** Whether anything has been read from the source at the bottom, ie System.in. */
+  private boolean isInteractive() {
+    return (includingInputs.isEmpty() ? input : includingInputs.peekLast()).isStarted();
+  }
+
+  /** Goes back to the source an included file interrupted, if any. */
+  private void endInclude(GracefulShutdown e) {
+    if (includingInputs.isEmpty()) {
+      throw e;
+    }
+    input = includingInputs.pop();
+    if (moduleCache != null) {
+      moduleCache.ended(includingInputs.size());
+    }
+    if (includingInputs.isEmpty() && pendingFile != null) {
+      filesRead.add(ImageStamp.Source.of(pendingFile));
+      pendingFile = null;
+    }
+    includePending();
+  }
+
+  /**
+   * Includes the files one after another, before the rest of the current input. Unlike calling
+   * {@link #include(Path)} for each, a file is only opened once the one before it has been read.
+   */
+  public void includeFiles(List<Path> paths) {
+    pendingFiles.addAll(paths);
+    includePending();
+  }
+
+  private void includePending() {
+    while (includingInputs.isEmpty() && !pendingFiles.isEmpty()) {
+      var path = pendingFiles.poll();
+      include(path);
+      if (includingInputs.isEmpty()) {
+        // Replayed from the module cache.
+        filesRead.add(ImageStamp.Source.of(path));
+      } else {
+        pendingFile = path;
+      }
+    }
+  }
+
   public void pushToReturnStack(Object address) {
     state.getReturnStack().push(address);
   }
@@ -92,22 +344,130 @@ public class Machine {
     return state.getDictionary().getAllForName(name);
   }
 
+  /** The newest item for the name which isn't hidden, in the search order, ie what FIND finds. */
+  public Optional<DictionaryItem> findDictionaryItem(String name) {
+    return state.getDictionary().findVisible(Dictionary.fold(name));
+  }
+
+  /** Like {@link #findDictionaryItem(String)} for a token. */
+  public Optional<DictionaryItem> findDictionaryItem(Token token) {
+    return state.getDictionary().findVisible(token);
+  }
+
   public Optional<DictionaryItem> getDictionaryItem(Integer address) {
-    return state.getDictionary().get(address);
+    var item = state.getDictionary().get(address);
+    if (moduleCache != null) {
+      item.ifPresent(moduleCache::itemFound);
+    }
+    return item;
   }
 
   public void createDictionaryItem(String name, DictionaryItem item) {
     state.getDictionary().put(name, item);
+    if (moduleCache != null) {
+      moduleCache.put(name, item);
+    }
   }
 
   public void removeDictionaryItem(String name) {
     state.getDictionary().remove(name);
+    if (moduleCache != null) {
+      moduleCache.remove(name);
+    }
   }
 
   public Set<String> getAllDictionaryItemNames() {
     return state.getDictionary().getNames();
   }
 
+  /** Creates an empty wordlist and returns its id. */
+  public int createWordlist() {
+    if (moduleCache != null) {
+      moduleCache.createWordlist();
+    }
+    return state.getDictionary().createWordlist();
+  }
+
+  public int getForthWordlist() {
+    return Dictionary.FORTH_WORDLIST;
+  }
+
+  /** The ids of the wordlists FIND searches, the first searched first. */
+  public int[] getSearchOrder() {
+    return state.getDictionary().getSearchOrder();
+  }
+
+  public void setSearchOrder(int[] wordlists) {
+    state.getDictionary().setSearchOrder(wordlists);
+    if (moduleCache != null) {
+      moduleCache.setSearchOrder(wordlists);
+    }
+  }
+
+  /** The id of the wordlist new definitions go into. */
+  public int getCurrentWordlist() {
+    return state.getDictionary().getCurrent();
+  }
+
+  public void setCurrentWordlist(int wordlist) {
+    state.getDictionary().setCurrent(wordlist);
+    if (moduleCache != null) {
+      moduleCache.setCurrentWordlist(wordlist);
+    }
+  }
+
+  /**
+   * Writes the memory and the dictionary to an image file, in the format of the {@code
+   * image.format} option, see {@link Image} and {@link MappedImage}. The image is stamped with
+   * the files given to {@link #includeFiles(List)} which have been read, see {@link ImageStamp}.
+   */
+  public void saveImage(Path path) {
+    var format = Options.imageFormat();
+    var stamp = ImageStamp.of(filesRead);
+    switch (format) {
+      case Options.IMAGE_FORMAT_MAPPED -> MappedImage.save(state, path, stamp);
+      case Options.IMAGE_FORMAT_STREAM -> Image.save(state, path, stamp);
+      default -> throw new MachineException("Unknown image format: %s".formatted(format));
+    }
+  }
+
+  /**
+   * Replaces the memory and the dictionary with those of an image file, of either format, see
+   * {@link Image}.
+   */
+  public void loadImage(Path path) {
+    Image.load(this, state, path);
+    if (moduleCache != null) {
+      moduleCache.imageLoaded(path);
+    }
+    imageLoaded(path);
+  }
+
+  /** The files read are those the image was saved from. */
+  private void imageLoaded(Path path) {
+    filesRead.clear();
+    Image.readStamp(path).ifPresent(stamp -> filesRead.addAll(stamp.sources()));
+  }
+
+  /**
+   * A machine booted from an image file instead of bootstrapping. A mapped image is used as the
+   * memory and the dictionary as it is, so that booting takes the same time whatever its size.
+   */
+  public static Machine ofImage(Path path) {
+    if (MappedImage.isMappedImage(path)) {
+      var machine = new Machine(MappedImage.open(path).newState(), Options.engine(), false);
+      if (machine.moduleCache != null) {
+        machine.moduleCache.imageLoaded(path);
+      }
+      machine.imageLoaded(path);
+      return machine;
+    } else {
+      var machine = new Machine(newState());
+      machine.loadImage(path);
+      return machine;
+    }
+  }
+
   public Integer getInstrcutionPointer() {
     return state.getInstructionPointer();
   }
@@ -131,7 +491,7 @@ public class Machine {
     }
   }
 
-  private Integer threadedCodeDepth = 0;
+  int threadedCodeDepth = 0;
 
   public void enterThreadedCode() {
     threadedCodeDepth += 1;
@@ -162,7 +522,7 @@ public class Machine {
     } else if (content instanceof Integer address) {
       jumpTo(address);
       applyThreadedCode(IP);
-    } else if (content instanceof String s && "DOCOL".equals(s)) {
+    } else if (content == DOCOL_CODEWORD) {
       enterThreadedCode();
       DOCOL(false);
       jumpTo(getInstrcutionPointer() + 1);
@@ -183,12 +543,40 @@ public class Machine {
     IntStream.range(0, n).forEach((_i) -> step());
   }
 
+  /**
+   * Executes memory cells, starting at IP, until IP reaches the given address.
+   *
+   * @param haltAddress the address to stop at
+   */
+  public void run(int haltAddress) {
+    interpreter.run(haltAddress);
+  }
+
+  /**
+   * Runs the word of the given execution token until it returns, and then puts IP and NIP back.
+   *
+   * <p>To be used by primitives, and the Java code they call, to call back into Forth: the word
+   * runs on the same stacks, in a nested inner interpreter.
+   */
+  public void executeWord(int xt) {
+    var IP = state.getInstructionPointer();
+    var NIP = state.getNextInstructionPointer();
+    try {
+      state.setNextInstructionPointer(WORD_RETURN_ADDRESS);
+      jumpTo(xt);
+      run(WORD_RETURN_ADDRESS);
+    } finally {
+      state.setInstructionPointer(IP);
+      state.setNextInstructionPointer(NIP);
+    }
+  }
+
   /** Machine's "main loop". */
   public void loop() {
     try {
       while (true) {
         try {
-          step();
+          run(InnerInterpreter.NO_HALT);
         } catch (MachineException e) {
           System.out.print(
               colorize(
@@ -196,33 +584,43 @@ public class Machine {
                   FOREGROUND_COLOR,
                   BACKGROUND_COLOR));
           System.out.print(" ");
-          var QUIT =
-              getPrimitiveContainers().stream()
-                  .filter((p) -> "QUIT".equals(p.get().getName()))
-                  .findFirst()
-                  .get();
-          QUIT.get().execute(this);
+          getPrimitive("QUIT").get().execute(this);
         }
       }
     } catch (GracefulShutdown _ex) {
-      var BYE =
-          getPrimitiveContainers().stream()
-              .filter((p) -> "BYE".equals(p.get().getName()))
-              .findFirst()
-              .get();
-      BYE.get().execute(this);
+      getPrimitive("BYE").get().execute(this);
     }
   }
 
+  private static MachineState newState() {
+    return new MachineState(
+        0, 0, Memory.newMemory(), new Dictionary(), new Stack(), Stack.newParameterStack());
+  }
+
   public static void main(String[] args) {
+    Options.parse(args);
     System.out.println(
         colorize(
             "%s bjForth <https://github.com/bahmanm/bjforth>".formatted(HELLO_EMOJI),
             FOREGROUND_COLOR,
             BACKGROUND_COLOR));
 
-    var state = new MachineState(0, 0, new Memory(), new Dictionary(), new Stack(), new Stack());
-    var machine = new Machine(state); // Bootstraps the components like memory and dictionary
+    var files = Arrays.stream(args).filter(arg -> !arg.startsWith("--")).map(Path::of).toList();
+    var image = Options.image().isEmpty() ? null : Path.of(Options.image());
+    // The files the image was saved from are skipped, unless it's stale.
+    var unread =
+        image == null
+            ? Optional.<List<Path>>empty()
+            : Image.readStamp(image).flatMap(stamp -> stamp.unread(files));
+    if (image != null && unread.isEmpty()) {
+      System.err.println("%s is out of date, ignoring it.".formatted(image));
+    }
+    var machine =
+        unread.isEmpty()
+            ? new Machine(newState()) // Bootstraps the components like memory and dictionary
+            : ofImage(image);
+    // The source files are read, in order, before System.in.
+    machine.includeFiles(unread.orElse(files));
     var QUITaddr = machine.getDictionaryItem("QUIT").get().getAddress();
     machine.setNextInstructionPointer(machine.getDictionaryItem("INTERPRET").get().getAddress());
     machine.jumpTo(QUITaddr);
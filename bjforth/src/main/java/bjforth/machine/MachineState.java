@@ -44,10 +44,10 @@ class MachineState {
   MachineState(MachineState other) {
     instructionPointer = other.instructionPointer;
     nextInstructionPointer = other.nextInstructionPointer;
-    memory = new Memory(other.memory);
+    memory = other.memory.copy();
     dictionary = new Dictionary(other.dictionary);
-    returnStack = new Stack(other.returnStack);
-    parameterStack = new Stack(other.parameterStack);
+    returnStack = other.returnStack.copy();
+    parameterStack = other.parameterStack.copy();
   }
 
   void setInstructionPointer(Integer instructionPointer) {
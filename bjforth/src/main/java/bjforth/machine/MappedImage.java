@@ -0,0 +1,712 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import bjforth.machine.Image.Tag;
+import bjforth.primitives.ParsedValue;
+import bjforth.primitives.Primitive;
+import bjforth.primitives.PrimitiveFactory;
+import bjforth.primitives.lib.ClassCache;
+import bjforth.variables.Variables;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.IntStream;
+
+/**
+ * An image which is memory mapped and decoded on demand, so that booting from it takes about the
+ * same time however many words it has.
+ *
+ * <p>The file is a header of section offsets followed by the sections:
+ *
+ * <ul>
+ *   <li>the constant pool, ie the Strings, big numbers, class names and parsed sources the cells
+ *       refer to, each as a tag and its UTF-8 text, found through a table of offsets
+ *   <li>the names of the primitives, the packages imported and the {@link ImageStamp}, as
+ *       constant ids
+ *   <li>the cells from 0 up to HERE, each as a tag and 8 bytes of value, and after them the rest
+ *       of the non-null cells sorted by address, each with its address in front
+ *   <li>the dictionary items, each as its name, address, flags, length and wordlist
+ *   <li>two open addressing hash tables, one from the names to the items of the name, newest
+ *       first, and one from the addresses to the item first put at the address
+ *   <li>the number of wordlists, the current one and the search order
+ * </ul>
+ *
+ * <p>Opening an image only maps it and looks up its primitives. A cell is decoded the first time
+ * it's read, see {@link MappedMemory}, and the items of a name or an address the first time the
+ * dictionary looks them up, see {@link Dictionary}. Loading one into a running machine, ie {@link
+ * Image#load(Machine, MachineState, Path)}, still decodes everything.
+ */
+class MappedImage {
+
+  static final int MAGIC = 0x626a464d; // "bjFM"
+  private static final int VERSION = 3;
+
+  // The offsets of the count and the offset of each section in the header.
+  private static final int PRIMITIVES = 8;
+  private static final int IMPORTS = 16;
+  private static final int CONSTANTS = 24;
+  private static final int DENSE_CELLS = 32;
+  private static final int SPARSE_CELLS = 40;
+  private static final int ITEMS = 48;
+  private static final int NAMES = 56;
+  private static final int ADDRESSES = 64;
+  private static final int SEARCH_ORDER = 72;
+  private static final int WORDLISTS = 80;
+  private static final int CURRENT = 84;
+  private static final int SOURCES = 88;
+  private static final int BUILD = 96;
+  private static final int HEADER_SIZE = 100;
+
+  private static final int CELL_SIZE = 9;
+  private static final int SPARSE_CELL_SIZE = 4 + CELL_SIZE;
+  private static final int ITEM_SIZE = 17;
+
+  private static final int IMMEDIATE = 1;
+  private static final int HIDDEN = 2;
+
+  private final ByteBuffer buffer;
+  private final Primitive[] primitives;
+  private final Object[] constants;
+  private final DictionaryItem[] items;
+  private final int constantsOffset;
+  private final int denseCount;
+  private final int denseOffset;
+  private final int sparseCount;
+  private final int sparseOffset;
+  private final int itemsOffset;
+  private final int nameSlots;
+  private final int namesOffset;
+  private final int addressSlots;
+  private final int addressesOffset;
+
+  private MappedImage(ByteBuffer buffer) {
+    this.buffer = buffer;
+    constants = new Object[buffer.getInt(CONSTANTS)];
+    constantsOffset = buffer.getInt(CONSTANTS + 4);
+    denseCount = buffer.getInt(DENSE_CELLS);
+    denseOffset = buffer.getInt(DENSE_CELLS + 4);
+    sparseCount = buffer.getInt(SPARSE_CELLS);
+    sparseOffset = buffer.getInt(SPARSE_CELLS + 4);
+    items = new DictionaryItem[buffer.getInt(ITEMS)];
+    itemsOffset = buffer.getInt(ITEMS + 4);
+    nameSlots = buffer.getInt(NAMES);
+    namesOffset = buffer.getInt(NAMES + 4);
+    addressSlots = buffer.getInt(ADDRESSES);
+    addressesOffset = buffer.getInt(ADDRESSES + 4);
+    primitives = new Primitive[buffer.getInt(PRIMITIVES)];
+    for (var id = 0; id < primitives.length; id++) {
+      var name = getString(getIntAt(PRIMITIVES, id));
+      primitives[id] =
+          PrimitiveFactory.getPrimitive(name)
+              .orElseThrow(() -> new MachineException("Unknown primitive: %s".formatted(name)));
+    }
+    for (var i = 0; i < buffer.getInt(IMPORTS); i++) {
+      ClassCache.addImport(getString(getIntAt(IMPORTS, i)));
+    }
+  }
+
+  /** The int at the given index of a section of ints. */
+  private int getIntAt(int section, int index) {
+    return buffer.getInt(buffer.getInt(section + 4) + 4 * index);
+  }
+
+  static boolean isMappedImage(Path path) {
+    try (var channel = FileChannel.open(path)) {
+      var magic = ByteBuffer.allocate(4);
+      channel.read(magic, 0);
+      return magic.flip().remaining() == 4 && magic.getInt() == MAGIC;
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  static MappedImage open(Path path) {
+    try (var channel = FileChannel.open(path)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.limit() < HEADER_SIZE
+          || buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != VERSION) {
+        throw new MachineException("Not a bjForth image: %s".formatted(path));
+      }
+      return new MappedImage(buffer);
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /**
+   * The stamp of an image, read without looking up its primitives, which another build may not
+   * have.
+   *
+   * @return empty if the file isn't an image of the current version
+   */
+  static Optional<ImageStamp> readStamp(Path path) {
+    try (var channel = FileChannel.open(path)) {
+      var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if (buffer.limit() < HEADER_SIZE
+          || buffer.getInt(0) != MAGIC
+          || buffer.getInt(4) != VERSION) {
+        return Optional.empty();
+      }
+      var sources = new ArrayList<ImageStamp.Source>();
+      var offset = buffer.getInt(SOURCES + 4);
+      for (var i = 0; i < buffer.getInt(SOURCES); i++) {
+        sources.add(
+            new ImageStamp.Source(
+                readString(buffer, buffer.getInt(offset + 8 * i)),
+                readString(buffer, buffer.getInt(offset + 8 * i + 4))));
+      }
+      return Optional.of(new ImageStamp(readString(buffer, buffer.getInt(BUILD)), sources));
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /** A fresh state whose memory and dictionary are those of the image. */
+  MachineState newState() {
+    var dictionary = new Dictionary();
+    dictionary.setImage(this, buffer.getInt(WORDLISTS));
+    var searchOrder = new int[buffer.getInt(SEARCH_ORDER)];
+    for (var i = 0; i < searchOrder.length; i++) {
+      searchOrder[i] = getIntAt(SEARCH_ORDER, i);
+    }
+    dictionary.setSearchOrder(searchOrder);
+    dictionary.setCurrent(buffer.getInt(CURRENT));
+    return new MachineState(
+        0, 0, new MappedMemory(this), dictionary, new Stack(), Stack.newParameterStack());
+  }
+
+  /** Replaces the memory and the dictionary of the machine with those of the image. */
+  void copyTo(Machine machine, MachineState state) {
+    var source = newState();
+    for (var address : List.copyOf(state.getMemory().getAddresses())) {
+      machine.setMemoryAt(address, null);
+    }
+    var memory = source.getMemory();
+    for (var address : memory.getAddresses()) {
+      machine.setMemoryAt(address, memory.get(address));
+    }
+    state.getDictionary().replaceWith(source.getDictionary());
+  }
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  // Memory
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /** The number of cells from address 0 on which are kept in order. */
+  int getDenseCount() {
+    return denseCount;
+  }
+
+  /** The number of non-null cells outside the dense range. */
+  int getSparseCount() {
+    return sparseCount;
+  }
+
+  /** The address of a cell outside the dense range, by its index in the cells sorted by address. */
+  int getSparseAddress(int index) {
+    return buffer.getInt(sparseOffset + SPARSE_CELL_SIZE * index);
+  }
+
+  /** @return the index of the cell outside the dense range at the address, or -1 */
+  int findSparse(int address) {
+    var low = 0;
+    var high = sparseCount - 1;
+    while (low <= high) {
+      var middle = (low + high) >>> 1;
+      var candidate = getSparseAddress(middle);
+      if (candidate < address) {
+        low = middle + 1;
+      } else if (candidate > address) {
+        high = middle - 1;
+      } else {
+        return middle;
+      }
+    }
+    return -1;
+  }
+
+  Object getCell(int address) {
+    if (address >= 0 && address < denseCount) {
+      return decodeCell(denseOffset + CELL_SIZE * address);
+    }
+    var index = findSparse(address);
+    return index == -1 ? null : decodeCell(sparseOffset + SPARSE_CELL_SIZE * index + 4);
+  }
+
+  private Object decodeCell(int offset) {
+    var tag = buffer.get(offset);
+    if (tag == 0) {
+      return null;
+    }
+    var value = buffer.getLong(offset + 1);
+    return switch (Image.TAGS[tag - 1]) {
+      case INTEGER -> (int) value;
+      case LONG -> value;
+      case SHORT -> (short) value;
+      case BYTE -> (byte) value;
+      case DOUBLE -> Double.longBitsToDouble(value);
+      case FLOAT -> Float.intBitsToFloat((int) value);
+      case CHARACTER -> (char) value;
+      case BOOLEAN -> value != 0;
+      case PRIMITIVE -> primitives[(int) value];
+      case CODEWORD -> Image.CODEWORDS[(int) value];
+      case BIG_INTEGER, BIG_DECIMAL, STRING, CLASS, PARSED -> getConstant((int) value);
+    };
+  }
+
+  /** Constants are shared by the cells which refer to them, except parsed values. */
+  private Object getConstant(int id) {
+    var constant = constants[id];
+    if (constant == null) {
+      var offset = buffer.getInt(constantsOffset + 4 * id);
+      constant =
+          switch (Image.TAGS[buffer.get(offset)]) {
+            case BIG_INTEGER -> new BigInteger(readUTF(buffer, offset + 1));
+            case BIG_DECIMAL -> new BigDecimal(readUTF(buffer, offset + 1));
+            case STRING -> readUTF(buffer, offset + 1);
+            case CLASS -> ClassCache.forName(readUTF(buffer, offset + 1));
+            case PARSED -> {
+              var parserName = readUTF(buffer, offset + 1);
+              var source = readUTF(buffer, offset + 5 + buffer.getInt(offset + 1));
+              yield PrimitiveFactory.parse(parserName, source);
+            }
+            default -> throw new MachineException("Invalid constant: %d".formatted(id));
+          };
+      if (!(constant instanceof ParsedValue)) {
+        constants[id] = constant;
+      }
+    }
+    return constant;
+  }
+
+  private String getString(int id) {
+    return (String) getConstant(id);
+  }
+
+  /** A String of the constant pool, before the constants are known. */
+  private static String readString(ByteBuffer buffer, int id) {
+    return readUTF(buffer, buffer.getInt(buffer.getInt(CONSTANTS + 4) + 4 * id) + 1);
+  }
+
+  private static String readUTF(ByteBuffer buffer, int offset) {
+    var bytes = new byte[buffer.getInt(offset)];
+    buffer.get(offset + 4, bytes);
+    return new String(bytes, UTF_8);
+  }
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  // Dictionary
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Puts the items of the name in the dictionary and in their wordlists.
+   *
+   * @return false if the image has no items for the name
+   */
+  boolean loadName(String foldedName, Dictionary dictionary) {
+    var entry = findName(foldedName);
+    if (entry != -1) {
+      var count = buffer.getInt(entry + 4);
+      var nameItems = new ArrayList<DictionaryItem>(count);
+      for (var i = 0; i < count; i++) {
+        var id = buffer.getInt(entry + 8 + 4 * i);
+        var item = getItem(id);
+        nameItems.add(item);
+        dictionary
+            .wordlists
+            .get(buffer.getInt(itemsOffset + ITEM_SIZE * id + 13))
+            .computeIfAbsent(foldedName, _name -> new ArrayList<>())
+            .add(item);
+      }
+      dictionary.items.put(foldedName, nameItems);
+    }
+    return entry != -1;
+  }
+
+  /** Puts the item first put at the address, if any, in the address index of the dictionary. */
+  void loadAddress(int address, Dictionary dictionary) {
+    var mask = addressSlots - 1;
+    for (var slot = Integer.hashCode(address) & mask; ; slot = (slot + 1) & mask) {
+      var id = buffer.getInt(addressesOffset + 4 * slot) - 1;
+      if (id == -1) {
+        return;
+      } else if (buffer.getInt(itemsOffset + ITEM_SIZE * id + 4) == address) {
+        dictionary.byAddress.put(address, getItem(id));
+        return;
+      }
+    }
+  }
+
+  /** The folded names of all the items. */
+  List<String> getNames() {
+    var result = new ArrayList<String>();
+    for (var slot = 0; slot < nameSlots; slot++) {
+      var entry = buffer.getInt(namesOffset + 4 * slot);
+      if (entry != 0) {
+        result.add(getString(buffer.getInt(entry)));
+      }
+    }
+    return result;
+  }
+
+  /** The addresses of the address index. */
+  List<Integer> getAddresses() {
+    var result = new ArrayList<Integer>();
+    for (var slot = 0; slot < addressSlots; slot++) {
+      var id = buffer.getInt(addressesOffset + 4 * slot) - 1;
+      if (id != -1) {
+        result.add(buffer.getInt(itemsOffset + ITEM_SIZE * id + 4));
+      }
+    }
+    return result;
+  }
+
+  /** @return the offset of the entry of the name, or -1 */
+  private int findName(String foldedName) {
+    var mask = nameSlots - 1;
+    for (var slot = foldedName.hashCode() & mask; ; slot = (slot + 1) & mask) {
+      var entry = buffer.getInt(namesOffset + 4 * slot);
+      if (entry == 0) {
+        return -1;
+      } else if (foldedName.equals(getString(buffer.getInt(entry)))) {
+        return entry;
+      }
+    }
+  }
+
+  private DictionaryItem getItem(int id) {
+    var item = items[id];
+    if (item == null) {
+      var offset = itemsOffset + ITEM_SIZE * id;
+      var flags = buffer.get(offset + 8);
+      item =
+          new DictionaryItem(
+              getString(buffer.getInt(offset)),
+              buffer.getInt(offset + 4),
+              (flags & IMMEDIATE) != 0,
+              (flags & HIDDEN) != 0);
+      item.setLength(buffer.getInt(offset + 9));
+      items[id] = item;
+    }
+    return item;
+  }
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+  // Saving
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  /**
+   * Writes the memory and the dictionary to an image file.
+   *
+   * <p>The file is written next to the given one and then moved over it, so that a machine which
+   * has the old file mapped keeps reading the old contents.
+   */
+  static void save(MachineState state, Path path, ImageStamp stamp) {
+    try {
+      var temporary = path.resolveSibling(".%s.tmp".formatted(path.getFileName()));
+      try {
+        Files.write(temporary, new Writer().write(state, stamp));
+        Files.move(
+            temporary,
+            path,
+            StandardCopyOption.REPLACE_EXISTING,
+            StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(temporary);
+      }
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  private static class Writer {
+
+    private record Constant(Tag tag, String text) {}
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    private final DataOutputStream out = new DataOutputStream(bytes);
+    private final List<Constant> constants = new ArrayList<>();
+    private final Map<Constant, Integer> constantIds = new HashMap<>();
+    private final int[] header = new int[HEADER_SIZE / 4];
+
+    byte[] write(MachineState state, ImageStamp stamp) throws IOException {
+      var memory = state.getMemory();
+      var dictionary = state.getDictionary();
+      dictionary.loadAll();
+
+      var primitiveIds = new int[PrimitiveFactory.getPrimitiveCount()];
+      for (var id = 0; id < primitiveIds.length; id++) {
+        primitiveIds[id] = addString(PrimitiveFactory.getPrimitive(id).getName());
+      }
+      var imports = ClassCache.getImports().stream().mapToInt(this::addString).toArray();
+      var build = addString(stamp.build());
+      var sources =
+          stamp.sources().stream()
+              .flatMapToInt(
+                  source -> IntStream.of(addString(source.path()), addString(source.hash())))
+              .toArray();
+
+      var here = memory.get(Variables.HERE_ADDRESS);
+      var denseCount = here instanceof Integer h && h > 0 ? h : 0;
+      var cells = new ByteArrayOutputStream();
+      var cellsOut = new DataOutputStream(cells);
+      for (var address = 0; address < denseCount; address++) {
+        writeCell(cellsOut, address, memory.get(address));
+      }
+      var sparse = memory.getAddresses().stream().filter(a -> a < 0 || a >= denseCount).sorted();
+      var sparseCount = 0;
+      for (var address : sparse.toList()) {
+        cellsOut.writeInt(address);
+        writeCell(cellsOut, address, memory.get(address));
+        sparseCount++;
+      }
+
+      var ids = new IdentityHashMap<DictionaryItem, Integer>();
+      var itemWordlists = new IdentityHashMap<DictionaryItem, Integer>();
+      var items = new ArrayList<DictionaryItem>();
+      for (var wordlist = 0; wordlist < dictionary.wordlists.size(); wordlist++) {
+        for (var wordlistItems : dictionary.wordlists.get(wordlist).values()) {
+          for (var item : wordlistItems) {
+            itemWordlists.put(item, wordlist);
+          }
+        }
+      }
+      dictionary.items.values().forEach(list -> list.forEach(item -> addItem(item, ids, items)));
+      dictionary.byAddress.values().forEach(item -> addItem(item, ids, items));
+      var itemNames = items.stream().mapToInt(item -> addString(item.getName())).toArray();
+      var names = new ArrayList<>(dictionary.items.keySet());
+      var nameIds = names.stream().mapToInt(this::addString).toArray();
+
+      // The constants go first, as they're all known by now: a table of offsets and the entries.
+      var entries = new ByteArrayOutputStream();
+      var entriesOut = new DataOutputStream(entries);
+      var entriesOffset = offset() + 4 * constants.size();
+      section(CONSTANTS, constants.size(), offset());
+      for (var constant : constants) {
+        out.writeInt(entriesOffset + entries.size());
+        entriesOut.writeByte(constant.tag().ordinal());
+        if (constant.tag() == Tag.PARSED) {
+          var separator = constant.text().indexOf('\n');
+          Image.writeUTF(entriesOut, constant.text().substring(0, separator));
+          Image.writeUTF(entriesOut, constant.text().substring(separator + 1));
+        } else {
+          Image.writeUTF(entriesOut, constant.text());
+        }
+      }
+      entries.writeTo(out);
+
+      section(PRIMITIVES, primitiveIds.length, offset());
+      for (var id : primitiveIds) {
+        out.writeInt(id);
+      }
+      section(IMPORTS, imports.length, offset());
+      for (var id : imports) {
+        out.writeInt(id);
+      }
+      header[BUILD / 4] = build;
+      section(SOURCES, stamp.sources().size(), offset());
+      for (var id : sources) {
+        out.writeInt(id);
+      }
+
+      section(DENSE_CELLS, denseCount, offset());
+      section(SPARSE_CELLS, sparseCount, offset() + CELL_SIZE * denseCount);
+      cells.writeTo(out);
+
+      section(ITEMS, items.size(), offset());
+      for (var id = 0; id < items.size(); id++) {
+        var item = items.get(id);
+        out.writeInt(itemNames[id]);
+        out.writeInt(item.getAddress());
+        out.writeByte(
+            (item.getIsImmediate() ? IMMEDIATE : 0) | (item.getIsHidden() ? HIDDEN : 0));
+        out.writeInt(item.getLength());
+        out.writeInt(itemWordlists.getOrDefault(item, Dictionary.FORTH_WORDLIST));
+      }
+
+      var nameEntries = new int[names.size()];
+      for (var i = 0; i < names.size(); i++) {
+        nameEntries[i] = offset();
+        var nameItems = dictionary.items.get(names.get(i));
+        out.writeInt(nameIds[i]);
+        out.writeInt(nameItems.size());
+        for (var item : nameItems) {
+          out.writeInt(ids.get(item));
+        }
+      }
+      var nameSlots = slotsFor(names.size());
+      var nameTable = new int[nameSlots];
+      for (var i = 0; i < names.size(); i++) {
+        var slot = names.get(i).hashCode() & (nameSlots - 1);
+        while (nameTable[slot] != 0) {
+          slot = (slot + 1) & (nameSlots - 1);
+        }
+        nameTable[slot] = nameEntries[i];
+      }
+      section(NAMES, nameSlots, offset());
+      for (var entry : nameTable) {
+        out.writeInt(entry);
+      }
+
+      var addressSlots = slotsFor(dictionary.byAddress.size());
+      var addressTable = new int[addressSlots];
+      for (var entry : dictionary.byAddress.entrySet()) {
+        var slot = Integer.hashCode(entry.getKey()) & (addressSlots - 1);
+        while (addressTable[slot] != 0) {
+          slot = (slot + 1) & (addressSlots - 1);
+        }
+        addressTable[slot] = ids.get(entry.getValue()) + 1;
+      }
+      section(ADDRESSES, addressSlots, offset());
+      for (var id : addressTable) {
+        out.writeInt(id);
+      }
+
+      var searchOrder = dictionary.getSearchOrder();
+      header[WORDLISTS / 4] = dictionary.wordlists.size();
+      header[CURRENT / 4] = dictionary.getCurrent();
+      section(SEARCH_ORDER, searchOrder.length, offset());
+      for (var wordlist : searchOrder) {
+        out.writeInt(wordlist);
+      }
+
+      header[0] = MAGIC;
+      header[1] = VERSION;
+      var result = ByteBuffer.allocate(HEADER_SIZE + bytes.size());
+      for (var value : header) {
+        result.putInt(value);
+      }
+      return result.put(bytes.toByteArray()).array();
+    }
+
+    /** The offset in the file of the next byte written. */
+    private int offset() {
+      return HEADER_SIZE + bytes.size();
+    }
+
+    /** Sets the count and the offset of a section in the header. */
+    private void section(int section, int count, int offset) {
+      header[section / 4] = count;
+      header[section / 4 + 1] = offset;
+    }
+
+    private int addString(String s) {
+      return addConstant(new Constant(Tag.STRING, s));
+    }
+
+    private int addConstant(Constant constant) {
+      return constantIds.computeIfAbsent(
+          constant,
+          _constant -> {
+            constants.add(constant);
+            return constants.size() - 1;
+          });
+    }
+
+    /** Each parsed value gets a constant of its own, as it keeps the state of its call site. */
+    private int addParsed(ParsedValue parsed) {
+      constants.add(
+          new Constant(Tag.PARSED, parsed.getParserName() + "\n" + parsed.getSource()));
+      return constants.size() - 1;
+    }
+
+    private void writeCell(DataOutputStream out, int address, Object value) throws IOException {
+      if (value == null) {
+        out.writeByte(0);
+        out.writeLong(0);
+        return;
+      }
+      var tag =
+          switch (value) {
+            case Integer i -> Tag.INTEGER;
+            case Long l -> Tag.LONG;
+            case Short s -> Tag.SHORT;
+            case Byte b -> Tag.BYTE;
+            case Double d -> Tag.DOUBLE;
+            case Float f -> Tag.FLOAT;
+            case BigInteger n -> Tag.BIG_INTEGER;
+            case BigDecimal n -> Tag.BIG_DECIMAL;
+            case String s -> Tag.STRING;
+            case Codeword codeword -> Tag.CODEWORD;
+            case Character c -> Tag.CHARACTER;
+            case Boolean b -> Tag.BOOLEAN;
+            case Primitive primitive -> Tag.PRIMITIVE;
+            case Class<?> clazz -> Tag.CLASS;
+            case ParsedValue parsed -> Tag.PARSED;
+            default -> throw Image.cannotSave(address, value);
+          };
+      out.writeByte(tag.ordinal() + 1);
+      out.writeLong(
+          switch (value) {
+            case Integer i -> i;
+            case Long l -> l;
+            case Short s -> s;
+            case Byte b -> b;
+            case Double d -> Double.doubleToRawLongBits(d);
+            case Float f -> Float.floatToRawIntBits(f);
+            case Character c -> c;
+            case Boolean b -> b ? 1 : 0;
+            case Primitive primitive -> primitiveId(address, primitive);
+            case Codeword codeword -> codeword.ordinal();
+            case Class<?> clazz -> addConstant(new Constant(tag, clazz.getName()));
+            case ParsedValue parsed -> addParsed(parsed);
+            default -> addConstant(new Constant(tag, value.toString()));
+          });
+    }
+
+    private static int primitiveId(int address, Primitive primitive) {
+      var id = PrimitiveFactory.getPrimitiveId(primitive.getName());
+      if (id == -1 || PrimitiveFactory.getPrimitive(id) != primitive) {
+        throw Image.cannotSave(address, primitive);
+      }
+      return id;
+    }
+
+    private static void addItem(
+        DictionaryItem item, Map<DictionaryItem, Integer> ids, List<DictionaryItem> items) {
+      if (!ids.containsKey(item)) {
+        ids.put(item, items.size());
+        items.add(item);
+      }
+    }
+
+    /** A power of 2 at least twice the number of keys, so that probes stay short. */
+    private static int slotsFor(int keys) {
+      return Integer.highestOneBit(Math.max(keys, 1) * 2) << 1;
+    }
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.BitSet;
+import java.util.Set;
+
+/**
+ * Memory whose cells come from a {@link MappedImage}, each decoded the first time it's read.
+ *
+ * <p>The cells decoded, and those written since, live in a {@link PagedMemory}. The cells of the
+ * image which have been looked at are tracked in a bitmap, by address for the dense range and by
+ * index in the sorted addresses of the image for the rest, which are binary searched in the
+ * mapping itself rather than read up front; a cell not looked at yet is read from the image. Any
+ * other cell, eg of a word defined since, is only ever in the paged memory.
+ */
+class MappedMemory extends Memory {
+
+  private final MappedImage image;
+  private final PagedMemory cells = new PagedMemory();
+  private final BitSet resolved = new BitSet();
+  private final int denseCount;
+  private final int sparseCount;
+  private final BitSet resolvedSparse;
+
+  /** The lowest address outside the dense range, so that lower ones aren't searched for. */
+  private final int firstSparse;
+
+  /** The highest address outside the dense range, so that higher ones aren't searched for. */
+  private final int lastSparse;
+
+  MappedMemory(MappedImage image) {
+    this.image = image;
+    this.denseCount = image.getDenseCount();
+    this.sparseCount = image.getSparseCount();
+    this.resolvedSparse = new BitSet(sparseCount);
+    this.firstSparse = sparseCount == 0 ? Integer.MAX_VALUE : image.getSparseAddress(0);
+    this.lastSparse =
+        sparseCount == 0 ? Integer.MIN_VALUE : image.getSparseAddress(sparseCount - 1);
+  }
+
+  @Override
+  void set(int address, Object value) {
+    markResolved(address);
+    cells.set(address, value);
+  }
+
+  @Override
+  Object get(int address) {
+    if (markResolved(address)) {
+      var value = image.getCell(address);
+      if (value != null) {
+        cells.set(address, value);
+      }
+      return value;
+    }
+    return cells.get(address);
+  }
+
+  @Override
+  Set<Integer> getAddresses() {
+    resolveAll();
+    return cells.getAddresses();
+  }
+
+  /** A copy which doesn't refer to the image any more. */
+  @Override
+  Memory copy() {
+    resolveAll();
+    return cells.copy();
+  }
+
+  /** @return true if the cell is in the image and hadn't been looked at before */
+  private boolean markResolved(int address) {
+    if (address >= 0 && address < denseCount) {
+      if (resolved.get(address)) {
+        return false;
+      }
+      resolved.set(address);
+      return true;
+    }
+    if (address < firstSparse || address > lastSparse) {
+      return false;
+    }
+    var index = image.findSparse(address);
+    if (index < 0 || resolvedSparse.get(index)) {
+      return false;
+    }
+    resolvedSparse.set(index);
+    return true;
+  }
+
+  private void resolveAll() {
+    for (var address = 0; address < denseCount; address++) {
+      get(address);
+    }
+    for (var index = 0; index < sparseCount; index++) {
+      get(image.getSparseAddress(index));
+    }
+  }
+}
@@ -18,23 +18,32 @@
  */
 package bjforth.machine;
 
-import java.util.HashMap;
-import java.util.Map;
+import bjforth.config.Options;
+import java.util.Set;
 
-class Memory {
-  private final Map<Integer, Object> cells = new HashMap<>();
-
-  Memory() {}
+/**
+ * The cells of the machine.
+ *
+ * <p>A cell which has never been set, or has been set to null, reads as null and is not reported
+ * by {@link #getAddresses()}.
+ */
+abstract class Memory {
 
-  Memory(Memory other) {
-    other.cells.forEach(cells::put);
+  static Memory newMemory() {
+    var kind = Options.memory();
+    return switch (kind) {
+      case Options.MEMORY_PAGED -> new PagedMemory();
+      case Options.MEMORY_HASHMAP -> new HashMapMemory();
+      default -> throw new MachineException("Unknown memory implementation: %s".formatted(kind));
+    };
   }
 
-  void set(Integer address, Object value) {
-    cells.put(address, value);
-  }
+  abstract void set(int address, Object value);
 
-  Object get(Integer address) {
-    return cells.get(address);
-  }
+  abstract Object get(int address);
+
+  /** The addresses of all the non-null cells. */
+  abstract Set<Integer> getAddresses();
+
+  abstract Memory copy();
 }
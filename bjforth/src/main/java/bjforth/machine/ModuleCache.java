@@ -0,0 +1,540 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import bjforth.config.Options;
+import bjforth.primitives.PrimitiveFactory;
+import bjforth.primitives.lib.ClassCache;
+import bjforth.variables.Variable;
+import bjforth.variables.Variables;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A cache of what including a file did to the memory and the dictionary, so that the next time
+ * the same file is included on the same state it's replayed instead of being read and compiled
+ * again; a bit like the .pyc files of Python.
+ *
+ * <p>An entry is keyed by the hash of the state the file was included on and the hash of the
+ * contents of the file. It lists the files the file included in turn, with their hashes, which
+ * must still match for the entry to be used. The state is only known as long as nothing but
+ * included files has changed it, eg the files given on the command line: it starts as the hash of
+ * the jar, the variables, the primitives, the options which change compiled code and the image, if
+ * any, and including a file makes it the hash of the entry of the file. Once anything has been read
+ * from the standard input files aren't cached any more.
+ *
+ * <p>Cached code isn't relocated. A cell of threaded code can't be told apart from a number, so an
+ * entry is only used on the very state, and so at the very HERE, it was recorded on.
+ *
+ * <p>While a file is included, the cells it writes, the items it puts in and removes from the
+ * dictionary, the wordlist changes, the changes to the existing items it gets by address, eg
+ * IMMEDIATE, and the packages it imports are recorded. A file isn't cached if the parameter stack
+ * isn't empty before and after it, if it writes a cell at a negative address or if it leaves a
+ * cell with a value which can't be saved in an {@link Image}. Anything else a file does, eg
+ * printing, doesn't happen when it's replayed.
+ */
+class ModuleCache {
+
+  private static final int MAGIC = 0x626a4643; // "bjFC"
+  private static final int VERSION = 2;
+
+  private static final byte PUT = 0;
+  private static final byte REMOVE = 1;
+  private static final byte CREATE_WORDLIST = 2;
+  private static final byte SET_CURRENT = 3;
+  private static final byte SET_SEARCH_ORDER = 4;
+
+  private final Machine machine;
+  private final MachineState state;
+  private final Path directory;
+  private final String buildKey;
+
+  /** The hash of the state of the machine, or null if it's not known. */
+  private String stateKey;
+
+  private Recording recording = null;
+
+  ModuleCache(Machine machine, MachineState state, Path directory) {
+    this.machine = machine;
+    this.state = state;
+    this.directory = directory;
+    var primitives = new ArrayList<String>();
+    for (var id = 0; id < PrimitiveFactory.getPrimitiveCount(); id++) {
+      primitives.add(PrimitiveFactory.getPrimitive(id).getName());
+    }
+    var variables =
+        Variables.variables.stream()
+            .sorted(Comparator.comparing(Variable::getAddress))
+            .map(variable -> variable.getName() + "@" + variable.getAddress())
+            .toList();
+    buildKey =
+        hash(
+            String.valueOf(VERSION),
+            implementation(),
+            String.valueOf(Variables.variables.size()),
+            String.join(" ", variables),
+            String.join(" ", primitives),
+            Options.fusions(),
+            Options.imports());
+    stateKey = hash(buildKey, "bootstrap");
+  }
+
+  /** To be called when the memory and the dictionary have been replaced by those of an image. */
+  void imageLoaded(Path image) {
+    recording = null;
+    try {
+      stateKey =
+          hash(
+              buildKey,
+              image.toAbsolutePath().toString(),
+              String.valueOf(Files.size(image)),
+              Files.getLastModifiedTime(image).toString());
+    } catch (IOException e) {
+      stateKey = null;
+    }
+  }
+
+  /**
+   * To be called before a file is included, with the number of sources the file interrupts.
+   *
+   * @param interactive whether anything has been read from the standard input
+   * @return true if the file has been replayed from the cache and so shouldn't be read
+   */
+  boolean include(Path path, int depth, boolean interactive) {
+    if (recording != null) {
+      recording.dependencies.put(path.toString(), hash(path));
+      return false;
+    }
+    if (interactive || stateKey == null || state.getParameterStack().size() != 0) {
+      stateKey = null;
+      return false;
+    }
+    var key = hash(stateKey, hash(path));
+    var entry = directory.resolve(key + ".module");
+    if (Files.isRegularFile(entry)) {
+      var module = read(entry);
+      if (module != null && module.apply(machine)) {
+        stateKey = hash(key, module.dependencies.toString());
+        return true;
+      }
+    }
+    recording = new Recording(key, depth);
+    return false;
+  }
+
+  /** To be called when a source ends, with the number of sources left under it. */
+  void ended(int depth) {
+    if (recording == null || recording.depth != depth) {
+      return;
+    }
+    var finished = recording;
+    recording = null;
+    stateKey = hash(finished.key, finished.dependencies.toString());
+    if (finished.isCacheable && state.getParameterStack().size() == 0) {
+      try {
+        write(finished);
+      } catch (IOException | MachineException e) {
+        // Not cacheable, eg a cell holds a Java object; the file is read again next time.
+      }
+    }
+  }
+
+  void memoryWritten(int address) {
+    if (recording != null) {
+      if (address >= 0) {
+        recording.cells.set(address);
+      } else {
+        recording.isCacheable = false;
+      }
+    }
+  }
+
+  void put(String name, DictionaryItem item) {
+    if (recording != null) {
+      recording.items.add(item);
+      recording.operations.add(new Operation(PUT, name, item, 0, null));
+    }
+  }
+
+  void remove(String name) {
+    if (recording != null) {
+      recording.operations.add(new Operation(REMOVE, name, null, 0, null));
+    }
+  }
+
+  void createWordlist() {
+    if (recording != null) {
+      recording.operations.add(new Operation(CREATE_WORDLIST, null, null, 0, null));
+    }
+  }
+
+  void setCurrentWordlist(int wordlist) {
+    if (recording != null) {
+      recording.operations.add(new Operation(SET_CURRENT, null, null, wordlist, null));
+    }
+  }
+
+  void setSearchOrder(int[] wordlists) {
+    if (recording != null) {
+      recording.operations.add(
+          new Operation(SET_SEARCH_ORDER, null, null, 0, wordlists.clone()));
+    }
+  }
+
+  /** An item got by address, which the caller may change. */
+  void itemFound(DictionaryItem item) {
+    if (recording != null) {
+      recording.found.computeIfAbsent(item, Flags::of);
+    }
+  }
+
+  ////////////////////////////////////////////////////////////////////////////////////////////////
+
+  private record Flags(boolean isImmediate, boolean isHidden, int length) {
+    static Flags of(DictionaryItem item) {
+      return new Flags(item.getIsImmediate(), item.getIsHidden(), item.getLength());
+    }
+  }
+
+  /** The values of consecutive cells. */
+  private record Run(int start, Object[] values) {}
+
+  private record Operation(byte code, String name, DictionaryItem item, int id, int[] ids) {}
+
+  /**
+   * A {@link bjforth.primitives.ParsedValue} read back, which is only parsed once the packages it
+   * may refer to have been imported.
+   */
+  private record Unparsed(String parserName, String source) {}
+
+  private static class Recording {
+    final String key;
+    final int depth;
+    final Map<String, String> dependencies = new LinkedHashMap<>();
+    final BitSet cells = new BitSet();
+    boolean isCacheable = true;
+    final Set<DictionaryItem> items = Collections.newSetFromMap(new IdentityHashMap<>());
+    final List<Operation> operations = new ArrayList<>();
+    final Map<DictionaryItem, Flags> found = new IdentityHashMap<>();
+    final List<String> imports = List.copyOf(ClassCache.getImports());
+
+    Recording(String key, int depth) {
+      this.key = key;
+      this.depth = depth;
+    }
+  }
+
+  /** A cache entry read back, to be applied to a machine. */
+  private record Module(
+      Map<String, String> dependencies,
+      List<String> imports,
+      List<Run> cells,
+      List<Operation> operations,
+      Map<Integer, Flags> found) {
+
+    /**
+     * @return false if a value can't be parsed, in which case nothing but the imports has been
+     *     applied
+     */
+    boolean apply(Machine machine) {
+      // The values may be Java method descriptors which refer to the packages imported.
+      imports.forEach(ClassCache::addImport);
+      try {
+        for (var run : cells) {
+          for (var i = 0; i < run.values().length; i++) {
+            if (run.values()[i] instanceof Unparsed unparsed) {
+              run.values()[i] = PrimitiveFactory.parse(unparsed.parserName(), unparsed.source());
+            }
+          }
+        }
+      } catch (MachineException e) {
+        return false;
+      }
+      for (var run : cells) {
+        for (var i = 0; i < run.values().length; i++) {
+          machine.setMemoryAt(run.start() + i, run.values()[i]);
+        }
+      }
+      for (var operation : operations) {
+        switch (operation.code()) {
+          case PUT -> machine.createDictionaryItem(operation.name(), operation.item());
+          case REMOVE -> machine.removeDictionaryItem(operation.name());
+          case CREATE_WORDLIST -> machine.createWordlist();
+          case SET_CURRENT -> machine.setCurrentWordlist(operation.id());
+          case SET_SEARCH_ORDER -> machine.setSearchOrder(operation.ids());
+          default ->
+              throw new MachineException("Invalid operation: %d".formatted(operation.code()));
+        }
+      }
+      found.forEach(
+          (address, flags) ->
+              machine
+                  .getDictionaryItem(address)
+                  .ifPresent(
+                      item -> {
+                        item.setIsImmediate(flags.isImmediate());
+                        item.setIsHidden(flags.isHidden());
+                        item.setLength(flags.length());
+                      }));
+      return true;
+    }
+  }
+
+  private void write(Recording recording) throws IOException {
+    Files.createDirectories(directory);
+    var entry = directory.resolve(recording.key + ".module");
+    var temporary = directory.resolve(".%s.tmp".formatted(recording.key));
+    try {
+      try (var out =
+          new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeInt(recording.dependencies.size());
+        for (var dependency : recording.dependencies.entrySet()) {
+          Image.writeUTF(out, dependency.getKey());
+          Image.writeUTF(out, dependency.getValue());
+        }
+        Image.writePrimitives(out);
+        var imports = new ArrayList<>(ClassCache.getImports());
+        imports.removeAll(recording.imports);
+        out.writeInt(imports.size());
+        for (var packageName : imports) {
+          Image.writeUTF(out, packageName);
+        }
+        var cells = recording.cells;
+        var runs = 0;
+        for (var start = cells.nextSetBit(0); start >= 0; start = nextRun(cells, start)) {
+          runs++;
+        }
+        out.writeInt(runs);
+        for (var start = cells.nextSetBit(0); start >= 0; start = nextRun(cells, start)) {
+          var end = cells.nextClearBit(start);
+          out.writeInt(start);
+          out.writeInt(end - start);
+          for (var address = start; address < end; address++) {
+            var value = state.getMemory().get(address);
+            out.writeBoolean(value != null);
+            if (value != null) {
+              Image.writeValue(out, address, value);
+            }
+          }
+        }
+        var items = new IdentityHashMap<DictionaryItem, Integer>();
+        for (var item : recording.items) {
+          items.put(item, items.size());
+        }
+        out.writeInt(items.size());
+        for (var item : recording.items) {
+          writeItem(out, item);
+        }
+        out.writeInt(recording.operations.size());
+        for (var operation : recording.operations) {
+          out.writeByte(operation.code());
+          switch (operation.code()) {
+            case PUT -> {
+              Image.writeUTF(out, operation.name());
+              out.writeInt(items.get(operation.item()));
+            }
+            case REMOVE -> Image.writeUTF(out, operation.name());
+            case SET_CURRENT -> out.writeInt(operation.id());
+            case SET_SEARCH_ORDER -> {
+              out.writeInt(operation.ids().length);
+              for (var id : operation.ids()) {
+                out.writeInt(id);
+              }
+            }
+            default -> {}
+          }
+        }
+        var changed = new ArrayList<DictionaryItem>();
+        recording.found.forEach(
+            (item, flags) -> {
+              if (!items.containsKey(item) && !flags.equals(Flags.of(item))) {
+                changed.add(item);
+              }
+            });
+        out.writeInt(changed.size());
+        for (var item : changed) {
+          writeItem(out, item);
+        }
+      }
+      Files.move(
+          temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } finally {
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private static int nextRun(BitSet cells, int start) {
+    return cells.nextSetBit(cells.nextClearBit(start));
+  }
+
+  private static void writeItem(DataOutputStream out, DictionaryItem item) throws IOException {
+    Image.writeUTF(out, item.getName());
+    out.writeInt(item.getAddress());
+    out.writeBoolean(item.getIsImmediate());
+    out.writeBoolean(item.getIsHidden());
+    out.writeInt(item.getLength());
+  }
+
+  private static DictionaryItem readItem(DataInputStream in) throws IOException {
+    var item =
+        new DictionaryItem(Image.readUTF(in), in.readInt(), in.readBoolean(), in.readBoolean());
+    item.setLength(in.readInt());
+    return item;
+  }
+
+  /**
+   * Reads an entry, all of it before anything is applied.
+   *
+   * @return null if the entry is stale or can't be read
+   */
+  private Module read(Path entry) {
+    try (var in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(entry)))) {
+      if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+        return null;
+      }
+      var dependencies = new LinkedHashMap<String, String>();
+      for (var count = in.readInt(); count > 0; count--) {
+        var path = Image.readUTF(in);
+        var hash = Image.readUTF(in);
+        if (!Files.isRegularFile(Path.of(path)) || !hash.equals(hash(Path.of(path)))) {
+          return null;
+        }
+        dependencies.put(path, hash);
+      }
+      var primitives = Image.readPrimitives(in);
+      var imports = new ArrayList<String>();
+      for (var count = in.readInt(); count > 0; count--) {
+        imports.add(Image.readUTF(in));
+      }
+      var cells = new ArrayList<Run>();
+      for (var count = in.readInt(); count > 0; count--) {
+        var run = new Run(in.readInt(), new Object[in.readInt()]);
+        for (var i = 0; i < run.values().length; i++) {
+          run.values()[i] =
+              in.readBoolean() ? Image.readValue(in, primitives, Unparsed::new) : null;
+        }
+        cells.add(run);
+      }
+      var items = new DictionaryItem[in.readInt()];
+      for (var i = 0; i < items.length; i++) {
+        items[i] = readItem(in);
+      }
+      var operations = new ArrayList<Operation>();
+      for (var count = in.readInt(); count > 0; count--) {
+        var code = in.readByte();
+        operations.add(
+            switch (code) {
+              case PUT -> new Operation(code, Image.readUTF(in), items[in.readInt()], 0, null);
+              case REMOVE -> new Operation(code, Image.readUTF(in), null, 0, null);
+              case CREATE_WORDLIST -> new Operation(code, null, null, 0, null);
+              case SET_CURRENT -> new Operation(code, null, null, in.readInt(), null);
+              case SET_SEARCH_ORDER -> {
+                var ids = new int[in.readInt()];
+                for (var i = 0; i < ids.length; i++) {
+                  ids[i] = in.readInt();
+                }
+                yield new Operation(code, null, null, 0, ids);
+              }
+              default -> throw new MachineException("Invalid operation: %d".formatted(code));
+            });
+      }
+      var found = new LinkedHashMap<Integer, Flags>();
+      for (var count = in.readInt(); count > 0; count--) {
+        var item = readItem(in);
+        found.put(item.getAddress(), Flags.of(item));
+      }
+      return new Module(dependencies, imports, cells, operations, found);
+    } catch (IOException | MachineException e) {
+      return null;
+    }
+  }
+
+  /**
+   * The hash of the jar bjForth runs from, or its implementation version if it doesn't run from a
+   * jar, as the primitives of another build may compile or run code differently.
+   */
+  static String implementation() {
+    try {
+      var source = ModuleCache.class.getProtectionDomain().getCodeSource();
+      if (source != null) {
+        var location = Path.of(source.getLocation().toURI());
+        if (Files.isRegularFile(location)) {
+          return hash(location);
+        }
+      }
+    } catch (URISyntaxException | IllegalArgumentException | FileSystemNotFoundException e) {
+      // Not a file; fall through.
+    }
+    return String.valueOf(ModuleCache.class.getPackage().getImplementationVersion());
+  }
+
+  /** The SHA-256 of the contents of a file. */
+  static String hash(Path path) {
+    try (var channel = FileChannel.open(path)) {
+      var digest = sha256();
+      digest.update(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (IOException e) {
+      throw new MachineException(e);
+    }
+  }
+
+  /** The SHA-256 of the strings, each followed by a NUL. */
+  private static String hash(String... parts) {
+    var digest = sha256();
+    for (var part : parts) {
+      digest.update(part.getBytes(UTF_8));
+      digest.update((byte) 0);
+    }
+    return HexFormat.of().formatHex(digest.digest());
+  }
+
+  private static MessageDigest sha256() {
+    try {
+      return MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      throw new MachineException(e);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Memory made of fixed size pages of cells, each page allocated on the first write into it.
+ *
+ * <p>The address space is treated as unsigned. The first {@link #DENSE_PAGES} pages, ie where
+ * HERE grows, are looked up by index in a page table which grows on demand. Anything beyond that,
+ * including negative addresses, lives in a sparse page table.
+ */
+class PagedMemory extends Memory {
+
+  static final int PAGE_BITS = 12;
+  static final int PAGE_SIZE = 1 << PAGE_BITS;
+  static final int DENSE_PAGES = 1024;
+
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final int INITIAL_PAGES = 4;
+
+  private Object[][] pages = new Object[INITIAL_PAGES][];
+  private final Map<Integer, Object[]> sparsePages = new HashMap<>();
+
+  PagedMemory() {}
+
+  PagedMemory(PagedMemory other) {
+    pages = new Object[other.pages.length][];
+    for (var i = 0; i < pages.length; i++) {
+      if (other.pages[i] != null) {
+        pages[i] = other.pages[i].clone();
+      }
+    }
+    other.sparsePages.forEach((page, cells) -> sparsePages.put(page, cells.clone()));
+  }
+
+  @Override
+  void set(int address, Object value) {
+    var cells = page(address >>> PAGE_BITS, value != null);
+    if (cells != null) {
+      cells[address & PAGE_MASK] = value;
+    }
+  }
+
+  @Override
+  Object get(int address) {
+    var page = address >>> PAGE_BITS;
+    var cells = page < pages.length ? pages[page] : sparsePages.get(page);
+    return cells == null ? null : cells[address & PAGE_MASK];
+  }
+
+  @Override
+  Set<Integer> getAddresses() {
+    var result = new LinkedHashSet<Integer>();
+    for (var page = 0; page < pages.length; page++) {
+      collectAddresses(page, pages[page], result);
+    }
+    sparsePages.forEach((page, cells) -> collectAddresses(page, cells, result));
+    return result;
+  }
+
+  @Override
+  Memory copy() {
+    return new PagedMemory(this);
+  }
+
+  private Object[] page(int page, boolean allocate) {
+    if (page < DENSE_PAGES) {
+      if (page >= pages.length) {
+        if (!allocate) {
+          return null;
+        }
+        var newLength = pages.length;
+        while (newLength <= page) {
+          newLength <<= 1;
+        }
+        var newPages = new Object[Math.min(newLength, DENSE_PAGES)][];
+        System.arraycopy(pages, 0, newPages, 0, pages.length);
+        pages = newPages;
+      }
+      if (pages[page] == null && allocate) {
+        pages[page] = new Object[PAGE_SIZE];
+      }
+      return pages[page];
+    } else {
+      return allocate
+          ? sparsePages.computeIfAbsent(page, (_page) -> new Object[PAGE_SIZE])
+          : sparsePages.get(page);
+    }
+  }
+
+  private static void collectAddresses(int page, Object[] cells, Set<Integer> result) {
+    if (cells != null) {
+      for (var offset = 0; offset < PAGE_SIZE; offset++) {
+        if (cells[offset] != null) {
+          result.add((page << PAGE_BITS) | offset);
+        }
+      }
+    }
+  }
+}
@@ -18,52 +18,280 @@
  */
 package bjforth.machine;
 
-import java.util.LinkedList;
+import bjforth.config.Options;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 
 /* the public interface is quite leaky and doesn't try to encapsulate the impl
    details at all - mostly b/c of the words related to stack pointers, ie RSP!,
    RSP@, DSP! and DSP@.
+
+   The elements live in data[bottom, top) with the top of the stack at
+   data[top - 1].  A stack pointer p refers to the element p cells below the
+   top, which makes both getItem and setPointer plain index arithmetic.
+
+   Every read and write of a slot goes through read/write/copy so that
+   TaggedStack can keep ints and longs unboxed in a lane of its own.
 */
 class Stack {
 
-  private final LinkedList<Object> data = new LinkedList<>();
+  static final byte REF = 0;
+  static final byte INT = 1;
+  static final byte LONG = 2;
+
+  private static final int INITIAL_CAPACITY = 64;
 
-  Stack() {}
+  Object[] data;
+  int bottom = 0;
+  int top = 0;
+
+  Stack() {
+    data = new Object[INITIAL_CAPACITY];
+  }
 
   Stack(Stack other) {
-    other.data.iterator().forEachRemaining(data::addLast);
+    data = new Object[other.data.length];
+    for (var i = other.bottom; i < other.top; i++) {
+      data[top++] = other.read(i);
+    }
+  }
+
+  static Stack newParameterStack() {
+    var kind = Options.stack();
+    return switch (kind) {
+      case Options.STACK_TAGGED -> new TaggedStack();
+      case Options.STACK_BOXED -> new Stack();
+      case Options.STACK_CACHED -> new CachedStack();
+      default -> throw new MachineException("Unknown stack implementation: %s".formatted(kind));
+    };
+  }
+
+  Stack copy() {
+    return new Stack(this);
   }
 
   public Object pop() {
-    return data.removeFirst();
+    if (top == bottom) {
+      throw new NoSuchElementException();
+    }
+    var item = read(--top);
+    data[top] = null;
+    return item;
   }
 
   public void push(Object item) {
-    data.addFirst(item);
+    ensureRoom();
+    write(top++, item);
   }
 
   public Object peek() {
-    return data.peek();
+    return top == bottom ? null : read(top - 1);
   }
 
   public int getPointer() {
-    if (data.size() <= 0) {
+    if (top == bottom) {
       throw new MachineException("Empty stack");
     }
-    return data.size() - 1;
+    return top - bottom - 1;
   }
 
   public void setPointer(int pointer) {
-    if (pointer >= data.size() || pointer < 0) {
+    if (pointer >= top - bottom || pointer < 0) {
       throw new MachineException("Invalid stack pointer");
     }
-    for (int i = data.size() - 1; i > pointer; i--) data.remove(i);
+    var newBottom = top - pointer - 1;
+    Arrays.fill(data, bottom, newBottom, null);
+    bottom = newBottom;
   }
 
   public Object getItem(int pointer) {
-    if (pointer >= data.size() || pointer < 0) {
+    if (pointer >= top - bottom || pointer < 0) {
       throw new MachineException("Invalid stack pointer");
     }
-    return data.get(pointer);
+    return read(top - pointer - 1);
+  }
+
+  /** Whether the item at the given pointer is an int; false if there's no such item. */
+  boolean isInt(int pointer) {
+    return pointer >= 0 && pointer < top - bottom && tag(top - pointer - 1) == INT;
+  }
+
+  /** Whether the item at the given pointer is an int or a long; false if there's no such item. */
+  boolean isIntOrLong(int pointer) {
+    return pointer >= 0 && pointer < top - bottom && tag(top - pointer - 1) != REF;
+  }
+
+  /** Pops an item already known to be an int, see {@link #isInt(int)}. */
+  int popInt() {
+    return (int) popLong();
+  }
+
+  /** Reads the top item, already known to be an int, see {@link #isInt(int)}. */
+  int peekInt() {
+    return (int) longValue(top - 1);
+  }
+
+  /** Pops an item already known to be an int or a long, see {@link #isIntOrLong(int)}. */
+  long popLong() {
+    if (top == bottom) {
+      throw new NoSuchElementException();
+    }
+    var value = longValue(--top);
+    data[top] = null;
+    return value;
+  }
+
+  void pushInt(int value) {
+    push(value);
+  }
+
+  void pushLong(long value) {
+    push(value);
+  }
+
+  // The stack manipulation below moves slots around rather than popping and
+  // pushing items.  On underflow they leave the stack exactly the way the
+  // pop-based versions would: empty.
+
+  void drop() {
+    require(1);
+    data[--top] = null;
+  }
+
+  void dup() {
+    require(1);
+    ensureRoom();
+    copy(top - 1, top);
+    top++;
+  }
+
+  void over() {
+    require(2);
+    ensureRoom();
+    copy(top - 2, top);
+    top++;
+  }
+
+  void swap() {
+    require(2);
+    ensureRoom();
+    copy(top - 1, top);
+    copy(top - 2, top - 1);
+    copy(top, top - 2);
+    data[top] = null;
+  }
+
+  /** Drops the item below the top, ie SWAP DROP. */
+  void nip() {
+    require(2);
+    copy(top - 1, top - 2);
+    data[--top] = null;
+  }
+
+  void rot() {
+    require(3);
+    ensureRoom();
+    copy(top - 3, top);
+    copy(top - 2, top - 3);
+    copy(top - 1, top - 2);
+    copy(top, top - 1);
+    data[top] = null;
+  }
+
+  int size() {
+    return top - bottom;
+  }
+
+  /** Iterates from the top of the stack to the bottom. */
+  Iterator<Object> iterator() {
+    return new Iterator<>() {
+      private int i = top;
+
+      @Override
+      public boolean hasNext() {
+        return i > bottom;
+      }
+
+      @Override
+      public Object next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return read(--i);
+      }
+    };
+  }
+
+  /** Iterates from the bottom of the stack to the top. */
+  Iterator<Object> descendingIterator() {
+    return new Iterator<>() {
+      private int i = bottom;
+
+      @Override
+      public boolean hasNext() {
+        return i < top;
+      }
+
+      @Override
+      public Object next() {
+        if (!hasNext()) {
+          throw new NoSuchElementException();
+        }
+        return read(i++);
+      }
+    };
+  }
+
+  Object read(int index) {
+    return data[index];
+  }
+
+  void write(int index, Object item) {
+    data[index] = item;
+  }
+
+  void copy(int from, int to) {
+    data[to] = data[from];
+  }
+
+  byte tag(int index) {
+    var item = data[index];
+    return item instanceof Integer ? INT : item instanceof Long ? LONG : REF;
+  }
+
+  long longValue(int index) {
+    return ((Number) data[index]).longValue();
+  }
+
+  /** Moves the items to the start of new arrays of the given capacity. */
+  void relocate(int capacity) {
+    data = relocate(data, new Object[capacity]);
+  }
+
+  <T> T relocate(T from, T to) {
+    System.arraycopy(from, bottom, to, 0, top - bottom);
+    return to;
+  }
+
+  private void require(int count) {
+    if (top - bottom < count) {
+      Arrays.fill(data, bottom, top, null);
+      top = bottom;
+      throw new NoSuchElementException();
+    }
+  }
+
+  void ensureRoom() {
+    if (top == data.length) {
+      makeRoom();
+    }
+  }
+
+  private void makeRoom() {
+    var size = top - bottom;
+    relocate(bottom > data.length / 2 ? data.length : data.length * 2);
+    bottom = 0;
+    top = size;
   }
 }
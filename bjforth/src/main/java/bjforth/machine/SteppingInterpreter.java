@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/** Runs the machine one {@link Machine#step()} at a time. */
+class SteppingInterpreter implements InnerInterpreter {
+
+  private final Machine machine;
+  private final MachineState state;
+
+  SteppingInterpreter(Machine machine, MachineState state) {
+    this.machine = machine;
+    this.state = state;
+  }
+
+  @Override
+  public void run(int haltAddress) {
+    while (state.getInstructionPointer() != haltAddress) {
+      machine.step();
+    }
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.Arrays;
+
+/**
+ * A parameter stack which keeps ints and longs unboxed.
+ *
+ * <p>Next to each slot of {@link Stack#data} there is a tag and a long lane. Ints and longs pushed
+ * by the arithmetic primitives only go into the lane; they are boxed the first time something
+ * reads the slot as an object (eg interop words or .S) and the box is kept in the slot from then
+ * on.
+ */
+class TaggedStack extends Stack {
+
+  private long[] lane;
+  private byte[] tags;
+
+  TaggedStack() {
+    lane = new long[data.length];
+    tags = new byte[data.length];
+  }
+
+  TaggedStack(TaggedStack other) {
+    data = Arrays.copyOfRange(other.data, other.bottom, other.bottom + other.data.length);
+    lane = Arrays.copyOfRange(other.lane, other.bottom, other.bottom + other.lane.length);
+    tags = Arrays.copyOfRange(other.tags, other.bottom, other.bottom + other.tags.length);
+    top = other.top - other.bottom;
+  }
+
+  @Override
+  Stack copy() {
+    return new TaggedStack(this);
+  }
+
+  @Override
+  void pushInt(int value) {
+    ensureRoom();
+    data[top] = null;
+    tags[top] = INT;
+    lane[top++] = value;
+  }
+
+  @Override
+  void pushLong(long value) {
+    ensureRoom();
+    data[top] = null;
+    tags[top] = LONG;
+    lane[top++] = value;
+  }
+
+  @Override
+  Object read(int index) {
+    if (data[index] == null) {
+      if (tags[index] == INT) {
+        data[index] = Integer.valueOf((int) lane[index]);
+      } else if (tags[index] == LONG) {
+        data[index] = Long.valueOf(lane[index]);
+      }
+    }
+    return data[index];
+  }
+
+  @Override
+  void write(int index, Object item) {
+    data[index] = item;
+    if (item instanceof Integer n) {
+      tags[index] = INT;
+      lane[index] = n;
+    } else if (item instanceof Long n) {
+      tags[index] = LONG;
+      lane[index] = n;
+    } else {
+      tags[index] = REF;
+    }
+  }
+
+  @Override
+  void copy(int from, int to) {
+    data[to] = data[from];
+    tags[to] = tags[from];
+    lane[to] = lane[from];
+  }
+
+  @Override
+  byte tag(int index) {
+    return tags[index];
+  }
+
+  @Override
+  long longValue(int index) {
+    return lane[index];
+  }
+
+  @Override
+  void relocate(int capacity) {
+    super.relocate(capacity);
+    lane = relocate(lane, new long[capacity]);
+    tags = relocate(tags, new byte[capacity]);
+  }
+}
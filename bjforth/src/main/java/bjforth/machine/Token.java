@@ -0,0 +1,90 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import java.util.List;
+
+/**
+ * A word read from the input.
+ *
+ * <p>Tokens are interned by {@link TokenCache}, so a word which occurs over and over in the source
+ * is only turned into a String, and folded to the upper case dictionary key, once. A token also
+ * keeps the dictionary items it was last found among, so that finding it again is a check that the
+ * dictionary hasn't changed since, see {@link Dictionary#findVisible(Token)}.
+ */
+public final class Token {
+
+  private final String text;
+  private final String folded;
+
+  /** The hash of the chars folded one by one, see {@link #hash(int, char)}. */
+  final int hash;
+
+  /** The dictionary the token was last looked up in, and its version then. */
+  Dictionary dictionary;
+
+  int version;
+
+  /** The items of the name in the search order of {@link #dictionary} at {@link #version}. */
+  List<DictionaryItem> items;
+
+  Token(String text) {
+    this.text = text;
+    this.folded = Dictionary.fold(text);
+    var hash = 0;
+    for (var i = 0; i < text.length(); i++) {
+      hash = hash(hash, text.charAt(i));
+    }
+    this.hash = hash;
+  }
+
+  /**
+   * The hash of the chars so far and the next one, case-insensitively, so that the spellings of a
+   * name share a bucket of {@link TokenCache}.
+   */
+  static int hash(int hash, char ch) {
+    return 31 * hash + Character.toUpperCase(ch);
+  }
+
+  public String getText() {
+    return text;
+  }
+
+  /** The name as the dictionary keys it. */
+  public String getFolded() {
+    return folded;
+  }
+
+  boolean matches(char[] chars, int offset, int length) {
+    if (text.length() != length) {
+      return false;
+    }
+    for (var i = 0; i < length; i++) {
+      if (text.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public String toString() {
+    return text;
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+/**
+ * Interns the tokens read from the input, keyed by their chars in the input buffer.
+ *
+ * <p>A token which is already interned is found without allocating. The machine has a single cache
+ * for all its sources, so that the words of an included file are found warm.
+ *
+ * <p>The table is bounded and set associative: a token can only be in one of the {@link #WAYS}
+ * slots of the bucket its hash picks. Each slot counts its hits, and a new token replaces the one
+ * with the fewest in a full bucket, taking one off the others so that a token which used to be hot
+ * eventually makes way too. A source full of one-off literals thus keeps replacing the same cold
+ * slots, while the words used over and over stay interned.
+ */
+class TokenCache {
+
+  static final int CAPACITY = 8192;
+
+  static final int WAYS = 4;
+
+  private static final int MAX_HITS = 255;
+
+  private final Token[] slots;
+  private final int[] hits;
+  private final int bucketMask;
+  private int size = 0;
+
+  TokenCache() {
+    this(CAPACITY);
+  }
+
+  /**
+   * @param capacity a power of two, at least {@link #WAYS}
+   */
+  TokenCache(int capacity) {
+    slots = new Token[capacity];
+    hits = new int[capacity];
+    bucketMask = capacity / WAYS - 1;
+  }
+
+  /**
+   * @param hash the {@link Token#hash} of the chars
+   */
+  Token intern(char[] chars, int offset, int length, int hash) {
+    var start = ((hash ^ (hash >>> 16)) & bucketMask) * WAYS;
+    var end = start + WAYS;
+    var victim = start;
+    for (var i = start; i < end; i++) {
+      var token = slots[i];
+      if (token == null) {
+        // A bucket is filled in order and never emptied, so the token isn't in it.
+        victim = i;
+        break;
+      } else if (token.hash == hash && token.matches(chars, offset, length)) {
+        if (hits[i] < MAX_HITS) {
+          hits[i]++;
+        }
+        return token;
+      } else if (hits[i] < hits[victim]) {
+        victim = i;
+      }
+    }
+    var token = new Token(new String(chars, offset, length));
+    if (slots[victim] == null) {
+      size++;
+    } else {
+      for (var i = start; i < end; i++) {
+        if (hits[i] > 0) {
+          hits[i]--;
+        }
+      }
+    }
+    slots[victim] = token;
+    hits[victim] = 0;
+    return token;
+  }
+
+  int size() {
+    return size;
+  }
+}
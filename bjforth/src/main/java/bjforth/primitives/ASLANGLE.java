@@ -0,0 +1,53 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.primitives.lib.ClassCache;
+
+/**
+ * Parses the name of a functional interface for {@link RANGLEAS}, eg {@code AS< Comparator >AS}.
+ *
+ * <p>The interface is compiled as a literal inside a definition, or pushed otherwise.
+ */
+class ASLANGLE implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    var type = ClassCache.forName(machine.readToken().getText());
+    if (machine.getCompilationState() == 1) {
+      var HEREvalue = machine.getHere();
+      machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
+      machine.setMemoryAt(HEREvalue + 1, type);
+      machine.setHere(HEREvalue + 2);
+    } else {
+      machine.pushToParameterStack(type);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "AS<";
+  }
+
+  @Override
+  public Boolean isImmediate() {
+    return true;
+  }
+}
@@ -18,17 +18,17 @@
  */
 package bjforth.primitives;
 
-import static bjforth.primitives.PrimitiveFactory.KEY;
-
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
+import bjforth.primitives.lib.CallSites;
 import bjforth.primitives.lib.ClassCache;
-import bjforth.variables.Variables;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.function.Supplier;
 
-public class ATLANGLE implements Primitive {
+public class ATLANGLE implements Parser {
 
   private HashMap<String, Class<?>> clazzCache = new HashMap<>();
 
@@ -42,13 +42,36 @@ public class ATLANGLE implements Primitive {
     END
   }
 
-  static class MethodDescriptor {
+  static class MethodDescriptor implements ParsedValue {
+
+    /** The text the descriptor was parsed from. */
+    String source = "";
 
     List<Class<?>> parameterTypes = new ArrayList<>();
     Class<?> clazz = null;
     Integer arity = 0;
     Integer varargFromArgumentNo = -1;
 
+    private MethodHandle handle = null;
+
+    /** The constructor, see {@link CallSites}. */
+    MethodHandle getHandle() {
+      if (handle == null) {
+        handle = CallSites.forConstructor(clazz, parameterTypes, arity, varargFromArgumentNo);
+      }
+      return handle;
+    }
+
+    @Override
+    public String getParserName() {
+      return "@<";
+    }
+
+    @Override
+    public String getSource() {
+      return source;
+    }
+
     @Override
     public String toString() {
       return "MethodDescriptor(%s)".formatted(clazz.getSimpleName());
@@ -56,7 +79,8 @@ public class ATLANGLE implements Primitive {
   }
 
   @Override
-  public void execute(Machine machine) {
+  public MethodDescriptor parse(Supplier<Character> input) {
+    var source = new StringBuilder();
     var target = new StringBuilder();
     var name = new StringBuilder();
     var state = State.BEGIN;
@@ -64,30 +88,30 @@ public class ATLANGLE implements Primitive {
     var parameterType = new StringBuilder();
     var arity = new StringBuilder();
     while (!state.equals(State.END)) {
-      KEY().execute(machine);
-      var s = (String) machine.popFromParameterStack();
+      char s = input.get();
+      source.append(s);
       switch (state) {
         case State.BEGIN:
-          if (!" ".equals(s) && !"\t".equals(s)) {
+          if (s != ' ' && s != '\t') {
             state = State.IN_TYPE_NAME;
             target.append(s);
           }
           break;
         case State.IN_TYPE_NAME:
-          if ("(".equals(s)) {
+          if (s == '(') {
             var clazz = ClassCache.forName(target.toString());
             result.clazz = clazz;
             state = State.IN_PARAM_TYPE;
-          } else if (" ".equals(s) || "\t".equals(s)) {
+          } else if (s == ' ' || s == '\t') {
             throw new MachineException("Invalid target class - contains whitespace.");
           } else {
             target.append(s);
           }
           break;
         case State.IN_PARAM_TYPE:
-          if (" ".equals(s) || "\t".equals(s) || "\n".equals(s)) {
+          if (s == ' ' || s == '\t' || s == '\n') {
             // Ignore whitespace
-          } else if (",".equals(s)) {
+          } else if (s == ',') {
             var rawParamType = parameterType.toString();
             if (rawParamType.endsWith("[]")) {
               var paramType = rawParamType.replace("[]", "");
@@ -98,9 +122,9 @@ public class ATLANGLE implements Primitive {
               result.parameterTypes.add(ClassCache.forName(rawParamType));
             }
             parameterType = new StringBuilder();
-          } else if (".".equals(s)) {
+          } else if (s == '.') {
             state = State.IN_MAYBE_VARARG;
-          } else if (")".equals(s)) {
+          } else if (s == ')') {
             var rawParamType = parameterType.toString();
             if (rawParamType.endsWith("[]")) {
               var paramType = rawParamType.replace("[]", "");
@@ -116,7 +140,7 @@ public class ATLANGLE implements Primitive {
           }
           break;
         case State.IN_MAYBE_VARARG:
-          if (".".equals(s)) {
+          if (s == '.') {
             result.parameterTypes.add(ClassCache.forNameVararg(parameterType.toString()));
             state = State.IN_VARARG;
           } else {
@@ -128,16 +152,16 @@ public class ATLANGLE implements Primitive {
         case State.IN_VARARG:
           result.varargFromArgumentNo =
               result.parameterTypes.isEmpty() ? 0 : result.parameterTypes.size() - 1;
-          if (")".equals(s)) {
+          if (s == ')') {
             state = State.IN_ARITY;
-          } else if (".".equals(s)) {
+          } else if (s == '.') {
             // Ignore
           }
           break;
         case State.IN_ARITY:
-          if ("/".equals(s)) {
+          if (s == '/') {
             // Ignore
-          } else if ("\t".equals(s) || " ".equals(s) || "\n".equals(s)) {
+          } else if (s == '\t' || s == ' ' || s == '\n') {
             try {
               result.arity = Integer.valueOf(arity.toString());
             } catch (NumberFormatException e) {
@@ -152,11 +176,21 @@ public class ATLANGLE implements Primitive {
       }
     }
 
-    var HEREaddr = Variables.get("HERE").getAddress();
-    var HEREvalue = (Integer) machine.getMemoryAt(HEREaddr);
-    machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
-    machine.setMemoryAt(HEREvalue + 1, result);
-    machine.setMemoryAt(HEREaddr, (Integer) machine.getMemoryAt(HEREaddr) + 2);
+    result.source = source.toString();
+    return result;
+  }
+
+  @Override
+  public void execute(Machine machine) {
+    var result = parse(machine::readFromInput);
+    if (machine.getCompilationState() == 1) {
+      var HEREvalue = machine.getHere();
+      machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
+      machine.setMemoryAt(HEREvalue + 1, result);
+      machine.setHere(HEREvalue + 2);
+    } else {
+      machine.pushToParameterStack(result);
+    }
   }
 
   @Override
@@ -20,7 +20,6 @@ package bjforth.primitives;
 
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
-import bjforth.variables.Variables;
 import java.util.NoSuchElementException;
 
 public class BASESTORE implements Primitive {
@@ -29,7 +28,7 @@ public class BASESTORE implements Primitive {
     try {
       var newValueObj = machine.popFromParameterStack();
       if (newValueObj instanceof Integer newValue) {
-        machine.setMemoryAt(Variables.get("BASE").getAddress(), newValue);
+        machine.setBase(newValue);
       } else {
         throw new MachineException("Invalid parameter.");
       }
@@ -21,7 +21,6 @@ package bjforth.primitives;
 import static bjforth.primitives.PrimitiveFactory.*;
 
 import bjforth.machine.Machine;
-import bjforth.variables.Variables;
 
 public class COLON implements Primitive {
   @Override
@@ -30,14 +29,14 @@ public class COLON implements Primitive {
     WORD().execute(machine);
     CREATE().execute(machine);
 
-    var LATESTvalue = (Integer) machine.getMemoryAt(Variables.get("LATEST").getAddress());
-    machine.setMemoryAt(LATESTvalue, "DOCOL");
-    machine.setMemoryAt(Variables.get("HERE").getAddress(), LATESTvalue + 1);
+    var LATESTvalue = machine.getLatest();
+    machine.setMemoryAt(LATESTvalue, Machine.DOCOL_CODEWORD);
+    machine.setHere(LATESTvalue + 1);
     machine.pushToParameterStack(LATESTvalue);
     HIDDEN().execute(machine);
     RBRAC().execute(machine);
 
-    machine.setMemoryAt(Variables.get("HERE").getAddress(), LATESTvalue + 1);
+    machine.setHere(LATESTvalue + 1);
   }
 
   @Override
@@ -20,7 +20,6 @@ package bjforth.primitives;
 
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
-import bjforth.variables.Variables;
 import java.util.NoSuchElementException;
 
 public class COMMA implements Primitive {
@@ -28,11 +27,9 @@ public class COMMA implements Primitive {
   public void execute(Machine machine) {
     try {
       var data = machine.popFromParameterStack();
-      var HEREAddr = Variables.get("HERE").getAddress();
-      var HEREValue = (Integer) machine.getMemoryAt(HEREAddr);
+      var HEREValue = machine.getHere();
       machine.setMemoryAt(HEREValue, data);
-      var newHEREValue = HEREValue + 1;
-      machine.setMemoryAt(HEREAddr, newHEREValue);
+      machine.setHere(HEREValue + 1);
     } catch (NoSuchElementException ex) {
       throw new MachineException("ParameterStack error.");
     }
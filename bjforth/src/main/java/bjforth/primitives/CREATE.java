@@ -21,7 +21,6 @@ package bjforth.primitives;
 import bjforth.machine.DictionaryItem;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
-import bjforth.variables.Variables;
 import java.util.NoSuchElementException;
 
 public class CREATE implements Primitive {
@@ -30,9 +29,7 @@ public class CREATE implements Primitive {
   public void execute(Machine machine) {
     try {
       var nameObj = machine.popFromParameterStack();
-      var HEREAddr = Variables.get("HERE").getAddress();
-      var HEREValue = (Integer) machine.getMemoryAt(HEREAddr);
-      var LATESTAddr = Variables.get("LATEST").getAddress();
+      var HEREValue = machine.getHere();
 
       var name = "";
       if (nameObj instanceof String nameStr) {
@@ -42,7 +39,7 @@ public class CREATE implements Primitive {
       } else {
         throw new MachineException("Invalid argument");
       }
-      machine.setMemoryAt(LATESTAddr, HEREValue);
+      machine.setLatest(HEREValue);
       var dictItem = new DictionaryItem(name, HEREValue, false, false);
       machine.createDictionaryItem(name, dictItem);
     } catch (NoSuchElementException ex) {
@@ -31,6 +31,13 @@ class DECR implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOnParameterStack(0)) {
+      machine.pushIntToParameterStack(machine.popIntFromParameterStack() - 1);
+      return;
+    } else if (machine.isIntOrLongOnParameterStack(0)) {
+      machine.pushLongToParameterStack(machine.popLongFromParameterStack() - 1);
+      return;
+    }
     try {
       var element = machine.popFromParameterStack();
       var elementDecred = decr.apply(element);
@@ -31,6 +31,13 @@ class DECR4 implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOnParameterStack(0)) {
+      machine.pushIntToParameterStack(machine.popIntFromParameterStack() - 4);
+      return;
+    } else if (machine.isIntOrLongOnParameterStack(0)) {
+      machine.pushLongToParameterStack(machine.popLongFromParameterStack() - 4);
+      return;
+    }
     try {
       var element = machine.popFromParameterStack();
       var elementDecred = decr.apply(element);
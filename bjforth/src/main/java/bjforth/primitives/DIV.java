@@ -21,6 +21,7 @@ package bjforth.primitives;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
 import bjforth.primitives.lib.AbstractBinaryNumberFunction;
+import bjforth.primitives.lib.NumberUtils;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.math.MathContext;
@@ -66,12 +67,12 @@ class DIV implements Primitive {
 
     @Override
     protected Number apply(Long value1, Long value2) {
-      return value1 / value2;
+      return NumberUtils.divideExact(value1, value2);
     }
 
     @Override
     protected Number apply(Integer value1, Integer value2) {
-      return value1 / value2;
+      return NumberUtils.divideExact(value1, value2);
     }
 
     @Override
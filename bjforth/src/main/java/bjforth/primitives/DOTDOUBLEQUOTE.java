@@ -18,10 +18,7 @@
  */
 package bjforth.primitives;
 
-import static bjforth.primitives.PrimitiveFactory.KEY;
-
 import bjforth.machine.Machine;
-import bjforth.variables.Variables;
 
 public class DOTDOUBLEQUOTE implements Primitive {
 
@@ -38,11 +35,10 @@ public class DOTDOUBLEQUOTE implements Primitive {
     Boolean isEnd = false;
     State state = State.BEGIN;
     while (!state.equals(State.END)) {
-      KEY().execute(machine);
-      var s = (String) machine.popFromParameterStack();
+      var s = machine.readFromInput();
       switch (state) {
         case BEGIN:
-          if ("\"".equals(s)) {
+          if (s == '"') {
             state = State.MAYBE_END;
           } else {
             result.append(s);
@@ -50,7 +46,7 @@ public class DOTDOUBLEQUOTE implements Primitive {
           }
           break;
         case MAYBE_END:
-          if (".".equals(s)) {
+          if (s == '.') {
             state = State.END;
             if (!result.isEmpty()) {
               result.deleteCharAt(result.length() - 1);
@@ -62,7 +58,7 @@ public class DOTDOUBLEQUOTE implements Primitive {
           }
           break;
         case IN_STRING:
-          if ("\"".equals(s)) {
+          if (s == '"') {
             state = State.MAYBE_END;
           } else {
             result.append(s);
@@ -70,14 +66,11 @@ public class DOTDOUBLEQUOTE implements Primitive {
           break;
       }
     }
-    var STATEaddr = Variables.get("STATE").getAddress();
-    var STATEvalue = (Integer) machine.getMemoryAt(STATEaddr);
-    if (STATEvalue == 1) {
-      var HEREaddr = Variables.get("HERE").getAddress();
-      var HEREvalue = (Integer) machine.getMemoryAt(HEREaddr);
+    if (machine.getCompilationState() == 1) {
+      var HEREvalue = machine.getHere();
       machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
       machine.setMemoryAt(HEREvalue + 1, result.toString());
-      machine.setMemoryAt(HEREaddr, (Integer) machine.getMemoryAt(HEREaddr) + 2);
+      machine.setHere(HEREvalue + 2);
     } else {
       machine.pushToParameterStack(result.toString());
     }
@@ -18,16 +18,17 @@
  */
 package bjforth.primitives;
 
-import static bjforth.primitives.PrimitiveFactory.KEY;
-
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
+import bjforth.primitives.lib.CallSites;
 import bjforth.primitives.lib.ClassCache;
-import bjforth.variables.Variables;
+import bjforth.primitives.lib.InlineCache;
+import java.lang.invoke.MethodHandle;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Supplier;
 
-public class DOTLANGLE implements Primitive {
+public class DOTLANGLE implements Parser {
 
   private static enum State {
     BEGIN,
@@ -39,13 +40,43 @@ public class DOTLANGLE implements Primitive {
     END
   }
 
-  static class MethodDescriptor {
+  static class MethodDescriptor implements ParsedValue {
+
+    /** The text the descriptor was parsed from. */
+    String source = "";
 
     String name = "";
     List<Class<?>> parameterTypes = new ArrayList<>();
     Integer arity = 0;
     Integer varargFromArgumentNo = -1;
 
+    /** The methods resolved for the receiver classes seen so far. */
+    private final InlineCache cache = new InlineCache();
+
+    /** The method for any receiver class, once the descriptor has been parsed. */
+    private CallSites.InstanceMethod method;
+
+    /** The method for a receiver of the given class, see {@link CallSites}. */
+    MethodHandle getHandle(Class<?> receiver) {
+      var method = this.method;
+      if (method == null) {
+        // Racing threads make equivalent ones, whose handles come from the same CallSites.
+        method = CallSites.forInstanceMethod(name, parameterTypes, arity, varargFromArgumentNo);
+        this.method = method;
+      }
+      return cache.get(receiver, method);
+    }
+
+    @Override
+    public String getParserName() {
+      return ".<";
+    }
+
+    @Override
+    public String getSource() {
+      return source;
+    }
+
     @Override
     public String toString() {
       return "MethodDescriptor(%s)".formatted(name);
@@ -53,32 +84,33 @@ public class DOTLANGLE implements Primitive {
   }
 
   @Override
-  public void execute(Machine machine) {
+  public MethodDescriptor parse(Supplier<Character> input) {
+    var source = new StringBuilder();
     var name = new StringBuilder();
     var state = State.BEGIN;
     var result = new MethodDescriptor();
     var parameterType = new StringBuilder();
     var arity = new StringBuilder();
     while (!state.equals(State.END)) {
-      KEY().execute(machine);
-      var s = (String) machine.popFromParameterStack();
+      char s = input.get();
+      source.append(s);
       switch (state) {
         case State.BEGIN:
-          if (!" ".equals(s) && !"\t".equals(s)) {
+          if (s != ' ' && s != '\t') {
             state = State.IN_METHOD_NAME;
             name.append(s);
           }
           break;
         case State.IN_METHOD_NAME:
-          if ("(".equals(s)) {
+          if (s == '(') {
             state = State.IN_PARAM_TYPE;
-          } else if (!" ".equals(s) && !"\t".equals(s)) {
+          } else if (s != ' ' && s != '\t') {
             name.append(s);
             result.name = name.toString();
           }
           break;
         case State.IN_PARAM_TYPE:
-          if (")".equals(s)) {
+          if (s == ')') {
             var rawParamType = parameterType.toString();
             if (rawParamType.endsWith("[]")) {
               var paramType = rawParamType.replace("[]", "");
@@ -89,9 +121,9 @@ public class DOTLANGLE implements Primitive {
               result.parameterTypes.add(ClassCache.forName(rawParamType));
             }
             state = State.IN_ARITY;
-          } else if (" ".equals(s) || "\t".equals(s) || "\n".equals(s)) {
+          } else if (s == ' ' || s == '\t' || s == '\n') {
             // Ignore whitespace
-          } else if (",".equals(s)) {
+          } else if (s == ',') {
             var rawParamType = parameterType.toString();
             if (rawParamType.endsWith("[]")) {
               var paramType = rawParamType.replace("[]", "");
@@ -100,14 +132,14 @@ public class DOTLANGLE implements Primitive {
               result.parameterTypes.add(ClassCache.forName(rawParamType));
             }
             parameterType = new StringBuilder();
-          } else if (".".equals(s)) {
+          } else if (s == '.') {
             state = State.IN_MAYBE_VARARG;
           } else {
             parameterType.append(s);
           }
           break;
         case State.IN_MAYBE_VARARG:
-          if (".".equals(s)) {
+          if (s == '.') {
             result.parameterTypes.add(ClassCache.forNameVararg(parameterType.toString()));
             state = State.IN_VARARG;
           } else {
@@ -119,16 +151,16 @@ public class DOTLANGLE implements Primitive {
         case State.IN_VARARG:
           result.varargFromArgumentNo =
               result.parameterTypes.isEmpty() ? 0 : result.parameterTypes.size() - 1;
-          if (")".equals(s)) {
+          if (s == ')') {
             state = State.IN_ARITY;
-          } else if (".".equals(s)) {
+          } else if (s == '.') {
             // Ingore
           }
           break;
         case State.IN_ARITY:
-          if ("/".equals(s)) {
+          if (s == '/') {
             // Ignore
-          } else if ("\t".equals(s) || " ".equals(s) || "\n".equals(s)) {
+          } else if (s == '\t' || s == ' ' || s == '\n') {
             try {
               result.arity = Integer.valueOf(arity.toString());
             } catch (NumberFormatException e) {
@@ -144,11 +176,21 @@ public class DOTLANGLE implements Primitive {
       }
     }
 
-    var HEREaddr = Variables.get("HERE").getAddress();
-    var HEREvalue = (Integer) machine.getMemoryAt(HEREaddr);
-    machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
-    machine.setMemoryAt(HEREvalue + 1, result);
-    machine.setMemoryAt(HEREaddr, (Integer) machine.getMemoryAt(HEREaddr) + 2);
+    result.source = source.toString();
+    return result;
+  }
+
+  @Override
+  public void execute(Machine machine) {
+    var result = parse(machine::readFromInput);
+    if (machine.getCompilationState() == 1) {
+      var HEREvalue = machine.getHere();
+      machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
+      machine.setMemoryAt(HEREvalue + 1, result);
+      machine.setHere(HEREvalue + 2);
+    } else {
+      machine.pushToParameterStack(result);
+    }
   }
 
   @Override
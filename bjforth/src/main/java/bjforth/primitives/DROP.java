@@ -27,7 +27,7 @@ class DROP implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      machine.popFromParameterStack();
+      machine.dropParameterStack();
     } catch (NoSuchElementException ex) {
       throw new MachineException("ParameterStack is already empty.");
     }
@@ -27,9 +27,7 @@ class DUP implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var p = machine.popFromParameterStack();
-      machine.pushToParameterStack(p);
-      machine.pushToParameterStack(p);
+      machine.dupParameterStack();
     } catch (NoSuchElementException ex) {
       throw new MachineException("ParameterStack error.");
     }
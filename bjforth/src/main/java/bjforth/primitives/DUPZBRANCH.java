@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.primitives.PrimitiveFactory.*;
+
+import bjforth.machine.Machine;
+
+class DUPZBRANCH extends Superinstruction {
+
+  DUPZBRANCH() {
+    super(DUP(), ZBRANCH());
+  }
+
+  /** The flag is left on the stack rather than duplicated and popped. */
+  @Override
+  public void execute(Machine machine) {
+    if (machine.isIntOnParameterStack(0)) {
+      var offsetAddress = machine.getNextInstructionPointer() + 1;
+      if (machine.peekIntFromParameterStack() == 0) {
+        machine.setNextInstructionPointer(
+            offsetAddress + (Integer) machine.getMemoryAt(offsetAddress));
+      } else {
+        machine.setNextInstructionPointer(offsetAddress + 1);
+      }
+    } else {
+      super.execute(machine);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "DUP0BRANCH";
+  }
+}
@@ -26,6 +26,13 @@ class EQU implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOrLongOnParameterStack(0) && machine.isIntOrLongOnParameterStack(1)) {
+      var sameType = machine.isIntOnParameterStack(0) == machine.isIntOnParameterStack(1);
+      var element1 = machine.popLongFromParameterStack();
+      var element2 = machine.popLongFromParameterStack();
+      machine.pushIntToParameterStack(sameType && element1 == element2 ? 1 : 0);
+      return;
+    }
     try {
       var element1 = machine.popFromParameterStack();
       var element2 = machine.popFromParameterStack();
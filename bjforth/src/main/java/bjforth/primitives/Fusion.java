@@ -0,0 +1,139 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.config.Options;
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.Machine;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * The peephole pass which rewrites sequences of primitives in a definition into {@link
+ * Superinstruction}s.
+ *
+ * <p>The fusion table is every superinstruction in {@link PrimitiveFactory}, narrowed down by the
+ * {@code fusions} startup option.
+ */
+class Fusion {
+
+  /**
+   * Rewrites the threaded code in the given range.
+   *
+   * @return the number of sequences fused
+   */
+  static int fuse(Machine machine, int from, int to) {
+    var table = getTable();
+    var fused = 0;
+    var address = from;
+    while (address < to) {
+      var length = 0;
+      for (var superinstruction : table) {
+        length = match(machine, superinstruction, address, to);
+        if (length > 0) {
+          var superinstructionAddress = getAddress(machine, superinstruction);
+          if (superinstructionAddress.isPresent()) {
+            machine.setMemoryAt(address, superinstructionAddress.get());
+            fused++;
+            break;
+          }
+          length = 0;
+        }
+      }
+      address += length > 0 ? length : getLength(getPrimitive(machine, address));
+    }
+    return fused;
+  }
+
+  /** The number of superinstructions in the threaded code in the given range. */
+  static int count(Machine machine, int from, int to) {
+    var count = 0;
+    var address = from;
+    while (address < to) {
+      var primitive = getPrimitive(machine, address);
+      if (primitive instanceof Superinstruction superinstruction) {
+        count++;
+        address += getLength(superinstruction);
+      } else {
+        address += getLength(primitive);
+      }
+    }
+    return count;
+  }
+
+  /** The number of cells a superinstruction, or any other primitive, spans in threaded code. */
+  static int getLength(Primitive primitive) {
+    if (primitive instanceof Superinstruction superinstruction) {
+      return superinstruction.getParts().stream().mapToInt(Fusion::getLength).sum();
+    } else {
+      return hasOperand(primitive) ? 2 : 1;
+    }
+  }
+
+  /** The primitive the cell at the given address points to, if any. */
+  static Primitive getPrimitive(Machine machine, int address) {
+    if (machine.getMemoryAt(address) instanceof Integer target
+        && machine.getMemoryAt(target) instanceof Primitive primitive) {
+      return primitive;
+    } else {
+      return null;
+    }
+  }
+
+  static boolean hasOperand(Primitive primitive) {
+    return primitive instanceof LIT
+        || primitive instanceof BRANCH
+        || primitive instanceof ZBRANCH
+        || primitive instanceof LITSTRING
+        || primitive instanceof TICK;
+  }
+
+  private static List<Superinstruction> getTable() {
+    var fusions = Options.fusions();
+    var names = Arrays.asList(fusions.split(","));
+    return PrimitiveFactory.getSuperinstructions().stream()
+        .filter(s -> Options.FUSIONS_ALL.equals(fusions) || names.contains(s.getName()))
+        .toList();
+  }
+
+  /** @return the number of cells the sequence spans if it starts at the given address, or 0 */
+  private static int match(Machine machine, Superinstruction superinstruction, int from, int to) {
+    var address = from;
+    for (var part : superinstruction.getParts()) {
+      var primitive = getPrimitive(machine, address);
+      if (address >= to || primitive == null || primitive.getClass() != part.getClass()) {
+        return 0;
+      }
+      address += getLength(part);
+    }
+    return address <= to ? address - from : 0;
+  }
+
+  private static Optional<Integer> getAddress(Machine machine, Superinstruction superinstruction) {
+    return machine
+        .getDictionaryItems(superinstruction.getName())
+        .flatMap(
+            items ->
+                items.stream()
+                    .filter(item -> machine.getMemoryAt(item.getAddress()) == superinstruction)
+                    .findFirst())
+        .map(DictionaryItem::getAddress);
+  }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+
+class GETORDER implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    var order = machine.getSearchOrder();
+    for (var i = order.length - 1; i >= 0; i--) {
+      machine.pushToParameterStack(order[i]);
+    }
+    machine.pushToParameterStack(order.length);
+  }
+
+  @Override
+  public String getName() {
+    return "GET-ORDER";
+  }
+}
@@ -20,14 +20,11 @@ package bjforth.primitives;
 
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
-import bjforth.variables.Variables;
 
 public class IMMEDIATE implements Primitive {
   @Override
   public void execute(Machine machine) {
-    var LATESTAddr = Variables.get("LATEST").getAddress();
-    var LATESTValue = (Integer) machine.getMemoryAt(LATESTAddr);
-    var maybeDictItem = machine.getDictionaryItem(LATESTValue);
+    var maybeDictItem = machine.getDictionaryItem(machine.getLatest());
     if (maybeDictItem.isPresent()) {
       var dictItem = maybeDictItem.get();
       dictItem.setIsImmediate(!dictItem.getIsImmediate());
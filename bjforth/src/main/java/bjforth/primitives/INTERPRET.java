@@ -19,62 +19,51 @@
 package bjforth.primitives;
 
 import static bjforth.config.Constants.*;
-import static bjforth.primitives.PrimitiveFactory.FIND;
-import static bjforth.primitives.PrimitiveFactory.WORD;
 import static com.diogonunes.jcolor.Ansi.colorize;
 
 import bjforth.machine.Machine;
-import bjforth.machine.MachineException;
-import bjforth.variables.Variables;
+import bjforth.primitives.lib.NumberParser;
 
 public class INTERPRET implements Primitive {
   @Override
   public void execute(Machine machine) {
-    var STATE = (Integer) machine.getMemoryAt(Variables.get("STATE").getAddress());
-    var HEREaddr = Variables.get("HERE").getAddress();
-    var HEREvalue = (Integer) machine.getMemoryAt(HEREaddr);
+    var STATE = machine.getCompilationState();
+    var HEREvalue = machine.getHere();
 
-    WORD().execute(machine);
-    var obj = machine.peekIntoParameterStack();
-    try {
-      FIND().execute(machine);
-      var dictItem = machine.getDictionaryItem((Integer) machine.popFromParameterStack()).get();
+    var token = machine.readToken();
+    var obj = token.getText();
+    var maybeDictItem = machine.findDictionaryItem(token);
+    if (maybeDictItem.isPresent()) {
+      var dictItem = maybeDictItem.get();
       if (STATE == 0 || dictItem.getIsImmediate()) {
         machine.jumpTo(dictItem.getAddress());
       } else {
         machine.setMemoryAt(HEREvalue, dictItem.getAddress());
-        machine.setMemoryAt(HEREaddr, (Integer) machine.getMemoryAt(HEREaddr) + 1);
+        machine.setHere(HEREvalue + 1);
       }
-    } catch (MachineException _ex) { // Not in dictionary. Check if it's a number.
-      machine.pushToParameterStack(obj);
-      try {
-        PrimitiveFactory.NUMBER().execute(machine);
-        var numberStatus = (Integer) machine.popFromParameterStack();
-        if (numberStatus != 0) {
-          machine.popFromParameterStack();
-          throw new MachineException("Invalid number.");
-        }
-        var number = (Number) machine.popFromParameterStack();
+    } else { // Not in dictionary. Check if it's a number.
+      var number = NumberParser.parse(obj, machine.getBase());
+      if (number != null) {
         if (STATE == 1) { // Compiling mode
           machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
           machine.setMemoryAt(HEREvalue + 1, number);
-          machine.setMemoryAt(HEREaddr, (Integer) machine.getMemoryAt(HEREaddr) + 2);
+          machine.setHere(HEREvalue + 2);
         } else { // Immediate mode
           machine.pushToParameterStack(number);
         }
-      } catch (MachineException __ex) { // Not a number. Exit with error.
+      } else { // Not a number. Exit with error.
         System.out.print(
             colorize(
                 "%s Pushing unknown word or invalid number onto stack: %s"
-                    .formatted(WARN_EMOJI, obj.toString()),
+                    .formatted(WARN_EMOJI, obj),
                 FOREGROUND_COLOR,
                 BACKGROUND_COLOR));
         if (STATE == 1) { // Compiling mode
           machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("LIT").get().getAddress());
           machine.setMemoryAt(HEREvalue + 1, obj);
-          machine.setMemoryAt(HEREaddr, (Integer) machine.getMemoryAt(HEREaddr) + 2);
+          machine.setHere(HEREvalue + 2);
         } else { // Immediate mode
-          machine.pushToParameterStack(obj.toString());
+          machine.pushToParameterStack(obj);
         }
       }
     }
@@ -18,33 +18,12 @@
  */
 package bjforth.primitives;
 
-import bjforth.machine.GracefulShutdown;
 import bjforth.machine.Machine;
-import bjforth.machine.MachineException;
-import java.io.IOException;
-import java.io.InputStreamReader;
 
 class KEY implements Primitive {
 
-  private InputStreamReader reader = null;
-
-  private synchronized InputStreamReader getReader() {
-    if (reader == null) {
-      reader = new InputStreamReader(System.in);
-    }
-    return reader;
-  }
-
   @Override
   public void execute(Machine machine) {
-    try {
-      var ch = getReader().read();
-      if (ch == -1) {
-        throw new GracefulShutdown();
-      }
-      machine.pushToParameterStack(String.valueOf((char) ch));
-    } catch (IOException e) {
-      throw new MachineException(e);
-    }
+    machine.pushToParameterStack(String.valueOf(machine.readFromInput()));
   }
 }
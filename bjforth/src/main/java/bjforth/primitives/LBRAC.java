@@ -19,13 +19,11 @@
 package bjforth.primitives;
 
 import bjforth.machine.Machine;
-import bjforth.variables.Variables;
 
 public class LBRAC implements Primitive {
   @Override
   public void execute(Machine machine) {
-    var STATEAddr = Variables.get("STATE").getAddress();
-    machine.setMemoryAt(STATEAddr, 0);
+    machine.setCompilationState(0);
   }
 
   @Override
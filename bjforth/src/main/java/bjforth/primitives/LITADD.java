@@ -0,0 +1,51 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.primitives.PrimitiveFactory.*;
+
+import bjforth.machine.Machine;
+
+class LITADD extends Superinstruction {
+
+  LITADD() {
+    super(LIT(), ADD());
+  }
+
+  @Override
+  public void execute(Machine machine) {
+    var nip = machine.getNextInstructionPointer();
+    if (machine.getMemoryAt(nip) instanceof Integer literal && machine.isIntOnParameterStack(0)) {
+      var sum = (long) machine.popIntFromParameterStack() + literal;
+      if (sum == (int) sum) {
+        machine.pushIntToParameterStack((int) sum);
+      } else { // Overflow
+        machine.pushLongToParameterStack(sum);
+      }
+      machine.setNextInstructionPointer(nip + 2);
+    } else {
+      super.execute(machine);
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "LIT+";
+  }
+}
@@ -30,6 +30,12 @@ class LTE implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOrLongOnParameterStack(0) && machine.isIntOrLongOnParameterStack(1)) {
+      var element1 = machine.popLongFromParameterStack();
+      var element2 = machine.popLongFromParameterStack();
+      machine.pushIntToParameterStack(element1 <= element2 ? 1 : 0);
+      return;
+    }
     try {
       var element1 = machine.popFromParameterStack();
       var element2 = machine.popFromParameterStack();
@@ -55,6 +61,8 @@ class LTE implements Primitive {
         return n.compareTo(BigInteger.valueOf(((Number) obj2).longValue())) < 1;
       } else if (isConvertibleToBigInteger(obj1) && obj2 instanceof BigInteger m) {
         return BigInteger.valueOf(((Number) obj1).longValue()).compareTo(m) < 1;
+      } else if (isConvertibleToBigInteger(obj1) && isConvertibleToBigInteger(obj2)) {
+        return ((Number) obj1).longValue() <= ((Number) obj2).longValue();
       } else if (obj1 instanceof Number n && obj2 instanceof Number m) {
         return ((Number) n).doubleValue() <= ((Number) m).doubleValue();
       } else {
@@ -21,6 +21,7 @@ package bjforth.primitives;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
 import bjforth.primitives.lib.AbstractBinaryNumberFunction;
+import bjforth.primitives.lib.NumberUtils;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.NoSuchElementException;
@@ -31,6 +32,25 @@ class MUL implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOnParameterStack(0) && machine.isIntOnParameterStack(1)) {
+      var element1 = machine.popIntFromParameterStack();
+      var element2 = machine.popIntFromParameterStack();
+      try {
+        machine.pushIntToParameterStack(Math.multiplyExact(element1, element2));
+      } catch (ArithmeticException ex) { // Overflow
+        machine.pushLongToParameterStack((long) element1 * element2);
+      }
+      return;
+    } else if (machine.isIntOrLongOnParameterStack(0) && machine.isIntOrLongOnParameterStack(1)) {
+      var element1 = machine.popLongFromParameterStack();
+      var element2 = machine.popLongFromParameterStack();
+      try {
+        machine.pushLongToParameterStack(Math.multiplyExact(element1, element2));
+      } catch (ArithmeticException ex) { // Overflow
+        machine.pushToParameterStack(NumberUtils.multiplyExact(element1, element2));
+      }
+      return;
+    }
     try {
       var element1 = machine.popFromParameterStack();
       var element2 = machine.popFromParameterStack();
@@ -65,12 +85,12 @@ class MUL implements Primitive {
 
     @Override
     protected Number apply(Long value1, Long value2) {
-      return value1 * value2;
+      return NumberUtils.multiplyExact(value1, value2);
     }
 
     @Override
     protected Number apply(Integer value1, Integer value2) {
-      return value1 * value2;
+      return NumberUtils.multiplyExact(value1, value2);
     }
 
     @Override
@@ -20,11 +20,8 @@ package bjforth.primitives;
 
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
-import bjforth.variables.Variables;
-import java.math.BigDecimal;
-import java.math.BigInteger;
+import bjforth.primitives.lib.NumberParser;
 import java.util.NoSuchElementException;
-import java.util.Objects;
 
 class NUMBER implements Primitive {
 
@@ -33,13 +30,7 @@ class NUMBER implements Primitive {
     try {
       var strObject = machine.popFromParameterStack();
       if (strObject instanceof String s) {
-        var base = (Integer) machine.getMemoryAt(Variables.get("BASE").getAddress());
-        Number number;
-        try {
-          number = StringToNumber.valueOf(s, base);
-        } catch (NumberFormatException ex) {
-          number = null;
-        }
+        var number = NumberParser.parse(s, machine.getBase());
         var status = number == null ? -1 : 0;
         machine.pushToParameterStack(number);
         machine.pushToParameterStack(status);
@@ -50,36 +41,4 @@ class NUMBER implements Primitive {
       throw new MachineException("ParameterStack error.");
     }
   }
-
-  private static class StringToNumber {
-
-    static Number valueOf(String s, int base) {
-      if (s == null || s.isEmpty()) {
-        return null;
-      }
-      if (base != 10) {
-        return toInteger(s, base);
-      } else {
-        Number result = null;
-        result = toInteger(s, 10);
-        return Objects.requireNonNullElseGet(result, () -> new BigDecimal(s));
-      }
-    }
-
-    private static Number toInteger(String s, int base) {
-      try {
-        return Integer.valueOf(s, base);
-      } catch (NumberFormatException ignore1) {
-      }
-      try {
-        return Long.valueOf(s, base);
-      } catch (NumberFormatException ignore2) {
-      }
-      try {
-        return new BigInteger(s, base);
-      } catch (NumberFormatException ignore3) {
-      }
-      return null;
-    }
-  }
 }
@@ -27,11 +27,7 @@ class OVER implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var first = machine.popFromParameterStack();
-      var second = machine.popFromParameterStack();
-      machine.pushToParameterStack(second);
-      machine.pushToParameterStack(first);
-      machine.pushToParameterStack(second);
+      machine.overParameterStack();
     } catch (NoSuchElementException ex) {
       throw new MachineException("ParameterStack error.");
     }
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import java.util.function.Supplier;
+
+/**
+ * A primitive which parses the input into a value for the threaded code, eg the descriptor of a
+ * Java method; so that the value can be parsed again from its source, eg when loading an image.
+ */
+interface Parser extends Primitive {
+
+  /** Parses the value, consuming the input up to and including the char which ends it. */
+  ParsedValue parse(Supplier<Character> input);
+}
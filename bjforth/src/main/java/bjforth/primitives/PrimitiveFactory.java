@@ -18,270 +18,373 @@
  */
 package bjforth.primitives;
 
+import bjforth.machine.MachineException;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.function.Supplier;
 
+/**
+ * The registry of all the primitives.
+ *
+ * <p>Every primitive is created once, when this class is initialised, and is identified by its
+ * index in {@link #getPrimitiveContainers()}, which is also its offset from the first primitive in
+ * memory. The primitives which other primitives call directly have a static accessor each.
+ */
 public class PrimitiveFactory {
 
-  private static PrimitiveContainer containerADD = new PrimitiveContainer(ADD::new);
+  private static final PrimitiveContainer containerADD = new PrimitiveContainer(ADD::new);
+
+  static Primitive ADD() {
+    return containerADD.get();
+  }
+
+  private static final PrimitiveContainer containerADDSTORE = new PrimitiveContainer(ADDSTORE::new);
+
+  private static final PrimitiveContainer containerALSO = new PrimitiveContainer(ALSO::new);
 
-  private static PrimitiveContainer containerADDSTORE = new PrimitiveContainer(ADDSTORE::new);
+  private static final PrimitiveContainer containerAND = new PrimitiveContainer(AND::new);
 
-  private static PrimitiveContainer containerAND = new PrimitiveContainer(AND::new);
+  private static final PrimitiveContainer containerASLANGLE = new PrimitiveContainer(ASLANGLE::new);
 
-  private static PrimitiveContainer containerATLANGLE = new PrimitiveContainer(ATLANGLE::new);
+  private static final PrimitiveContainer containerATLANGLE = new PrimitiveContainer(ATLANGLE::new);
 
-  private static PrimitiveContainer containerBASE = new PrimitiveContainer(BASE::new);
+  private static final PrimitiveContainer containerBASE = new PrimitiveContainer(BASE::new);
 
-  private static PrimitiveContainer containerBASESTORE = new PrimitiveContainer(BASESTORE::new);
+  private static final PrimitiveContainer containerBASESTORE =
+      new PrimitiveContainer(BASESTORE::new);
 
-  private static PrimitiveContainer containerBRANCH = new PrimitiveContainer(BRANCH::new);
+  private static final PrimitiveContainer containerBRANCH = new PrimitiveContainer(BRANCH::new);
 
-  private static PrimitiveContainer containerBYE = new PrimitiveContainer(BYE::new);
+  private static final PrimitiveContainer containerBYE = new PrimitiveContainer(BYE::new);
 
-  private static PrimitiveContainer containerCFA = new PrimitiveContainer(CFA::new);
+  private static final PrimitiveContainer containerCFA = new PrimitiveContainer(CFA::new);
 
-  private static PrimitiveContainer containerCHAR = new PrimitiveContainer(CHAR::new);
+  private static final PrimitiveContainer containerCHAR = new PrimitiveContainer(CHAR::new);
 
-  private static PrimitiveContainer containerCOLON = new PrimitiveContainer(COLON::new);
+  private static final PrimitiveContainer containerCOLON = new PrimitiveContainer(COLON::new);
 
-  private static PrimitiveContainer containerCOPY = new PrimitiveContainer(COPY::new);
+  private static final PrimitiveContainer containerCOPY = new PrimitiveContainer(COPY::new);
 
-  private static PrimitiveContainer containerCREATE = new PrimitiveContainer(CREATE::new);
+  private static final PrimitiveContainer containerCREATE = new PrimitiveContainer(CREATE::new);
 
   static Primitive CREATE() {
     return containerCREATE.get();
   }
 
-  private static PrimitiveContainer containerCOMMA = new PrimitiveContainer(COMMA::new);
+  private static final PrimitiveContainer containerCOMMA = new PrimitiveContainer(COMMA::new);
+
+  private static final PrimitiveContainer containerCOMMALANGLE =
+      new PrimitiveContainer(COMMALANGLE::new);
+
+  private static final PrimitiveContainer containerDECR = new PrimitiveContainer(DECR::new);
 
-  private static PrimitiveContainer containerCOMMALANGLE = new PrimitiveContainer(COMMALANGLE::new);
+  private static final PrimitiveContainer containerDECR4 = new PrimitiveContainer(DECR4::new);
 
-  private static PrimitiveContainer containerDECR = new PrimitiveContainer(DECR::new);
+  private static final PrimitiveContainer containerDEFINITIONS =
+      new PrimitiveContainer(DEFINITIONS::new);
 
-  private static PrimitiveContainer containerDECR4 = new PrimitiveContainer(DECR4::new);
+  private static final PrimitiveContainer containerDFA = new PrimitiveContainer(DFA::new);
 
-  private static PrimitiveContainer containerDFA = new PrimitiveContainer(DFA::new);
+  private static final PrimitiveContainer containerDIV = new PrimitiveContainer(DIV::new);
 
-  private static PrimitiveContainer containerDIV = new PrimitiveContainer(DIV::new);
+  private static final PrimitiveContainer containerDOCOL = new PrimitiveContainer(DOCOL::new);
 
-  private static PrimitiveContainer containerDOTDOUBLEQUOTE =
+  private static final PrimitiveContainer containerDOTDOUBLEQUOTE =
       new PrimitiveContainer(DOTDOUBLEQUOTE::new);
 
-  private static PrimitiveContainer containerDOTLANGLE = new PrimitiveContainer(DOTLANGLE::new);
+  private static final PrimitiveContainer containerDOTLANGLE =
+      new PrimitiveContainer(DOTLANGLE::new);
 
-  private static PrimitiveContainer containerDOTSTACK = new PrimitiveContainer(DOTSTACK::new);
+  private static final PrimitiveContainer containerDOTSTACK = new PrimitiveContainer(DOTSTACK::new);
 
-  private static PrimitiveContainer containerDROP = new PrimitiveContainer(DROP::new);
+  private static final PrimitiveContainer containerDROP = new PrimitiveContainer(DROP::new);
 
   static Primitive DROP() {
     return containerDROP.get();
   }
 
-  private static PrimitiveContainer containerDSPFETCH = new PrimitiveContainer(DSPFETCH::new);
+  private static final PrimitiveContainer containerDSPFETCH = new PrimitiveContainer(DSPFETCH::new);
 
-  private static PrimitiveContainer containerDSPFETCHFETCH =
+  private static final PrimitiveContainer containerDSPFETCHFETCH =
       new PrimitiveContainer(DSPFETCHFETCH::new);
 
-  private static PrimitiveContainer containerDSPSTORE = new PrimitiveContainer(DSPSTORE::new);
+  private static final PrimitiveContainer containerDSPSTORE = new PrimitiveContainer(DSPSTORE::new);
 
-  private static PrimitiveContainer containerDUMP = new PrimitiveContainer(DUMP::new);
+  private static final PrimitiveContainer containerDUMP = new PrimitiveContainer(DUMP::new);
 
-  private static PrimitiveContainer containerDUP = new PrimitiveContainer(DUP::new);
+  private static final PrimitiveContainer containerDUP = new PrimitiveContainer(DUP::new);
 
-  private static PrimitiveContainer containerEMIT = new PrimitiveContainer(EMIT::new);
+  static Primitive DUP() {
+    return containerDUP.get();
+  }
+
+  private static final PrimitiveContainer containerDUPZBRANCH =
+      new PrimitiveContainer(DUPZBRANCH::new);
 
-  private static PrimitiveContainer containerEQU = new PrimitiveContainer(EQU::new);
+  private static final PrimitiveContainer containerEMIT = new PrimitiveContainer(EMIT::new);
 
-  private static PrimitiveContainer containerEXECUTE = new PrimitiveContainer(EXECUTE::new);
+  private static final PrimitiveContainer containerEQU = new PrimitiveContainer(EQU::new);
+
+  static Primitive EQU() {
+    return containerEQU.get();
+  }
 
-  private static PrimitiveContainer containerEXIT = new PrimitiveContainer(EXIT::new);
+  private static final PrimitiveContainer containerEXECUTE = new PrimitiveContainer(EXECUTE::new);
+
+  private static final PrimitiveContainer containerEXIT = new PrimitiveContainer(EXIT::new);
 
   static Primitive EXIT() {
     return containerEXIT.get();
   }
 
-  private static PrimitiveContainer containerFETCH = new PrimitiveContainer(FETCH::new);
+  private static final PrimitiveContainer containerFETCH = new PrimitiveContainer(FETCH::new);
 
-  private static PrimitiveContainer containerFIND = new PrimitiveContainer(FIND::new);
+  private static final PrimitiveContainer containerFIND = new PrimitiveContainer(FIND::new);
 
   static Primitive FIND() {
     return containerFIND.get();
   }
 
-  private static PrimitiveContainer containerFORGET = new PrimitiveContainer(FORGET::new);
+  private static final PrimitiveContainer containerFORGET = new PrimitiveContainer(FORGET::new);
+
+  private static final PrimitiveContainer containerFORTHWORDLIST =
+      new PrimitiveContainer(FORTHWORDLIST::new);
+
+  private static final PrimitiveContainer containerFROMR = new PrimitiveContainer(FROMR::new);
 
-  private static PrimitiveContainer containerFROMR = new PrimitiveContainer(FROMR::new);
+  private static final PrimitiveContainer containerGE = new PrimitiveContainer(GE::new);
 
-  private static PrimitiveContainer containerGE = new PrimitiveContainer(GE::new);
+  private static final PrimitiveContainer containerGETCURRENT =
+      new PrimitiveContainer(GETCURRENT::new);
 
-  private static PrimitiveContainer containerGT = new PrimitiveContainer(GT::new);
+  private static final PrimitiveContainer containerGETORDER = new PrimitiveContainer(GETORDER::new);
 
-  private static PrimitiveContainer containerHERE = new PrimitiveContainer(HERE::new);
+  private static final PrimitiveContainer containerGT = new PrimitiveContainer(GT::new);
+
+  private static final PrimitiveContainer containerHERE = new PrimitiveContainer(HERE::new);
 
   static Primitive HERE() {
     return containerHERE.get();
   }
 
-  private static PrimitiveContainer containerHIDDEN = new PrimitiveContainer(HIDDEN::new);
+  private static final PrimitiveContainer containerHIDDEN = new PrimitiveContainer(HIDDEN::new);
 
   static Primitive HIDDEN() {
     return containerHIDDEN.get();
   }
 
-  private static PrimitiveContainer containerHIDE = new PrimitiveContainer(HIDE::new);
+  private static final PrimitiveContainer containerHIDE = new PrimitiveContainer(HIDE::new);
 
-  private static PrimitiveContainer containerIDDOT = new PrimitiveContainer(IDDOT::new);
+  private static final PrimitiveContainer containerIDDOT = new PrimitiveContainer(IDDOT::new);
 
-  private static PrimitiveContainer containerIMMEDIATE = new PrimitiveContainer(IMMEDIATE::new);
+  private static final PrimitiveContainer containerIMMEDIATE =
+      new PrimitiveContainer(IMMEDIATE::new);
 
   static Primitive IMMEDIATE() {
     return containerIMMEDIATE.get();
   }
 
-  private static PrimitiveContainer containerINTERPRET = new PrimitiveContainer(INTERPRET::new);
+  private static final PrimitiveContainer containerIMPORT = new PrimitiveContainer(IMPORT::new);
+
+  private static final PrimitiveContainer containerINTERPRET =
+      new PrimitiveContainer(INTERPRET::new);
+
+  private static final PrimitiveContainer containerINCLUDE = new PrimitiveContainer(INCLUDE::new);
+
+  private static final PrimitiveContainer containerINCLUDED =
+      new PrimitiveContainer(INCLUDED::new);
 
-  private static PrimitiveContainer containerINCR = new PrimitiveContainer(INCR::new);
+  private static final PrimitiveContainer containerINCR = new PrimitiveContainer(INCR::new);
 
-  private static PrimitiveContainer containerINCR4 = new PrimitiveContainer(INCR4::new);
+  private static final PrimitiveContainer containerINCR4 = new PrimitiveContainer(INCR4::new);
 
-  private static PrimitiveContainer containerKEY = new PrimitiveContainer(KEY::new);
+  private static final PrimitiveContainer containerKEY = new PrimitiveContainer(KEY::new);
 
   static Primitive KEY() {
     return containerKEY.get();
   }
 
-  private static PrimitiveContainer containerLATEST = new PrimitiveContainer(LATEST::new);
+  private static final PrimitiveContainer containerLATEST = new PrimitiveContainer(LATEST::new);
 
-  private static PrimitiveContainer containerLBRAC = new PrimitiveContainer(LBRAC::new);
+  private static final PrimitiveContainer containerLBRAC = new PrimitiveContainer(LBRAC::new);
 
   static Primitive LBRAC() {
     return containerLBRAC.get();
   }
 
-  private static PrimitiveContainer containerLIT = new PrimitiveContainer(LIT::new);
+  private static final PrimitiveContainer containerLIT = new PrimitiveContainer(LIT::new);
+
+  static Primitive LIT() {
+    return containerLIT.get();
+  }
+
+  private static final PrimitiveContainer containerLITADD = new PrimitiveContainer(LITADD::new);
 
-  private static PrimitiveContainer containerLITSTRING = new PrimitiveContainer(LITSTRING::new);
+  private static final PrimitiveContainer containerLITSTRING =
+      new PrimitiveContainer(LITSTRING::new);
 
-  private static PrimitiveContainer containerLT = new PrimitiveContainer(LT::new);
+  private static final PrimitiveContainer containerLOADIMAGE =
+      new PrimitiveContainer(LOADIMAGE::new);
 
-  private static PrimitiveContainer containerLTE = new PrimitiveContainer(LTE::new);
+  private static final PrimitiveContainer containerLT = new PrimitiveContainer(LT::new);
 
-  private static PrimitiveContainer containerMOD = new PrimitiveContainer(MOD::new);
+  private static final PrimitiveContainer containerLTE = new PrimitiveContainer(LTE::new);
 
-  private static PrimitiveContainer containerMOVE = new PrimitiveContainer(MOVE::new);
+  private static final PrimitiveContainer containerMOD = new PrimitiveContainer(MOD::new);
 
-  private static PrimitiveContainer containerMUL = new PrimitiveContainer(MUL::new);
+  private static final PrimitiveContainer containerMOVE = new PrimitiveContainer(MOVE::new);
 
-  private static PrimitiveContainer containerNEQU = new PrimitiveContainer(NEQU::new);
+  private static final PrimitiveContainer containerMUL = new PrimitiveContainer(MUL::new);
 
-  private static PrimitiveContainer containerNROT = new PrimitiveContainer(NROT::new);
+  private static final PrimitiveContainer containerNEQU = new PrimitiveContainer(NEQU::new);
 
-  private static PrimitiveContainer containerNUMBER = new PrimitiveContainer(NUMBER::new);
+  private static final PrimitiveContainer containerNROT = new PrimitiveContainer(NROT::new);
+
+  private static final PrimitiveContainer containerNUMBER = new PrimitiveContainer(NUMBER::new);
 
   static Primitive NUMBER() {
     return containerNUMBER.get();
   }
 
-  private static PrimitiveContainer containerNULL = new PrimitiveContainer(NULL::new);
+  private static final PrimitiveContainer containerNULL = new PrimitiveContainer(NULL::new);
+
+  private static final PrimitiveContainer containerOR = new PrimitiveContainer(OR::new);
 
-  private static PrimitiveContainer containerOR = new PrimitiveContainer(OR::new);
+  private static final PrimitiveContainer containerOVER = new PrimitiveContainer(OVER::new);
+
+  static Primitive OVER() {
+    return containerOVER.get();
+  }
 
-  private static PrimitiveContainer containerOVER = new PrimitiveContainer(OVER::new);
+  private static final PrimitiveContainer containerOVEREQU = new PrimitiveContainer(OVEREQU::new);
 
-  private static PrimitiveContainer containerPRINT = new PrimitiveContainer(PRINT::new);
+  private static final PrimitiveContainer containerPREVIOUS = new PrimitiveContainer(PREVIOUS::new);
 
-  private static PrimitiveContainer containerPRINTLN = new PrimitiveContainer(PRINTLN::new);
+  private static final PrimitiveContainer containerPRINT = new PrimitiveContainer(PRINT::new);
+
+  private static final PrimitiveContainer containerPRINTLN = new PrimitiveContainer(PRINTLN::new);
 
   static Primitive PRINTLN() {
     return containerPRINTLN.get();
   }
 
-  private static PrimitiveContainer containerQDUP = new PrimitiveContainer(QDUP::new);
+  private static final PrimitiveContainer containerQDUP = new PrimitiveContainer(QDUP::new);
+
+  private static final PrimitiveContainer containerQNULL = new PrimitiveContainer(QNULL::new);
 
-  private static PrimitiveContainer containerQNULL = new PrimitiveContainer(QNULL::new);
+  private static final PrimitiveContainer containerQFALSE = new PrimitiveContainer(QFALSE::new);
 
-  private static PrimitiveContainer containerQFALSE = new PrimitiveContainer(QFALSE::new);
+  private static final PrimitiveContainer containerQTRUE = new PrimitiveContainer(QTRUE::new);
 
-  private static PrimitiveContainer containerQTRUE = new PrimitiveContainer(QTRUE::new);
+  private static final PrimitiveContainer containerQUIT = new PrimitiveContainer(QUIT::new);
 
-  private static PrimitiveContainer containerQUIT = new PrimitiveContainer(QUIT::new);
+  private static final PrimitiveContainer containerRANGLEAS = new PrimitiveContainer(RANGLEAS::new);
 
-  private static PrimitiveContainer containerRANGLEAT = new PrimitiveContainer(RANGLEAT::new);
+  private static final PrimitiveContainer containerRANGLEAT = new PrimitiveContainer(RANGLEAT::new);
 
-  private static PrimitiveContainer containerRANGLECOMMA = new PrimitiveContainer(RANGLECOMMA::new);
+  private static final PrimitiveContainer containerRANGLECOMMA =
+      new PrimitiveContainer(RANGLECOMMA::new);
 
-  private static PrimitiveContainer containerRANGLEDOT = new PrimitiveContainer(RANGLEDOT::new);
+  private static final PrimitiveContainer containerRANGLEDOT =
+      new PrimitiveContainer(RANGLEDOT::new);
 
-  private static PrimitiveContainer containerRBRAC = new PrimitiveContainer(RBRAC::new);
+  private static final PrimitiveContainer containerRBRAC = new PrimitiveContainer(RBRAC::new);
 
   static Primitive RBRAC() {
     return containerRBRAC.get();
   }
 
-  private static PrimitiveContainer containerRDROP = new PrimitiveContainer(RDROP::new);
+  private static final PrimitiveContainer containerRDROP = new PrimitiveContainer(RDROP::new);
+
+  private static final PrimitiveContainer containerROT = new PrimitiveContainer(ROT::new);
 
-  private static PrimitiveContainer containerROT = new PrimitiveContainer(ROT::new);
+  private static final PrimitiveContainer containerRSPFETCH = new PrimitiveContainer(RSPFETCH::new);
 
-  private static PrimitiveContainer containerRSPFETCH = new PrimitiveContainer(RSPFETCH::new);
+  private static final PrimitiveContainer containerRSPSTORE = new PrimitiveContainer(RSPSTORE::new);
 
-  private static PrimitiveContainer containerRSPSTORE = new PrimitiveContainer(RSPSTORE::new);
+  private static final PrimitiveContainer containerSAVEIMAGE =
+      new PrimitiveContainer(SAVEIMAGE::new);
 
-  private static PrimitiveContainer containerSEE = new PrimitiveContainer(SEE::new);
+  private static final PrimitiveContainer containerSEE = new PrimitiveContainer(SEE::new);
 
-  private static PrimitiveContainer containerSEMICOLON = new PrimitiveContainer(SEMICOLON::new);
+  private static final PrimitiveContainer containerSEMICOLON =
+      new PrimitiveContainer(SEMICOLON::new);
 
-  private static PrimitiveContainer containerSTORE = new PrimitiveContainer(STORE::new);
+  private static final PrimitiveContainer containerSETCURRENT =
+      new PrimitiveContainer(SETCURRENT::new);
 
-  private static PrimitiveContainer containerSTOREBASE = new PrimitiveContainer(STOREBASE::new);
+  private static final PrimitiveContainer containerSETORDER = new PrimitiveContainer(SETORDER::new);
 
-  private static PrimitiveContainer containerSTOREHERE = new PrimitiveContainer(STOREHERE::new);
+  private static final PrimitiveContainer containerSTORE = new PrimitiveContainer(STORE::new);
 
-  private static PrimitiveContainer containerSUB = new PrimitiveContainer(SUB::new);
+  private static final PrimitiveContainer containerSTOREBASE =
+      new PrimitiveContainer(STOREBASE::new);
 
-  private static PrimitiveContainer containerSUBSTORE = new PrimitiveContainer(SUBSTORE::new);
+  private static final PrimitiveContainer containerSTOREHERE =
+      new PrimitiveContainer(STOREHERE::new);
 
-  private static PrimitiveContainer containerSWAP = new PrimitiveContainer(SWAP::new);
+  private static final PrimitiveContainer containerSUB = new PrimitiveContainer(SUB::new);
 
-  private static PrimitiveContainer containerTELL = new PrimitiveContainer(TELL::new);
+  private static final PrimitiveContainer containerSUBSTORE = new PrimitiveContainer(SUBSTORE::new);
 
-  private static PrimitiveContainer containerTICK = new PrimitiveContainer(TICK::new);
+  private static final PrimitiveContainer containerSWAP = new PrimitiveContainer(SWAP::new);
 
-  private static PrimitiveContainer containerTOR = new PrimitiveContainer(TOR::new);
+  static Primitive SWAP() {
+    return containerSWAP.get();
+  }
+
+  private static final PrimitiveContainer containerSWAPDROP = new PrimitiveContainer(SWAPDROP::new);
+
+  private static final PrimitiveContainer containerTELL = new PrimitiveContainer(TELL::new);
+
+  private static final PrimitiveContainer containerTICK = new PrimitiveContainer(TICK::new);
 
-  private static PrimitiveContainer containerTWODROP = new PrimitiveContainer(TWODROP::new);
+  private static final PrimitiveContainer containerTOR = new PrimitiveContainer(TOR::new);
 
-  private static PrimitiveContainer containerTWODUP = new PrimitiveContainer(TWODUP::new);
+  private static final PrimitiveContainer containerTWODROP = new PrimitiveContainer(TWODROP::new);
 
-  private static PrimitiveContainer containerTWOSWAP = new PrimitiveContainer(TWOSWAP::new);
+  private static final PrimitiveContainer containerTWODUP = new PrimitiveContainer(TWODUP::new);
 
-  private static PrimitiveContainer containerWORD = new PrimitiveContainer(WORD::new);
+  private static final PrimitiveContainer containerTWOSWAP = new PrimitiveContainer(TWOSWAP::new);
+
+  private static final PrimitiveContainer containerWORD = new PrimitiveContainer(WORD::new);
 
   static Primitive WORD() {
     return containerWORD.get();
   }
 
-  private static PrimitiveContainer containerWORDS = new PrimitiveContainer(WORDS::new);
+  private static final PrimitiveContainer containerWORDLIST = new PrimitiveContainer(WORDLIST::new);
+
+  private static final PrimitiveContainer containerWORDS = new PrimitiveContainer(WORDS::new);
 
-  private static PrimitiveContainer containerZBRANCH = new PrimitiveContainer(ZBRANCH::new);
+  private static final PrimitiveContainer containerZBRANCH = new PrimitiveContainer(ZBRANCH::new);
+
+  static Primitive ZBRANCH() {
+    return containerZBRANCH.get();
+  }
 
-  private static PrimitiveContainer containerZEQU = new PrimitiveContainer(ZEQU::new);
+  private static final PrimitiveContainer containerZEQU = new PrimitiveContainer(ZEQU::new);
 
-  private static PrimitiveContainer containerZGE = new PrimitiveContainer(ZGE::new);
+  private static final PrimitiveContainer containerZGE = new PrimitiveContainer(ZGE::new);
 
-  private static PrimitiveContainer containerZGT = new PrimitiveContainer(ZGT::new);
+  private static final PrimitiveContainer containerZGT = new PrimitiveContainer(ZGT::new);
 
-  private static PrimitiveContainer containerZLE = new PrimitiveContainer(ZLE::new);
+  private static final PrimitiveContainer containerZLE = new PrimitiveContainer(ZLE::new);
 
-  private static PrimitiveContainer containerZLT = new PrimitiveContainer(ZLT::new);
+  private static final PrimitiveContainer containerZLT = new PrimitiveContainer(ZLT::new);
 
-  private static PrimitiveContainer containerZNEQU = new PrimitiveContainer(ZNEQU::new);
+  private static final PrimitiveContainer containerZNEQU = new PrimitiveContainer(ZNEQU::new);
 
-  private static List<PrimitiveContainer> primitiveContainers =
+  private static final List<PrimitiveContainer> primitiveContainers =
       List.of(
           containerADD,
           containerADDSTORE,
+          containerALSO,
           containerAND,
+          containerASLANGLE,
           containerATLANGLE,
           containerBASE,
           containerBASESTORE,
@@ -296,8 +399,10 @@ public class PrimitiveFactory {
           containerCOMMALANGLE,
           containerDECR,
           containerDECR4,
+          containerDEFINITIONS,
           containerDFA,
           containerDIV,
+          containerDOCOL,
           containerDOTDOUBLEQUOTE,
           containerDOTLANGLE,
           containerDOTSTACK,
@@ -307,6 +412,7 @@ public class PrimitiveFactory {
           containerDSPSTORE,
           containerDUMP,
           containerDUP,
+          containerDUPZBRANCH,
           containerEMIT,
           containerEQU,
           containerEXECUTE,
@@ -314,22 +420,30 @@ public class PrimitiveFactory {
           containerFETCH,
           containerFIND,
           containerFORGET,
+          containerFORTHWORDLIST,
           containerFROMR,
           containerGE,
+          containerGETCURRENT,
+          containerGETORDER,
           containerGT,
           containerHERE,
           containerHIDDEN,
           containerHIDE,
           containerIDDOT,
           containerIMMEDIATE,
+          containerIMPORT,
           containerINTERPRET,
+          containerINCLUDE,
+          containerINCLUDED,
           containerINCR,
           containerINCR4,
           containerKEY,
           containerLATEST,
           containerLBRAC,
           containerLIT,
+          containerLITADD,
           containerLITSTRING,
+          containerLOADIMAGE,
           containerLT,
           containerLTE,
           containerMOD,
@@ -341,6 +455,8 @@ public class PrimitiveFactory {
           containerNULL,
           containerOR,
           containerOVER,
+          containerOVEREQU,
+          containerPREVIOUS,
           containerPRINT,
           containerPRINTLN,
           containerQDUP,
@@ -348,6 +464,7 @@ public class PrimitiveFactory {
           containerQFALSE,
           containerQTRUE,
           containerQUIT,
+          containerRANGLEAS,
           containerRANGLEAT,
           containerRANGLECOMMA,
           containerRANGLEDOT,
@@ -356,14 +473,18 @@ public class PrimitiveFactory {
           containerROT,
           containerRSPFETCH,
           containerRSPSTORE,
+          containerSAVEIMAGE,
           containerSEE,
           containerSEMICOLON,
+          containerSETCURRENT,
+          containerSETORDER,
           containerSTORE,
           containerSTOREBASE,
           containerSTOREHERE,
           containerSUB,
           containerSUBSTORE,
           containerSWAP,
+          containerSWAPDROP,
           containerTELL,
           containerTICK,
           containerTOR,
@@ -371,6 +492,7 @@ public class PrimitiveFactory {
           containerTWODUP,
           containerTWOSWAP,
           containerWORD,
+          containerWORDLIST,
           containerWORDS,
           containerZBRANCH,
           containerZEQU,
@@ -380,25 +502,106 @@ public class PrimitiveFactory {
           containerZLT,
           containerZNEQU);
 
+  private static final Primitive[] primitives = new Primitive[primitiveContainers.size()];
+
+  private static final Map<String, Integer> ids;
+
+  private static final List<Superinstruction> superinstructions;
+
+  static {
+    var byName = new HashMap<String, Integer>();
+    for (var id = 0; id < primitives.length; id++) {
+      primitives[id] = primitiveContainers.get(id).get();
+      byName.put(primitives[id].getName(), id);
+    }
+    ids = Map.copyOf(byName);
+    superinstructions =
+        Arrays.stream(primitives)
+            .filter(p -> p instanceof Superinstruction)
+            .map(p -> (Superinstruction) p)
+            .toList();
+  }
+
   public static List<PrimitiveContainer> getPrimitiveContainers() {
     return primitiveContainers;
   }
 
+  public static int getPrimitiveCount() {
+    return primitives.length;
+  }
+
+  public static Primitive getPrimitive(int id) {
+    return primitives[id];
+  }
+
+  /** @return the id of the primitive with the given name, or -1 if there's none */
+  public static int getPrimitiveId(String name) {
+    return ids.getOrDefault(name, -1);
+  }
+
+  public static Optional<Primitive> getPrimitive(String name) {
+    var id = getPrimitiveId(name);
+    return id == -1 ? Optional.empty() : Optional.of(primitives[id]);
+  }
+
+  /** Whether the primitive with the given id reads the cell after it, eg LIT its literal. */
+  public static boolean hasOperand(int id) {
+    return Fusion.hasOperand(primitives[id]);
+  }
+
+  /** All the superinstructions, in the order of their ids. */
+  static List<Superinstruction> getSuperinstructions() {
+    return superinstructions;
+  }
+
+  /**
+   * Parses a value again from the source it was parsed from, see {@link ParsedValue}.
+   *
+   * @throws MachineException if there's no such parser or the source ends too early
+   */
+  public static ParsedValue parse(String parserName, String source) {
+    if (getPrimitive(parserName).orElse(null) instanceof Parser parser) {
+      var position = new int[] {0};
+      return parser.parse(
+          () -> {
+            if (position[0] == source.length()) {
+              throw new MachineException(
+                  "Incomplete source for %s: %s".formatted(parserName, source));
+            }
+            return source.charAt(position[0]++);
+          });
+    } else {
+      throw new MachineException("No such parser: %s".formatted(parserName));
+    }
+  }
+
   public static class PrimitiveContainer {
 
-    private Primitive instance;
-    private Supplier<Primitive> supplier;
+    private final Supplier<Primitive> supplier;
+    private volatile Primitive instance;
 
     PrimitiveContainer(Supplier<Primitive> supplier) {
-      this.instance = null;
       this.supplier = supplier;
     }
 
-    public synchronized Primitive get() {
-      if (instance == null) {
-        instance = supplier.get();
+    /**
+     * The primitive, created on the first call. Every container is asked while the factory is
+     * being initialised, possibly out of order when a superinstruction asks for a part that comes
+     * after it, so that afterwards this is a volatile read. The creation is locked all the same, so
+     * that a primitive is never created twice.
+     */
+    public Primitive get() {
+      var primitive = instance;
+      if (primitive == null) {
+        synchronized (this) {
+          primitive = instance;
+          if (primitive == null) {
+            primitive = supplier.get();
+            instance = primitive;
+          }
+        }
       }
-      return instance;
+      return primitive;
     }
   }
 }
@@ -0,0 +1,47 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import bjforth.primitives.lib.Callbacks;
+import java.util.NoSuchElementException;
+
+/** Wraps an execution token in an instance of the functional interface of {@link ASLANGLE}. */
+class RANGLEAS implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    try {
+      if (machine.popFromParameterStack() instanceof Class<?> type
+          && machine.popFromParameterStack() instanceof Integer xt) {
+        machine.pushToParameterStack(Callbacks.of(machine, xt, type));
+      } else {
+        throw new MachineException("Expected an execution token and an interface.");
+      }
+    } catch (NoSuchElementException ex) {
+      throw new MachineException("ParameterStack error.");
+    }
+  }
+
+  @Override
+  public String getName() {
+    return ">AS";
+  }
+}
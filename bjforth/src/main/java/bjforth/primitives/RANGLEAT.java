@@ -21,118 +21,23 @@ package bjforth.primitives;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
 import bjforth.primitives.ATLANGLE.MethodDescriptor;
-import java.lang.reflect.Array;
-import org.apache.commons.lang3.reflect.ConstructorUtils;
 
 public class RANGLEAT implements Primitive {
   @Override
   public void execute(Machine machine) {
     var methodDescriptor = (MethodDescriptor) machine.popFromParameterStack();
-
-    var methodArity = methodDescriptor.arity;
-    var arguments = new Object[methodArity];
-    for (var i = 0; i < methodArity; i++) {
-      var obj = machine.popFromParameterStack();
-      arguments[i] = obj;
-    }
-
-    var paramTypes = new Class<?>[methodDescriptor.parameterTypes.size()];
-    methodDescriptor.parameterTypes.toArray(paramTypes);
-    var ctor =
-        ConstructorUtils.getMatchingAccessibleConstructor(methodDescriptor.clazz, paramTypes);
-    if (ctor == null) {
-      throw new MachineException(
-          "No such constructor found: %s/%d"
-              .formatted(methodDescriptor.clazz, methodDescriptor.arity));
+    var arguments = new Object[methodDescriptor.arity];
+    for (var i = 0; i < arguments.length; i++) {
+      arguments[i] = machine.popFromParameterStack();
     }
+    var handle = methodDescriptor.getHandle();
 
     Object result;
     try {
-      if (methodDescriptor.varargFromArgumentNo != -1) {
-        var varargCount = methodDescriptor.arity - methodDescriptor.varargFromArgumentNo;
-        var varargs =
-            Array.newInstance(
-                methodDescriptor
-                    .parameterTypes
-                    .get(methodDescriptor.varargFromArgumentNo)
-                    .getComponentType(),
-                varargCount);
-        for (var i = 0; i < varargCount; i++) {
-          Array.set(varargs, i, arguments[i + methodDescriptor.varargFromArgumentNo]);
-        }
-        result =
-            switch (methodDescriptor.varargFromArgumentNo) {
-              case 0 -> ctor.newInstance(varargs);
-              case 1 -> ctor.newInstance(arguments[0], varargs);
-              case 2 -> ctor.newInstance(arguments[0], arguments[1], varargs);
-              case 3 -> ctor.newInstance(arguments[0], arguments[1], arguments[2], varargs);
-              case 4 ->
-                  ctor.newInstance(arguments[0], arguments[1], arguments[2], arguments[3], varargs);
-              case 5 ->
-                  ctor.newInstance(
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      varargs);
-              case 6 ->
-                  ctor.newInstance(
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5],
-                      varargs);
-              case 7 ->
-                  ctor.newInstance(
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5],
-                      arguments[6],
-                      varargs);
-              default ->
-                  throw new MachineException(
-                      "Failed to invoke the constructor: %s".formatted(ctor));
-            };
-      } else {
-        result =
-            switch (methodDescriptor.arity) {
-              case 0 -> ctor.newInstance();
-              case 1 -> ctor.newInstance(arguments[0]);
-              case 2 -> ctor.newInstance(arguments[0], arguments[1]);
-              case 3 -> ctor.newInstance(arguments[0], arguments[1], arguments[2]);
-              case 4 -> ctor.newInstance(arguments[0], arguments[1], arguments[2], arguments[3]);
-              case 5 ->
-                  ctor.newInstance(
-                      arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);
-              case 6 ->
-                  ctor.newInstance(
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5]);
-              case 7 ->
-                  ctor.newInstance(
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5],
-                      arguments[6]);
-              default ->
-                  throw new MachineException(
-                      "Failed to invoke the constructor: %s".formatted(ctor));
-            };
-      }
-    } catch (Exception e) {
+      result = (Object) handle.invokeExact(arguments);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
       e.printStackTrace();
       throw new MachineException(e.getMessage());
     }
@@ -21,125 +21,24 @@ package bjforth.primitives;
 import bjforth.machine.Machine;
 import bjforth.machine.MachineException;
 import bjforth.primitives.COMMALANGLE.MethodDescriptor;
-import java.lang.reflect.Array;
-import org.apache.commons.lang3.reflect.MethodUtils;
 
 public class RANGLECOMMA implements Primitive {
   @Override
   public void execute(Machine machine) {
     var methodDescriptor = (MethodDescriptor) machine.popFromParameterStack();
-
-    var methodArity = methodDescriptor.arity;
-    var arguments = new Object[methodArity];
-    for (var i = 0; i < methodArity; i++) {
-      var obj = machine.popFromParameterStack();
-      arguments[i] = obj;
-    }
-
-    var paramTypes = new Class<?>[methodDescriptor.parameterTypes.size()];
-    methodDescriptor.parameterTypes.toArray(paramTypes);
-    var method =
-        MethodUtils.getMatchingAccessibleMethod(
-            methodDescriptor.target, methodDescriptor.name, paramTypes);
-    if (method == null) {
-      throw new MachineException(
-          "No such method found: %s/%d".formatted(methodDescriptor.name, methodDescriptor.arity));
+    var arguments = new Object[methodDescriptor.arity];
+    for (var i = 0; i < arguments.length; i++) {
+      arguments[i] = machine.popFromParameterStack();
     }
+    var handle = methodDescriptor.getHandle();
 
-    Object result = null;
+    Object result;
     try {
-      if (methodDescriptor.varargFromArgumentNo != -1) {
-        var varargCount = methodDescriptor.arity - methodDescriptor.varargFromArgumentNo;
-        var varargs =
-            Array.newInstance(
-                methodDescriptor
-                    .parameterTypes
-                    .get(methodDescriptor.varargFromArgumentNo)
-                    .getComponentType(),
-                varargCount);
-        for (var i = 0; i < varargCount; i++) {
-          Array.set(varargs, i, arguments[i + methodDescriptor.varargFromArgumentNo]);
-        }
-        result =
-            switch (methodDescriptor.varargFromArgumentNo) {
-              case 0 -> method.invoke(null, varargs);
-              case 1 -> method.invoke(null, arguments[0], varargs);
-              case 2 -> method.invoke(null, arguments[0], arguments[1], varargs);
-              case 3 -> method.invoke(null, arguments[0], arguments[1], arguments[2], varargs);
-              case 4 ->
-                  method.invoke(
-                      null, arguments[0], arguments[1], arguments[2], arguments[3], varargs);
-              case 5 ->
-                  method.invoke(
-                      null,
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      varargs);
-              case 6 ->
-                  method.invoke(
-                      null,
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5],
-                      varargs);
-              case 7 ->
-                  method.invoke(
-                      null,
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5],
-                      arguments[6],
-                      varargs);
-              default ->
-                  throw new MachineException(
-                      "Failed to invoke the static method: %s".formatted(method));
-            };
-      } else {
-        result =
-            switch (methodDescriptor.arity) {
-              case 0 -> method.invoke(null);
-              case 1 -> method.invoke(null, arguments[0]);
-              case 2 -> method.invoke(null, arguments[0], arguments[1]);
-              case 3 -> method.invoke(null, arguments[0], arguments[1], arguments[2]);
-              case 4 -> method.invoke(null, arguments[0], arguments[1], arguments[2], arguments[3]);
-              case 5 ->
-                  method.invoke(
-                      null, arguments[0], arguments[1], arguments[2], arguments[3], arguments[4]);
-              case 6 ->
-                  method.invoke(
-                      null,
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5]);
-              case 7 ->
-                  method.invoke(
-                      null,
-                      arguments[0],
-                      arguments[1],
-                      arguments[2],
-                      arguments[3],
-                      arguments[4],
-                      arguments[5],
-                      arguments[6]);
-              default ->
-                  throw new MachineException(
-                      "Failed to invoke the static method: %s".formatted(method));
-            };
-      }
-    } catch (Exception e) {
-      e.printStackTrace();
+      result = (Object) handle.invokeExact(arguments);
+    } catch (Error e) {
+      throw e;
+    } catch (Throwable e) {
+      throw new MachineException(e.getMessage());
     }
     machine.pushToParameterStack(result);
   }
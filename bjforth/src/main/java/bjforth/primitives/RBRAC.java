@@ -19,13 +19,11 @@
 package bjforth.primitives;
 
 import bjforth.machine.Machine;
-import bjforth.variables.Variables;
 
 public class RBRAC implements Primitive {
   @Override
   public void execute(Machine machine) {
-    var STATEAddr = Variables.get("STATE").getAddress();
-    machine.setMemoryAt(STATEAddr, 1);
+    machine.setCompilationState(1);
   }
 
   @Override
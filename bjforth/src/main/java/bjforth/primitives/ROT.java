@@ -27,12 +27,7 @@ class ROT implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var first = machine.popFromParameterStack();
-      var second = machine.popFromParameterStack();
-      var third = machine.popFromParameterStack();
-      machine.pushToParameterStack(second);
-      machine.pushToParameterStack(first);
-      machine.pushToParameterStack(third);
+      machine.rotParameterStack();
     } catch (NoSuchElementException ex) {
       throw new MachineException("ParameterStack error.");
     }
@@ -74,6 +74,13 @@ public class SEE implements Primitive {
         System.out.print(
             colorize("%s(%d)".formatted("BRANCH", content), FOREGROUND_COLOR, BACKGROUND_COLOR));
         System.out.print(" ");
+      } else if (content instanceof Integer wordAddr
+          && machine.getMemoryAt(wordAddr) instanceof Superinstruction superinstruction) {
+        System.out.print(
+            colorize(
+                describe(machine, superinstruction, addr), FOREGROUND_COLOR, BACKGROUND_COLOR));
+        System.out.print(" ");
+        addr += Fusion.getLength(superinstruction) - 1;
       } else if (content instanceof Integer wordAddr) {
         var maybeItem = machine.getDictionaryItem(wordAddr);
         if (maybeItem.isEmpty()) {
@@ -91,6 +98,19 @@ public class SEE implements Primitive {
     }
   }
 
+  /** Eg {@code DUP0BRANCH(8)}, where 8 is the operand of the 0BRANCH. */
+  private String describe(Machine machine, Superinstruction superinstruction, Integer addr) {
+    var offset = 0;
+    for (var part : superinstruction.getParts()) {
+      if (Fusion.hasOperand(part)) {
+        return "%s(%s)"
+            .formatted(superinstruction.getName(), machine.getMemoryAt(addr + offset + 1));
+      }
+      offset += Fusion.getLength(part);
+    }
+    return superinstruction.getName();
+  }
+
   private DictionaryItem getTargetDictionaryItem(Machine machine) {
     WORD().execute(machine);
     var word = (String) machine.popFromParameterStack();
@@ -125,12 +145,16 @@ public class SEE implements Primitive {
     } else {
       System.out.print(
           colorize(
-              "%s at %08d (immediate: %b, hidden: %b)"
+              "%s at %08d (immediate: %b, hidden: %b, fused: %d)"
                   .formatted(
                       target.getName().toUpperCase(),
                       target.getAddress(),
                       target.getIsImmediate(),
-                      target.getIsHidden()),
+                      target.getIsHidden(),
+                      Fusion.count(
+                          machine,
+                          target.getAddress() + 1,
+                          target.getAddress() + target.getLength())),
               FOREGROUND_COLOR,
               BACKGROUND_COLOR));
       System.out.println();
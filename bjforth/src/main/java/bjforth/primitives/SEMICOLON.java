@@ -21,17 +21,17 @@ package bjforth.primitives;
 import static bjforth.primitives.PrimitiveFactory.*;
 
 import bjforth.machine.Machine;
-import bjforth.variables.Variables;
 
 public class SEMICOLON implements Primitive {
   @Override
   public void execute(Machine machine) {
     machine.DOCOL(true);
     machine.enterThreadedCode(); // TODO TO be removed.
-    var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
+    var HEREvalue = machine.getHere();
+    var LATESTvalue = machine.getLatest();
+    Fusion.fuse(machine, LATESTvalue + 1, HEREvalue);
     machine.setMemoryAt(HEREvalue, machine.getDictionaryItem("EXIT").get().getAddress());
-    machine.setMemoryAt(Variables.get("HERE").getAddress(), HEREvalue + 1);
-    var LATESTvalue = (Integer) machine.getMemoryAt(Variables.get("LATEST").getAddress());
+    machine.setHere(HEREvalue + 1);
     machine.pushToParameterStack(LATESTvalue);
 
     var dictItem = machine.getDictionaryItem(LATESTvalue);
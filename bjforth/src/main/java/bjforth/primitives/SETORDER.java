@@ -0,0 +1,55 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import java.util.NoSuchElementException;
+
+class SETORDER implements Primitive {
+
+  @Override
+  public void execute(Machine machine) {
+    try {
+      var countObject = machine.popFromParameterStack();
+      if (countObject instanceof Integer count && count == -1) {
+        machine.setSearchOrder(new int[] {machine.getForthWordlist()});
+      } else if (countObject instanceof Integer count && count >= 0) {
+        var order = new int[count];
+        for (var i = 0; i < count; i++) {
+          if (machine.popFromParameterStack() instanceof Integer wordlist) {
+            order[i] = wordlist;
+          } else {
+            throw new MachineException("Invalid wordlist");
+          }
+        }
+        machine.setSearchOrder(order);
+      } else {
+        throw new MachineException("Invalid argument");
+      }
+    } catch (NoSuchElementException ex) {
+      throw new MachineException("ParameterStack error.");
+    }
+  }
+
+  @Override
+  public String getName() {
+    return "SET-ORDER";
+  }
+}
@@ -27,7 +27,7 @@ public class STOREBASE implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var BASEaddr = Variables.get("BASE").getAddress();
+      var BASEaddr = Variables.BASE_ADDRESS;
       var newValue = (Integer) machine.popFromParameterStack();
       machine.setMemoryAt(BASEaddr, newValue);
     } catch (NoSuchElementException e) {
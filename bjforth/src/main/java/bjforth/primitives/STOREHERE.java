@@ -27,7 +27,7 @@ public class STOREHERE implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var HEREaddr = Variables.get("HERE").getAddress();
+      var HEREaddr = Variables.HERE_ADDRESS;
       var newValue = (Integer) machine.popFromParameterStack();
       machine.setMemoryAt(HEREaddr, newValue);
     } catch (NoSuchElementException e) {
@@ -27,10 +27,7 @@ class SWAP implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var p1 = machine.popFromParameterStack();
-      var p2 = machine.popFromParameterStack();
-      machine.pushToParameterStack(p1);
-      machine.pushToParameterStack(p2);
+      machine.swapParameterStack();
     } catch (NoSuchElementException ex) {
       throw new MachineException("Stack error.");
     }
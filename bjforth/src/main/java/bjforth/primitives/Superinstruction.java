@@ -0,0 +1,58 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import bjforth.machine.Machine;
+import java.util.List;
+
+/**
+ * A primitive which does the work of a sequence of primitives in a single dispatch.
+ *
+ * <p>When a definition is closed (see {@link Fusion}) only the first cell of the sequence is
+ * replaced with the superinstruction. The rest of the cells are left as they were and are skipped
+ * over at runtime; that way the length of the definition and the branch offsets in it don't change,
+ * and a branch into the middle of the sequence still runs the original primitives.
+ *
+ * <p>Subclasses do the work of the parts directly on the stack for the common operands, eg ints,
+ * and fall back to {@link #execute}, which runs the parts one after another, for the rest. The
+ * direct inner interpreter and its code cache run them inline too, by name.
+ */
+abstract class Superinstruction implements Primitive {
+
+  private final List<Primitive> parts;
+
+  Superinstruction(Primitive... parts) {
+    this.parts = List.of(parts);
+  }
+
+  List<Primitive> getParts() {
+    return parts;
+  }
+
+  /** Runs the parts one after another, skipping the cells of the parts but the first. */
+  @Override
+  public void execute(Machine machine) {
+    for (var i = 0; i < parts.size(); i++) {
+      if (i > 0) { // Skip the cell of the part.
+        machine.setNextInstructionPointer(machine.getNextInstructionPointer() + 1);
+      }
+      parts.get(i).execute(machine);
+    }
+  }
+}
@@ -18,56 +18,12 @@
  */
 package bjforth.primitives;
 
-import static bjforth.primitives.PrimitiveFactory.KEY;
-
 import bjforth.machine.Machine;
 
 class WORD implements Primitive {
 
-  private static enum State {
-    BEGIN,
-    END,
-    IN_COMMENT,
-    IN_WORD,
-    IN_CHAR;
-  }
-
   @Override
   public void execute(Machine machine) {
-    var state = State.BEGIN;
-    var result = new StringBuilder();
-    while (state != State.END) {
-      KEY().execute(machine);
-      var s = (String) machine.popFromParameterStack();
-      switch (state) {
-        case BEGIN:
-          if ("#".equals(s)) {
-            state = State.IN_COMMENT;
-          } else if (!" ".equals(s)
-              && !"\t".equals(s)
-              && !"\r".equals(s)
-              && !"\b".equals(s)
-              && !"\n".equals(s)) {
-            result.append(s);
-            state = State.IN_WORD;
-          }
-          break;
-        case IN_COMMENT:
-          if ("\n".equals(s)) {
-            state = State.BEGIN;
-          }
-          break;
-        case IN_WORD:
-          if (" ".equals(s) || "\t".equals(s) || "\n".equals(s)) {
-            state = State.END;
-          } else {
-            result.append(s);
-          }
-          break;
-        default:
-          break;
-      }
-    }
-    machine.pushToParameterStack(result.toString());
+    machine.pushToParameterStack(machine.readToken().getText());
   }
 }
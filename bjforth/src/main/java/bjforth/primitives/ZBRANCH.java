@@ -26,19 +26,18 @@ public class ZBRANCH implements Primitive {
   @Override
   public void execute(Machine machine) {
     try {
-      var parameterObj = machine.popFromParameterStack();
-      if (parameterObj instanceof Integer parameter) {
-        if (parameter == 0) {
-          var NIP = machine.getNextInstructionPointer();
-          var NIPValue = (Integer) machine.getMemoryAt(NIP);
-          var newNIP = NIP + NIPValue;
-          machine.setNextInstructionPointer(newNIP);
-        } else {
-          machine.setNextInstructionPointer(machine.getNextInstructionPointer() + 1);
-        }
-      } else {
+      if (!machine.isIntOnParameterStack(0)) {
+        machine.popFromParameterStack();
         throw new MachineException("Invalid parameter type");
       }
+      if (machine.popIntFromParameterStack() == 0) {
+        var NIP = machine.getNextInstructionPointer();
+        var NIPValue = (Integer) machine.getMemoryAt(NIP);
+        var newNIP = NIP + NIPValue;
+        machine.setNextInstructionPointer(newNIP);
+      } else {
+        machine.setNextInstructionPointer(machine.getNextInstructionPointer() + 1);
+      }
     } catch (NoSuchElementException ex) {
       throw new MachineException("ParameterStack error.");
     }
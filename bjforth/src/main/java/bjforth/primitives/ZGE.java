@@ -31,6 +31,10 @@ class ZGE implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOrLongOnParameterStack(0)) {
+      machine.pushIntToParameterStack(machine.popLongFromParameterStack() >= 0 ? 1 : 0);
+      return;
+    }
     try {
       var element = machine.popFromParameterStack();
       var result = isGreaterThanOrEqualToZero.call(element) ? 1 : 0;
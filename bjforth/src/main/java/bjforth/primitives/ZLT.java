@@ -30,6 +30,10 @@ class ZLT implements Primitive {
 
   @Override
   public void execute(Machine machine) {
+    if (machine.isIntOrLongOnParameterStack(0)) {
+      machine.pushIntToParameterStack(machine.popLongFromParameterStack() < 0 ? 1 : 0);
+      return;
+    }
     try {
       var element = machine.popFromParameterStack();
       var result = isLessThanZero.call(element) ? 1 : 0;
@@ -18,16 +18,30 @@
  */
 package bjforth.primitives.lib;
 
+import static bjforth.primitives.lib.NumberUtils.*;
 import static java.util.Objects.isNull;
 
 import bjforth.machine.MachineException;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 
+/**
+ * A binary function on numbers, dispatched on the types of the operands.
+ *
+ * <p>Two Integers, or an Integer and a Long, are the common case and are checked first. Otherwise
+ * the operands are converted to the wider of the two types, in the order BigDecimal, Double, Float,
+ * BigInteger, Long, Integer, Short and Byte, so that mixing a BigInteger or a BigDecimal with a
+ * fixnum never loses precision.
+ */
 public abstract class AbstractBinaryNumberFunction<R> {
 
   public R apply(Object value1, Object value2) {
-    if (isNull(value1)) {
+    if (value1 instanceof Integer i1 && value2 instanceof Integer i2) {
+      return apply(i1, i2);
+    } else if ((value1 instanceof Integer || value1 instanceof Long)
+        && (value2 instanceof Integer || value2 instanceof Long)) {
+      return apply(((Number) value1).longValue(), ((Number) value2).longValue());
+    } else if (isNull(value1)) {
       throw new MachineException("ParameterStack top is NULL.");
     } else if (isNull(value2)) {
       throw new MachineException("ParameterStack second top is NULL.");
@@ -39,22 +53,22 @@ public abstract class AbstractBinaryNumberFunction<R> {
   }
 
   private R apply(Number value1, Number value2) {
-    if (value1 instanceof BigDecimal bd1 && value2 instanceof BigDecimal bd2) {
-      return apply(bd1, bd2);
-    } else if (value1 instanceof BigInteger bi1 && value2 instanceof BigInteger bi2) {
-      return apply(bi1, bi2);
+    if (value1 instanceof BigDecimal || value2 instanceof BigDecimal) {
+      return apply(asBigDecimal(value1), asBigDecimal(value2));
     } else if (value1 instanceof Double || value2 instanceof Double) {
-      return apply(value1.doubleValue(), value2.doubleValue());
+      return apply(asDouble(value1), asDouble(value2));
     } else if (value1 instanceof Float || value2 instanceof Float) {
-      return apply(value1.floatValue(), value2.floatValue());
+      return apply(asFloat(value1), asFloat(value2));
+    } else if (value1 instanceof BigInteger || value2 instanceof BigInteger) {
+      return apply(asBigInteger(value1), asBigInteger(value2));
     } else if (value1 instanceof Long || value2 instanceof Long) {
-      return apply(value1.longValue(), value2.longValue());
+      return apply(asLong(value1), asLong(value2));
     } else if (value1 instanceof Integer || value2 instanceof Integer) {
-      return apply(value1.intValue(), value2.intValue());
+      return apply(asInteger(value1), asInteger(value2));
     } else if (value1 instanceof Short || value2 instanceof Short) {
-      return apply(value1.shortValue(), value2.shortValue());
+      return apply(asShort(value1), asShort(value2));
     } else if (value1 instanceof Byte || value2 instanceof Byte) {
-      return apply(value1.byteValue(), value2.byteValue());
+      return apply(asByte(value1), asByte(value2));
     } else {
       throw new MachineException("Unexpected subtype of Number");
     }
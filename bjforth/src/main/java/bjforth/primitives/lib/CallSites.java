@@ -0,0 +1,206 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import bjforth.machine.MachineException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.reflect.ConstructorUtils;
+import org.apache.commons.lang3.reflect.MethodUtils;
+
+/**
+ * Resolves the members the Java interop words call into method handles.
+ *
+ * <p>Looking up a member is by far the costliest part of an interop call, so each one is resolved
+ * once per kind, owner class, name, parameter types, arity and position of the variadic parameter,
+ * and cached for the life of the JVM.
+ *
+ * <p>Every handle is of type {@code (Object[])Object}: the array holds the receiver of an instance
+ * method, if any, followed by the arguments in the order they were popped; the variadic arguments
+ * are collected into an array of the right type and void methods return null. There's no limit on
+ * the number of arguments other than the JVM's own.
+ */
+public class CallSites {
+
+  private enum Kind {
+    CONSTRUCTOR,
+    STATIC,
+    VIRTUAL
+  }
+
+  private record Key(
+      Kind kind,
+      Class<?> owner,
+      String name,
+      List<Class<?>> parameterTypes,
+      int arity,
+      int varargFromArgumentNo) {}
+
+  private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+  private static final Map<Key, MethodHandle> handles = new ConcurrentHashMap<>();
+
+  /**
+   * A method of the receiver's class, called on the receiver, for receivers of any class. The array
+   * passed to a handle holds the receiver and then the arguments.
+   */
+  public static InstanceMethod forInstanceMethod(
+      String name, List<Class<?>> parameterTypes, int arity, int varargFromArgumentNo) {
+    return new InstanceMethod(name, List.copyOf(parameterTypes), arity, varargFromArgumentNo);
+  }
+
+  /**
+   * An instance method whose handle for each receiver class is kept in a {@link ClassValue}, so
+   * that looking a handle up again allocates nothing, eg on a call site too megamorphic for its
+   * {@link InlineCache}.
+   */
+  public static final class InstanceMethod extends ClassValue<MethodHandle>
+      implements Function<Class<?>, MethodHandle> {
+
+    private final String name;
+    private final List<Class<?>> parameterTypes;
+    private final int arity;
+    private final int varargFromArgumentNo;
+
+    private InstanceMethod(
+        String name, List<Class<?>> parameterTypes, int arity, int varargFromArgumentNo) {
+      this.name = name;
+      this.parameterTypes = parameterTypes;
+      this.arity = arity;
+      this.varargFromArgumentNo = varargFromArgumentNo;
+    }
+
+    /** The handle for a receiver of the given class. */
+    @Override
+    public MethodHandle apply(Class<?> receiver) {
+      return get(receiver);
+    }
+
+    @Override
+    protected MethodHandle computeValue(Class<?> receiver) {
+      return CallSites.get(
+          new Key(Kind.VIRTUAL, receiver, name, parameterTypes, arity, varargFromArgumentNo));
+    }
+  }
+
+  /** A static method of the given class. */
+  public static MethodHandle forStaticMethod(
+      Class<?> owner,
+      String name,
+      List<Class<?>> parameterTypes,
+      int arity,
+      int varargFromArgumentNo) {
+    return get(
+        new Key(
+            Kind.STATIC, owner, name, List.copyOf(parameterTypes), arity, varargFromArgumentNo));
+  }
+
+  /** A constructor of the given class. */
+  public static MethodHandle forConstructor(
+      Class<?> owner, List<Class<?>> parameterTypes, int arity, int varargFromArgumentNo) {
+    return get(
+        new Key(
+            Kind.CONSTRUCTOR,
+            owner,
+            "<init>",
+            List.copyOf(parameterTypes),
+            arity,
+            varargFromArgumentNo));
+  }
+
+  private static MethodHandle get(Key key) {
+    var handle = handles.get(key);
+    if (handle == null) {
+      handle = resolve(key);
+      handles.putIfAbsent(key, handle);
+    }
+    return handle;
+  }
+
+  private static MethodHandle resolve(Key key) {
+    var parameterTypes = key.parameterTypes().toArray(new Class<?>[0]);
+    MethodHandle handle;
+    var leading = 0;
+    try {
+      if (key.kind() == Kind.CONSTRUCTOR) {
+        var ctor = ConstructorUtils.getMatchingAccessibleConstructor(key.owner(), parameterTypes);
+        if (ctor == null) {
+          throw new MachineException(
+              "No such constructor found: %s/%d".formatted(key.owner(), key.arity()));
+        }
+        handle = lookup.unreflectConstructor(ctor);
+      } else {
+        var method = findMethod(key.owner(), key.name(), parameterTypes);
+        if (method == null) {
+          throw new MachineException(
+              "No such method found: %s/%d".formatted(key.name(), key.arity()));
+        }
+        handle = lookup.unreflect(method);
+        if (key.kind() == Kind.VIRTUAL) {
+          leading = 1;
+          if (Modifier.isStatic(method.getModifiers())) { // Called through an instance.
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+          }
+        }
+      }
+      handle = handle.asFixedArity();
+      if (key.varargFromArgumentNo() != -1) {
+        handle =
+            handle.asCollector(
+                leading + key.varargFromArgumentNo(),
+                key.parameterTypes().get(key.varargFromArgumentNo()),
+                key.arity() - key.varargFromArgumentNo());
+      }
+      var count = leading + key.arity();
+      return handle
+          .asType(MethodType.genericMethodType(count))
+          .asSpreader(Object[].class, count);
+    } catch (IllegalAccessException | IllegalArgumentException | WrongMethodTypeException e) {
+      throw new MachineException(
+          "Failed to resolve %s/%d: %s".formatted(key.name(), key.arity(), e.getMessage()));
+    }
+  }
+
+  /**
+   * The method matching the parameter types, looked up in the first type of the owner's hierarchy
+   * which can be accessed: a receiver's class may not be, eg a proxy, a lambda or a JDK internal
+   * class, but one of the public interfaces it implements will.
+   */
+  private static Method findMethod(Class<?> owner, String name, Class<?>[] parameterTypes) {
+    for (var type : ClassUtils.hierarchy(owner, ClassUtils.Interfaces.INCLUDE)) {
+      if (Modifier.isPublic(type.getModifiers())
+          && type.getModule().isExported(type.getPackageName())) {
+        var method = MethodUtils.getMatchingAccessibleMethod(type, name, parameterTypes);
+        if (method != null) {
+          return method;
+        }
+      }
+    }
+    return null;
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandleProxies;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
+
+/**
+ * Turns Forth words into instances of Java functional interfaces, eg {@code Function}, {@code
+ * Predicate}, {@code Comparator} or {@code Runnable}, so that Java code can call back into Forth.
+ *
+ * <p>Calling the single abstract method of the instance pushes its arguments onto ParameterStack,
+ * the first one first, runs the word through {@link Machine#executeWord(int)} and, unless the
+ * method is void, pops the word's result. A numeric result is converted to the primitive return
+ * type of the method, if any, and a boolean result can also be any number, zero being false.
+ *
+ * <p>A machine runs one word at a time: calls from other threads, eg of a parallel stream, wait for
+ * their turn.
+ */
+public class Callbacks {
+
+  private static final MethodHandle CALL;
+
+  static {
+    try {
+      CALL =
+          MethodHandles.lookup()
+              .findStatic(
+                  Callbacks.class,
+                  "call",
+                  MethodType.methodType(
+                      Object.class, Machine.class, int.class, Class.class, Object[].class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      throw new ExceptionInInitializerError(e);
+    }
+  }
+
+  /**
+   * An instance of the given interface which runs the word of the given execution token.
+   *
+   * @throws MachineException if the type isn't a functional interface
+   */
+  public static Object of(Machine machine, int xt, Class<?> type) {
+    var method = getAbstractMethod(type);
+    var methodType = MethodType.methodType(method.getReturnType(), method.getParameterTypes());
+    var handle =
+        MethodHandles.insertArguments(CALL, 0, machine, xt, method.getReturnType())
+            .asCollector(Object[].class, method.getParameterCount())
+            .asType(methodType);
+    return MethodHandleProxies.asInterfaceInstance(type, handle);
+  }
+
+  private static Method getAbstractMethod(Class<?> type) {
+    if (!type.isInterface()) {
+      throw new MachineException("Not an interface: %s".formatted(type.getName()));
+    }
+    var methods =
+        Arrays.stream(type.getMethods())
+            .filter(m -> Modifier.isAbstract(m.getModifiers()) && !isObjectMethod(m))
+            .toList();
+    if (methods.size() != 1) {
+      throw new MachineException("Not a functional interface: %s".formatted(type.getName()));
+    }
+    return methods.get(0);
+  }
+
+  /** Whether the method is one of Object's which an interface redeclares, eg Comparator.equals. */
+  private static boolean isObjectMethod(Method method) {
+    try {
+      Object.class.getMethod(method.getName(), method.getParameterTypes());
+      return true;
+    } catch (NoSuchMethodException _e) {
+      return false;
+    }
+  }
+
+  private static Object call(Machine machine, int xt, Class<?> returnType, Object[] arguments) {
+    synchronized (machine) {
+      for (var argument : arguments) {
+        machine.pushToParameterStack(argument);
+      }
+      machine.executeWord(xt);
+      if (returnType == void.class) {
+        return null;
+      }
+      return convert(machine.popFromParameterStack(), returnType);
+    }
+  }
+
+  private static Object convert(Object value, Class<?> type) {
+    if (type == boolean.class && value instanceof Number n) {
+      return n.longValue() != 0;
+    } else if (!type.isPrimitive() || !(value instanceof Number n)) {
+      return value;
+    } else if (type == int.class) {
+      return n.intValue();
+    } else if (type == long.class) {
+      return n.longValue();
+    } else if (type == double.class) {
+      return n.doubleValue();
+    } else if (type == float.class) {
+      return n.floatValue();
+    } else if (type == short.class) {
+      return n.shortValue();
+    } else if (type == byte.class) {
+      return n.byteValue();
+    } else {
+      return value;
+    }
+  }
+}
@@ -18,198 +18,107 @@
  */
 package bjforth.primitives.lib;
 
+import bjforth.config.Options;
 import bjforth.machine.MachineException;
-import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+/**
+ * Resolves the type names the Java interop words are given to classes.
+ *
+ * <p>A name containing '.' is looked up verbatim. Otherwise it's looked up in each of the imported
+ * packages in order, which are those of the {@code imports} startup option ('java.lang',
+ * 'java.util' and 'java.io' by default) followed by the ones added through {@link
+ * #addImport(String)}.
+ *
+ * <p>Both the classes found and the names which couldn't be found are cached, for all machines.
+ * The imports are shared by all machines too: the parsers of the interop words and the images
+ * resolve classes without a machine at hand, and bjForth runs a single machine per JVM.
+ */
 public class ClassCache {
 
-  private static HashMap<String, Class<?>> cache = new HashMap<>();
+  private static final List<String> imports =
+      new CopyOnWriteArrayList<>(Options.imports().split(","));
+
+  private static final Map<String, Optional<Class<?>>> cache = new ConcurrentHashMap<>();
 
   /**
-   * Tries to load the class from cache if exists.
-   *
-   * <p>If the type name contains '.', tries to look for the type name verbatim.
+   * The class of the given name.
    *
-   * <p>Otherwise looks in 'java.lang', 'java.util' and 'java.io' in order.
-   *
-   * <p>Throws if the type cannot be found.
-   *
-   * @throws MachineException
+   * @throws MachineException if the type cannot be found
    */
   public static Class<?> forName(String typeName) {
-    if (typeName.contains(".")) {
-      try {
-        if (cache.containsKey(typeName)) {
-          return cache.get(typeName);
-        } else {
-          var clazz = Class.forName(typeName);
-          cache.put(typeName, clazz);
-          return clazz;
-        }
-      } catch (ClassNotFoundException e) {
-        throw new MachineException(e.getMessage());
-      }
-    } else {
-      try {
-        var type = "java.lang.%s".formatted(typeName);
-        if (cache.containsKey(type)) {
-          return cache.get(type);
-        } else {
-          var clazz = Class.forName(type);
-          cache.put(type, clazz);
-          return clazz;
-        }
-      } catch (ClassNotFoundException _e) {
-        try {
-          var type = "java.util.%s".formatted(typeName);
-          if (cache.containsKey(type)) {
-            return cache.get(type);
-          } else {
-            var clazz = Class.forName(type);
-            cache.put(type, clazz);
-            return clazz;
-          }
-        } catch (ClassNotFoundException _ex) {
-          try {
-            var type = "java.io.%s".formatted(typeName);
-            if (cache.containsKey(type)) {
-              return cache.get(type);
-            } else {
-              var clazz = Class.forName(type);
-              cache.put(type, clazz);
-              return clazz;
-            }
-          } catch (ClassNotFoundException e) {
-            throw new MachineException(e.getMessage());
-          }
-        }
-      }
+    var clazz = cache.get(typeName);
+    if (clazz == null) {
+      clazz = resolve(typeName);
+      cache.putIfAbsent(typeName, clazz);
     }
+    return clazz.orElseThrow(
+        () -> new MachineException("Class not found: %s".formatted(typeName)));
   }
 
   /**
-   * Tries to load the variadic class from cache if exists.
+   * The array class for the variadic parameter of the given element type.
    *
-   * <p>If the type name contains '.', tries to look for the type name verbatim.
-   *
-   * <p>Otherwise looks in 'java.lang', 'java.util' and 'java.io' in order.
-   *
-   * <p>Throws if the type cannot be found.
-   *
-   * @throws MachineException
+   * @throws MachineException if the type cannot be found
    */
   public static Class<?> forNameVararg(String typeName) {
-    if (typeName.contains(".")) {
-      try {
-        var typeNameVararg = "[L%s;".formatted(typeName);
-        if (cache.containsKey(typeNameVararg)) {
-          return cache.get(typeNameVararg);
-        } else {
-          var clazz = Class.forName(typeNameVararg);
-          cache.put(typeNameVararg, clazz);
-          return clazz;
-        }
-      } catch (ClassNotFoundException e) {
-        throw new MachineException(e.getMessage());
-      }
-    } else {
-      try {
-        var typeNameVararg = "[Ljava.lang.%s;".formatted(typeName);
-        if (cache.containsKey(typeNameVararg)) {
-          return cache.get(typeNameVararg);
-        } else {
-          var clazz = Class.forName(typeNameVararg);
-          cache.put(typeNameVararg, clazz);
-          return clazz;
-        }
-      } catch (ClassNotFoundException _e) {
-        try {
-          var typeNameVararg = "[Ljava.util.%s;".formatted(typeName);
-          if (cache.containsKey(typeNameVararg)) {
-            return cache.get(typeNameVararg);
-          } else {
-            var clazz = Class.forName(typeNameVararg);
-            cache.put(typeNameVararg, clazz);
-            return clazz;
-          }
-        } catch (ClassNotFoundException _ex) {
-          try {
-            var typeNameVararg = "[Ljava.io.%s;".formatted(typeName);
-            if (cache.containsKey(typeNameVararg)) {
-              return cache.get(typeNameVararg);
-            } else {
-              var clazz = Class.forName(typeNameVararg);
-              cache.put(typeNameVararg, clazz);
-              return clazz;
-            }
-          } catch (ClassNotFoundException e) {
-            throw new MachineException(e.getMessage());
-          }
-        }
-      }
-    }
+    return forName(typeName).arrayType();
   }
 
   /**
-   * Tries to load the array class from cache if exists.
-   *
-   * <p>If the type name contains '.', tries to look for the array with type name verbatim.
-   *
-   * <p>Otherwise looks in 'java.lang', 'java.util' and 'java.io' in order.
+   * The array class of the given element type.
    *
-   * <p>Throws if the type cannot be found.
-   *
-   * @throws MachineException
+   * @throws MachineException if the type cannot be found
    */
   public static Class<?> forNameArray(String elementTypeName) {
-    if (elementTypeName.contains(".")) {
-      var arrayTypeName = "[L%s;".formatted(elementTypeName);
-      try {
-        if (cache.containsKey(arrayTypeName)) {
-          return cache.get(arrayTypeName);
-        } else {
-          var clazz = Class.forName(arrayTypeName);
-          cache.put(arrayTypeName, clazz);
-          return clazz;
-        }
-      } catch (ClassNotFoundException e) {
-        throw new MachineException(e.getMessage());
-      }
-    } else {
-      try {
-        var arrayTypeName = "[Ljava.lang.%s;".formatted(elementTypeName);
-        if (cache.containsKey(arrayTypeName)) {
-          return cache.get(arrayTypeName);
-        } else {
-          var clazz = Class.forName(arrayTypeName);
-          cache.put(arrayTypeName, clazz);
-          return clazz;
-        }
-      } catch (ClassNotFoundException _e) {
-        try {
-          var arrayTypeName = "[Ljava.util.%s;".formatted(elementTypeName);
-          if (cache.containsKey(arrayTypeName)) {
-            return cache.get(arrayTypeName);
-          } else {
-            var clazz = Class.forName(arrayTypeName);
-            cache.put(arrayTypeName, clazz);
-            return clazz;
-          }
-        } catch (ClassNotFoundException _ex) {
-          try {
-            var arrayTypeName = "[Ljava.io.%s;".formatted(elementTypeName);
-            if (cache.containsKey(arrayTypeName)) {
-              return cache.get(arrayTypeName);
-            } else {
-              var clazz = Class.forName(arrayTypeName);
-              cache.put(arrayTypeName, clazz);
-              return clazz;
-            }
-          } catch (ClassNotFoundException e) {
-            throw new MachineException(e.getMessage());
-          }
-        }
+    return forName(elementTypeName).arrayType();
+  }
+
+  /** Adds a package to look unqualified type names up in, after the ones already imported. */
+  public static void addImport(String packageName) {
+    if (!imports.contains(packageName)) {
+      imports.add(packageName);
+      cache.values().removeIf(Optional::isEmpty);
+    }
+  }
+
+  /**
+   * Goes back to the packages of the {@code imports} startup option and forgets the classes looked
+   * up, eg so that a test which imports a package doesn't leak it into the next ones.
+   */
+  public static void reset() {
+    imports.clear();
+    imports.addAll(List.of(Options.imports().split(",")));
+    cache.clear();
+  }
+
+  /** The packages unqualified type names are looked up in, in order. */
+  public static List<String> getImports() {
+    return List.copyOf(imports);
+  }
+
+  private static Optional<Class<?>> resolve(String typeName) {
+    if (typeName.contains(".")) {
+      return load(typeName);
+    }
+    for (var packageName : imports) {
+      var clazz = load(packageName + "." + typeName);
+      if (clazz.isPresent()) {
+        return clazz;
       }
     }
+    return Optional.empty();
+  }
+
+  private static Optional<Class<?>> load(String className) {
+    try {
+      return Optional.of(Class.forName(className, false, ClassCache.class.getClassLoader()));
+    } catch (ClassNotFoundException | LinkageError e) {
+      return Optional.empty();
+    }
   }
 }
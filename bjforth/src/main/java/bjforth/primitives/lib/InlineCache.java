@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import bjforth.config.Options;
+import java.lang.invoke.MethodHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A polymorphic inline cache for an instance method call site: the handle resolved for each
+ * receiver class the site has seen, checked in the order they were seen.
+ *
+ * <p>Once the site has seen more classes than the cache holds, it's considered megamorphic; the
+ * cache is dropped and every later call goes through the resolver, ie {@link
+ * CallSites.InstanceMethod}.
+ *
+ * <p>A site may be called from several threads. The entries are copy on write: a call reads the
+ * volatile array without locking, and a miss, which is rare, replaces it under the lock of the
+ * cache.
+ *
+ * <p>The hits, misses and megamorphic calls are counted for each site and for all of them, eg to be
+ * read from Forth with {@code ,< bjforth.primitives.lib.InlineCache/getTotalHits()/0 >,}. The
+ * counters are {@link LongAdder}s, as sites may be called from several threads.
+ */
+public class InlineCache {
+
+  private record Entry(Class<?> receiver, MethodHandle handle) {}
+
+  private static final Entry[] EMPTY = new Entry[0];
+
+  private static final LongAdder totalHits = new LongAdder();
+  private static final LongAdder totalMisses = new LongAdder();
+  private static final LongAdder totalMegamorphicCalls = new LongAdder();
+
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder megamorphicCalls = new LongAdder();
+
+  private final int size;
+  private volatile Entry[] entries = EMPTY;
+  private volatile boolean megamorphic = false;
+
+  /** A cache of the size set by the startup options. */
+  public InlineCache() {
+    this(Options.inlineCacheSize());
+  }
+
+  public InlineCache(int size) {
+    this.size = size;
+  }
+
+  /** The handle for the given receiver class, resolved through the given function on a miss. */
+  public MethodHandle get(Class<?> receiver, Function<Class<?>, MethodHandle> resolver) {
+    if (megamorphic) {
+      megamorphicCalls.increment();
+      totalMegamorphicCalls.increment();
+      return resolver.apply(receiver);
+    }
+    var entries = this.entries;
+    for (var entry : entries) {
+      if (entry.receiver() == receiver) {
+        hits.increment();
+        totalHits.increment();
+        return entry.handle();
+      }
+    }
+    misses.increment();
+    totalMisses.increment();
+    var handle = resolver.apply(receiver);
+    add(receiver, handle);
+    return handle;
+  }
+
+  private synchronized void add(Class<?> receiver, MethodHandle handle) {
+    var entries = this.entries;
+    for (var entry : entries) {
+      if (entry.receiver() == receiver) {
+        return; // Added by another thread meanwhile.
+      }
+    }
+    if (megamorphic) {
+      return;
+    } else if (entries.length < size) {
+      var grown = Arrays.copyOf(entries, entries.length + 1);
+      grown[entries.length] = new Entry(receiver, handle);
+      this.entries = grown;
+    } else {
+      megamorphic = true;
+      this.entries = EMPTY;
+    }
+  }
+
+  /** The number of receiver classes cached. */
+  public int getSize() {
+    return entries.length;
+  }
+
+  public boolean isMegamorphic() {
+    return megamorphic;
+  }
+
+  /** The number of calls on this site which found the receiver class in the cache. */
+  public long getHits() {
+    return hits.sum();
+  }
+
+  /** The number of calls on this site which had to resolve the handle for a new receiver class. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  /** The number of calls which bypassed the cache once this site became megamorphic. */
+  public long getMegamorphicCalls() {
+    return megamorphicCalls.sum();
+  }
+
+  /** The number of calls, on any site, which found the receiver class in the cache. */
+  public static long getTotalHits() {
+    return totalHits.sum();
+  }
+
+  /** The number of calls, on any site, which had to resolve the handle for a new receiver class. */
+  public static long getTotalMisses() {
+    return totalMisses.sum();
+  }
+
+  /** The number of calls, on any megamorphic site, which bypassed the cache. */
+  public static long getTotalMegamorphicCalls() {
+    return totalMegamorphicCalls.sum();
+  }
+
+  public static void resetTotals() {
+    totalHits.reset();
+    totalMisses.reset();
+    totalMegamorphicCalls.reset();
+  }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Parses the numbers of the source without throwing, so that a word which isn't a number is
+ * cheap to reject.
+ *
+ * <p>An integer is scanned once, in any base, and is returned as the narrowest of Integer, Long and
+ * BigInteger which holds it. In base 10 anything else which reads as a decimal, eg {@code 1.5} or
+ * {@code -2E10}, is returned as a BigDecimal.
+ */
+public class NumberParser {
+
+  /**
+   * @return the number or null if the string isn't a number in the given base
+   */
+  public static Number parse(String s, int base) {
+    if (s == null || base < Character.MIN_RADIX || base > Character.MAX_RADIX) {
+      return null;
+    }
+    var length = s.length();
+    var negative = false;
+    var i = 0;
+    if (length > 0 && (s.charAt(0) == '-' || s.charAt(0) == '+')) {
+      negative = s.charAt(0) == '-';
+      i = 1;
+    }
+    if (i == length) {
+      return null;
+    }
+    // Accumulates negatively, like Long.parseLong, so that Long.MIN_VALUE fits.
+    var limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    var multiplyLimit = limit / base;
+    var result = 0L;
+    var overflow = false;
+    for (; i < length; i++) {
+      var digit = Character.digit(s.charAt(i), base);
+      if (digit < 0) {
+        return base == 10 ? parseDecimal(s) : null;
+      } else if (!overflow) {
+        if (result < multiplyLimit || result * base < limit + digit) {
+          overflow = true;
+        } else {
+          result = result * base - digit;
+        }
+      }
+    }
+    if (overflow) {
+      return new BigInteger(s, base);
+    }
+    var value = negative ? result : -result;
+    if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+      return (int) value;
+    }
+    return value;
+  }
+
+  /** {@code [+-] digits [. digits] [(e|E) [+-] digits]} with at least one mantissa digit. */
+  private static BigDecimal parseDecimal(String s) {
+    var length = s.length();
+    var i = 0;
+    if (s.charAt(i) == '-' || s.charAt(i) == '+') {
+      i++;
+    }
+    var digits = 0;
+    for (; i < length && Character.isDigit(s.charAt(i)); i++) {
+      digits++;
+    }
+    if (i < length && s.charAt(i) == '.') {
+      for (i++; i < length && Character.isDigit(s.charAt(i)); i++) {
+        digits++;
+      }
+    }
+    if (digits == 0) {
+      return null;
+    }
+    if (i < length && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+      i++;
+      if (i < length && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+        i++;
+      }
+      var exponentStart = i;
+      for (; i < length && Character.isDigit(s.charAt(i)); i++) {}
+      if (i == exponentStart) {
+        return null;
+      }
+    }
+    if (i != length) {
+      return null;
+    }
+    try {
+      return new BigDecimal(s);
+    } catch (NumberFormatException e) { // Only when the exponent doesn't fit an int.
+      return null;
+    }
+  }
+}
@@ -34,9 +34,9 @@ public class NumberUtils {
     } else if (n1 instanceof BigInteger || n2 instanceof BigInteger) {
       return asBigInteger(n1).add(asBigInteger(n2));
     } else if (n1 instanceof Long || n2 instanceof Long) {
-      return asLong(n1) + asLong(n2);
+      return addExact(asLong(n1), asLong(n2));
     } else if (n1 instanceof Integer || n2 instanceof Integer) {
-      return asInteger(n1) + asInteger(n2);
+      return addExact(asInteger(n1), asInteger(n2));
     } else if (n1 instanceof Short || n2 instanceof Short) {
       return asShort(n1) + asShort(n2);
     } else if (n1 instanceof Byte || n2 instanceof Byte) {
@@ -56,9 +56,9 @@ public class NumberUtils {
     } else if (n1 instanceof BigInteger || n2 instanceof BigInteger) {
       return asBigInteger(n1).add(asBigInteger(n2).negate());
     } else if (n1 instanceof Long || n2 instanceof Long) {
-      return asLong(n1) - asLong(n2);
+      return subtractExact(asLong(n1), asLong(n2));
     } else if (n1 instanceof Integer || n2 instanceof Integer) {
-      return asInteger(n1) - asInteger(n2);
+      return subtractExact(asInteger(n1), asInteger(n2));
     } else if (n1 instanceof Short || n2 instanceof Short) {
       return asShort(n1) - asShort(n2);
     } else if (n1 instanceof Byte || n2 instanceof Byte) {
@@ -68,20 +68,84 @@ public class NumberUtils {
     }
   }
 
+  /*
+   * Arithmetic on fixnums, ie Integers and Longs, which never overflows: the result is of the type
+   * of the operands if it fits and is promoted to a Long, or from a Long to a BigInteger, if it
+   * doesn't. Boxing goes through valueOf, which reuses the cached instances of small values.
+   */
+
+  public static Number addExact(int n1, int n2) {
+    return narrow((long) n1 + n2);
+  }
+
+  public static Number addExact(long n1, long n2) {
+    try {
+      return Math.addExact(n1, n2);
+    } catch (ArithmeticException ex) {
+      return BigInteger.valueOf(n1).add(BigInteger.valueOf(n2));
+    }
+  }
+
+  public static Number subtractExact(int n1, int n2) {
+    return narrow((long) n1 - n2);
+  }
+
+  public static Number subtractExact(long n1, long n2) {
+    try {
+      return Math.subtractExact(n1, n2);
+    } catch (ArithmeticException ex) {
+      return BigInteger.valueOf(n1).subtract(BigInteger.valueOf(n2));
+    }
+  }
+
+  public static Number multiplyExact(int n1, int n2) {
+    return narrow((long) n1 * n2);
+  }
+
+  public static Number multiplyExact(long n1, long n2) {
+    try {
+      return Math.multiplyExact(n1, n2);
+    } catch (ArithmeticException ex) {
+      return BigInteger.valueOf(n1).multiply(BigInteger.valueOf(n2));
+    }
+  }
+
+  /** Only MIN_VALUE / -1 overflows. */
+  public static Number divideExact(int n1, int n2) {
+    return narrow((long) n1 / n2);
+  }
+
+  public static Number divideExact(long n1, long n2) {
+    if (n1 == Long.MIN_VALUE && n2 == -1) {
+      return BigInteger.valueOf(n1).negate();
+    } else {
+      return n1 / n2;
+    }
+  }
+
+  /** An Integer if the value fits in one, otherwise a Long. */
+  private static Number narrow(long value) {
+    if ((int) value == value) {
+      return Integer.valueOf((int) value);
+    } else {
+      return Long.valueOf(value);
+    }
+  }
+
   public static BigDecimal asBigDecimal(Number n) {
     if (n instanceof BigDecimal bd) {
       return bd;
     } else if (n instanceof BigInteger bi) {
       return new BigDecimal(bi);
     } else if (n instanceof Double) {
-      return BigDecimal.valueOf((double) n);
+      return BigDecimal.valueOf(n.doubleValue());
     } else if (n instanceof Float) {
       return BigDecimal.valueOf(asDouble(n));
     } else if (n instanceof Long
         || n instanceof Integer
         || n instanceof Short
         || n instanceof Byte) {
-      return BigDecimal.valueOf((long) n);
+      return BigDecimal.valueOf(n.longValue());
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -89,14 +153,16 @@ public class NumberUtils {
 
   public static Double asDouble(Number n) {
     if (n instanceof Double) {
-      return (double) n;
+      return n.doubleValue();
     } else if (n instanceof Float) {
-      return Double.valueOf((float) n);
+      return n.doubleValue();
+    } else if (n instanceof BigInteger || n instanceof BigDecimal) {
+      return n.doubleValue();
     } else if (n instanceof Long
         || n instanceof Integer
         || n instanceof Short
         || n instanceof Byte) {
-      return Double.valueOf((long) n);
+      return Double.valueOf(n.longValue());
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -104,12 +170,14 @@ public class NumberUtils {
 
   public static Float asFloat(Number n) {
     if (n instanceof Float) {
-      return (float) n;
+      return n.floatValue();
+    } else if (n instanceof BigInteger || n instanceof BigDecimal) {
+      return n.floatValue();
     } else if (n instanceof Long
         || n instanceof Integer
         || n instanceof Short
         || n instanceof Byte) {
-      return Float.valueOf((long) n);
+      return Float.valueOf(n.longValue());
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -122,7 +190,7 @@ public class NumberUtils {
         || n instanceof Integer
         || n instanceof Short
         || n instanceof Byte) {
-      return BigInteger.valueOf((long) n);
+      return BigInteger.valueOf(n.longValue());
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -130,7 +198,7 @@ public class NumberUtils {
 
   public static Long asLong(Number n) {
     if (n instanceof Long || n instanceof Integer || n instanceof Short || n instanceof Byte) {
-      return (long) n;
+      return n.longValue();
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -138,7 +206,7 @@ public class NumberUtils {
 
   public static Integer asInteger(Number n) {
     if (n instanceof Integer || n instanceof Short || n instanceof Byte) {
-      return (int) n;
+      return n.intValue();
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -146,7 +214,7 @@ public class NumberUtils {
 
   public static Short asShort(Number n) {
     if (n instanceof Short || n instanceof Byte) {
-      return (short) n;
+      return n.shortValue();
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -154,7 +222,7 @@ public class NumberUtils {
 
   public static Byte asByte(Number n) {
     if (n instanceof Byte) {
-      return (byte) n;
+      return n.byteValue();
     } else {
       throw new MachineException("unsupported subtype of Number");
     }
@@ -18,7 +18,10 @@
  */
 package bjforth.variables;
 
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 public class Variables {
 
@@ -50,18 +53,30 @@ public class Variables {
     }
   }
 
-  private static final Variable varHERE = new DefaultVariableImpl("HERE", 0, 4);
+  /** The fixed addresses of the variables, for the code which reads or writes them all the time. */
+  public static final int HERE_ADDRESS = 0;
 
-  private static final Variable varSTATE = new DefaultVariableImpl("STATE", 1, 0);
+  public static final int STATE_ADDRESS = 1;
 
-  private static final Variable varBASE = new DefaultVariableImpl("BASE", 2, 10);
+  public static final int BASE_ADDRESS = 2;
+
+  public static final int LATEST_ADDRESS = 3;
+
+  private static final Variable varHERE = new DefaultVariableImpl("HERE", HERE_ADDRESS, 4);
+
+  private static final Variable varSTATE = new DefaultVariableImpl("STATE", STATE_ADDRESS, 0);
+
+  private static final Variable varBASE = new DefaultVariableImpl("BASE", BASE_ADDRESS, 10);
 
   private static final Variable varLATEST =
-      new DefaultVariableImpl("LATEST", 3, 1); // TODO Dummy initial value
+      new DefaultVariableImpl("LATEST", LATEST_ADDRESS, 1); // TODO Dummy initial value
 
   public static Variable get(String name) {
-    return variables.stream().filter(variable -> variable.getName().equals(name)).findFirst().get();
+    return byName.get(name);
   }
 
   public static Set<Variable> variables = Set.of(varHERE, varSTATE, varBASE, varLATEST);
+
+  private static final Map<String, Variable> byName =
+      variables.stream().collect(Collectors.toMap(Variable::getName, Function.identity()));
 }
@@ -20,6 +20,7 @@ package bjforth.machine;
 
 public class MachineBuilder {
   private MachineState state;
+  private String engine;
 
   private MachineBuilder() {}
 
@@ -32,7 +33,12 @@ public class MachineBuilder {
     return this;
   }
 
+  public MachineBuilder withEngine(String engine) {
+    this.engine = engine;
+    return this;
+  }
+
   public Machine build() {
-    return new Machine(state);
+    return engine == null ? new Machine(state) : new Machine(state, engine);
   }
 }
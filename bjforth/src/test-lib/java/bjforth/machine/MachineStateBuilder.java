@@ -23,10 +23,10 @@ import bjforth.variables.Variable;
 public class MachineStateBuilder {
   private Integer instructionPointer = 0;
   private Integer nextInstructionPointer = 0;
-  private Memory memory = new Memory();
+  private Memory memory = Memory.newMemory();
   private Dictionary dictionary = new Dictionary();
   private Stack returnStack = new Stack();
-  private Stack parameterStack = new Stack();
+  private Stack parameterStack = Stack.newParameterStack();
 
   private MachineStateBuilder() {}
 
@@ -20,9 +20,7 @@ package bjforth.machine;
 
 import static org.apache.commons.lang3.reflect.FieldUtils.readDeclaredField;
 
-import java.util.Deque;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.Map;
 import java.util.Set;
 import org.apache.commons.lang3.function.FailableCallable;
@@ -37,13 +35,8 @@ public class MachineStateInspectionUtils {
     }
   }
 
-  @SuppressWarnings("unchecked")
   public static Set<Integer> memoryAddresses(MachineState ms) {
-    return inspect(
-        () -> {
-          var cells = (Map<Integer, ?>) readDeclaredField(ms.getMemory(), "cells", true);
-          return cells.keySet();
-        });
+    return ms.getMemory().getAddresses();
   }
 
   @SuppressWarnings("unchecked")
@@ -56,55 +49,27 @@ public class MachineStateInspectionUtils {
   }
 
   public static Integer returnStackSize(MachineState ms) {
-    return inspect(
-        () -> {
-          var data = (Deque<?>) readDeclaredField(ms.getReturnStack(), "data", true);
-          return data.size();
-        });
+    return ms.getReturnStack().size();
   }
 
-  @SuppressWarnings("unchecked")
   public static Iterator<Object> returnStackDescendingIterator(MachineState ms) {
-    return inspect(
-        () -> {
-          var data = (LinkedList<Object>) readDeclaredField(ms.getReturnStack(), "data", true);
-          return data.descendingIterator();
-        });
+    return ms.getReturnStack().descendingIterator();
   }
 
-  @SuppressWarnings("unchecked")
   public static Iterator<Object> returnStackAscendingIterator(MachineState ms) {
-    return inspect(
-        () -> {
-          var data = (LinkedList<Object>) readDeclaredField(ms.getReturnStack(), "data", true);
-          return data.iterator();
-        });
+    return ms.getReturnStack().iterator();
   }
 
   public static Integer parameterStackSize(MachineState ms) {
-    return inspect(
-        () -> {
-          var data = (Deque<?>) readDeclaredField(ms.getParameterStack(), "data", true);
-          return data.size();
-        });
+    return ms.getParameterStack().size();
   }
 
-  @SuppressWarnings("unchecked")
   public static Iterator<Object> parameterStackDescendingIterator(MachineState ms) {
-    return inspect(
-        () -> {
-          var data = (LinkedList<Object>) readDeclaredField(ms.getParameterStack(), "data", true);
-          return data.descendingIterator();
-        });
+    return ms.getParameterStack().descendingIterator();
   }
 
-  @SuppressWarnings("unchecked")
   public static Iterator<Object> parameterStackAscendingIterator(MachineState ms) {
-    return inspect(
-        () -> {
-          var data = (LinkedList<Object>) readDeclaredField(ms.getParameterStack(), "data", true);
-          return data.iterator();
-        });
+    return ms.getParameterStack().iterator();
   }
 
   public static Integer instructionPointer(MachineState ms) {
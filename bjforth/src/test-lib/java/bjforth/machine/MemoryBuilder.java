@@ -23,7 +23,7 @@ import static bjforth.machine.MachineStateInspectionUtils.memoryAddresses;
 import java.util.Map;
 
 public class MemoryBuilder {
-  private Memory memory = new Memory();
+  private Memory memory = Memory.newMemory();
 
   private MemoryBuilder() {}
 
@@ -24,7 +24,7 @@ import java.util.Arrays;
 import java.util.List;
 
 public class ParameterStackBuilder {
-  private Stack parameterStack = new Stack();
+  private Stack parameterStack = Stack.newParameterStack();
 
   private ParameterStackBuilder() {}
 
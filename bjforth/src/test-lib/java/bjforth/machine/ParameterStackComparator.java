@@ -19,8 +19,6 @@
 package bjforth.machine;
 
 import java.util.Comparator;
-import java.util.Deque;
-import org.apache.commons.lang3.reflect.FieldUtils;
 
 public class ParameterStackComparator implements Comparator<Stack> {
 
@@ -31,20 +29,13 @@ public class ParameterStackComparator implements Comparator<Stack> {
   }
 
   @Override
-  @SuppressWarnings("unchecked")
   public int compare(Stack s1, Stack s2) {
-    try {
-      var data1 = (Deque<Object>) FieldUtils.readDeclaredField(s1, "data", true);
-      var data2 = (Deque<Object>) FieldUtils.readDeclaredField(s2, "data", true);
-      if (data1.size() != data2.size()) return 1;
-      var i1 = data1.descendingIterator();
-      var i2 = data2.descendingIterator();
-      while (i1.hasNext()) {
-        if (!i1.next().equals(i2.next())) return 1;
-      }
-      return 0;
-    } catch (IllegalAccessException e) {
-      throw new RuntimeException(e);
+    if (s1.size() != s2.size()) return 1;
+    var i1 = s1.descendingIterator();
+    var i2 = s2.descendingIterator();
+    while (i1.hasNext()) {
+      if (!i1.next().equals(i2.next())) return 1;
     }
+    return 0;
   }
 }
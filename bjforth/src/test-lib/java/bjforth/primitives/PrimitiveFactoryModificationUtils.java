@@ -23,11 +23,16 @@ import org.apache.commons.lang3.reflect.FieldUtils;
 
 public class PrimitiveFactoryModificationUtils {
 
+  /**
+   * Puts the registered primitive back in its container, in case a test replaced it, so that the
+   * container and the ids of {@link PrimitiveFactory} still agree.
+   */
   public static void resetPrimitive(String name) {
     try {
       var containerObject =
           FieldUtils.readStaticField(PrimitiveFactory.class, "container" + name, true);
-      FieldUtils.writeField(containerObject, "instance", null, true);
+      var id = PrimitiveFactory.getPrimitiveContainers().indexOf(containerObject);
+      FieldUtils.writeField(containerObject, "instance", PrimitiveFactory.getPrimitive(id), true);
     } catch (IllegalAccessException e) {
       throw new RuntimeException(e);
     }
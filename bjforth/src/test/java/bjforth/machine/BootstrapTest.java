@@ -70,4 +70,25 @@ class BootstrapTest {
     assertThat(actualState)
         .hasMemoryEqualTo(Variables.get("LATEST").getAddress(), totalVariablesAndWords - 1);
   }
+
+  @Test
+  @DisplayName("should read and write variables through the machine")
+  void variableAccessors() {
+    // GIVEN
+    var actualState = aMachineState().build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.setHere(machine.getHere() + 2);
+    machine.setCompilationState(1);
+    machine.setBase(16);
+    machine.setLatest(machine.getLatest() + 1);
+
+    // THEN
+    assertThat(actualState)
+        .hasMemoryEqualTo(Variables.get("HERE").getAddress(), totalVariablesAndWords + 2)
+        .hasMemoryEqualTo(Variables.get("STATE").getAddress(), 1)
+        .hasMemoryEqualTo(Variables.get("BASE").getAddress(), 16)
+        .hasMemoryEqualTo(Variables.get("LATEST").getAddress(), totalVariablesAndWords);
+  }
 }
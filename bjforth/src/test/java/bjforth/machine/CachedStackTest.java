@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class CachedStackTest {
+
+  @Test
+  void registerIsPartOfTheStack() {
+    // GIVEN
+    var stack = new CachedStack();
+
+    // WHEN
+    stack.pushInt(10);
+    stack.push("20");
+
+    // THEN
+    assertThat(stack.size()).isEqualTo(2);
+    assertThat(stack.peek()).isEqualTo("20");
+    assertThat(stack.getItem(0)).isEqualTo("20");
+    assertThat(stack.getItem(1)).isEqualTo(10);
+    assertThat(stack.isIntOrLong(0)).isFalse();
+    assertThat(stack.isInt(1)).isTrue();
+    assertThat(stack.isInt(2)).isFalse();
+  }
+
+  @Test
+  void stackPointersSeeTheRegister() {
+    // GIVEN
+    var stack = new CachedStack();
+    stack.pushInt(1);
+    stack.pushInt(2);
+    stack.pushInt(3);
+
+    // WHEN
+    var pointer = stack.getPointer();
+    stack.setPointer(1);
+
+    // THEN
+    assertThat(pointer).isEqualTo(2);
+    assertThat(stack.popInt()).isEqualTo(3);
+    assertThat(stack.popInt()).isEqualTo(2);
+    assertThat(stack.peek()).isNull();
+  }
+
+  @Test
+  void manipulationWorksAcrossTheRegister() {
+    // GIVEN
+    var stack = new CachedStack();
+    stack.pushInt(1);
+    stack.pushLong(2L);
+    stack.pushInt(3);
+
+    // WHEN
+    stack.rot();
+    stack.over();
+    stack.swap();
+    stack.dup();
+    stack.drop();
+    stack.over();
+
+    // THEN
+    assertThat(stack.popInt()).isEqualTo(3);
+    assertThat(stack.popInt()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(3);
+    assertThat(stack.pop()).isEqualTo(3);
+    assertThat(stack.pop()).isEqualTo(2L);
+    assertThat(stack.peek()).isNull();
+  }
+
+  @Test
+  void nipWorksAcrossTheRegister() {
+    // GIVEN
+    var stack = new CachedStack();
+    stack.pushInt(1);
+    stack.pushInt(2);
+    stack.pushInt(3);
+
+    // WHEN
+    stack.nip();
+    stack.pop();
+    stack.push(4);
+    stack.nip();
+
+    // THEN
+    assertThat(stack.peekInt()).isEqualTo(4);
+    assertThat(stack.pop()).isEqualTo(4);
+    assertThat(stack.peek()).isNull();
+    stack.pushInt(5);
+    assertThrows(NoSuchElementException.class, stack::nip);
+    assertThat(stack.size()).isEqualTo(0);
+  }
+
+  @Test
+  void manipulationEmptiesStackOnUnderflow() {
+    // GIVEN
+    var stack = new CachedStack();
+    stack.pushInt(1);
+
+    // EXPECT
+    assertThrows(NoSuchElementException.class, stack::swap);
+    assertThat(stack.size()).isEqualTo(0);
+    assertThat(stack.peek()).isNull();
+  }
+
+  @Test
+  void copiesTheRegister() {
+    // GIVEN
+    var stack = new CachedStack();
+    stack.pushInt(1);
+    stack.pushLong(2L);
+
+    // WHEN
+    var copy = stack.copy();
+    stack.drop();
+
+    // THEN
+    assertThat(copy.size()).isEqualTo(2);
+    assertThat(copy.popLong()).isEqualTo(2L);
+    assertThat(copy.popInt()).isEqualTo(1);
+  }
+}
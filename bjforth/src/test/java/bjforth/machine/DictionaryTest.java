@@ -110,7 +110,7 @@ class DictionaryTest {
         .hasValueSatisfying(v -> List.of(dictItem1).equals(v));
   }
 
-  @DisplayName("#getNames should return the names of all the entries.")
+  @DisplayName("#getNames should return the folded names of all the entries.")
   @Test
   void getNames() {
     // GIVEN
@@ -126,6 +126,70 @@ class DictionaryTest {
     var names = dict.getNames();
 
     // THEN
-    assertThat(names).hasSize(2).containsAll(List.of(name1, name2));
+    assertThat(names)
+        .hasSize(2)
+        .containsAll(List.of(Dictionary.fold(name1), Dictionary.fold(name2)));
+  }
+
+  @DisplayName("#get(String) should return the oldest item and #findVisible the newest visible one")
+  @Test
+  void shadowingOrder() {
+    // GIVEN
+    var dict = new Dictionary();
+    var dictItem1 = new DictionaryItem("word", 0, false, false);
+    dict.put("word", dictItem1);
+    var dictItem2 = new DictionaryItem("WORD", 1, false, false);
+    dict.put("WORD", dictItem2);
+    var dictItem3 = new DictionaryItem("Word", 2, false, true);
+    dict.put("Word", dictItem3);
+
+    // EXPECT
+    assertThat(dict.get("word")).hasValue(dictItem1);
+    assertThat(dict.findVisible("WORD")).hasValue(dictItem2);
+    assertThat(dict.get(2)).hasValue(dictItem3);
+  }
+
+  @DisplayName("#remove should fold the name and drop the item from the address index.")
+  @Test
+  void removeByAddress() {
+    // GIVEN
+    var dict = new Dictionary();
+    var dictItem1 = new DictionaryItem("word", 0, false, false);
+    dict.put("word", dictItem1);
+    var dictItem2 = new DictionaryItem("word", 1, false, false);
+    dict.put("word", dictItem2);
+
+    // WHEN
+    dict.remove("word");
+
+    // THEN
+    assertThat(dict.get(1)).isEmpty();
+    assertThat(dict.get(0)).hasValue(dictItem1);
+    assertThat(dict.findVisible("WORD")).hasValue(dictItem1);
+  }
+
+  @DisplayName("#findVisible(Token) should follow the changes since the token was last found")
+  @Test
+  void findVisibleByToken() {
+    // GIVEN
+    var dict = new Dictionary();
+    var token = new Token("word");
+    var dictItem1 = new DictionaryItem("WORD", 0, false, false);
+    dict.put("WORD", dictItem1);
+    assertThat(dict.findVisible(token)).hasValue(dictItem1);
+
+    // WHEN
+    var dictItem2 = new DictionaryItem("word", 1, false, true);
+    dict.put("word", dictItem2);
+
+    // THEN
+    assertThat(dict.findVisible(token)).hasValue(dictItem1);
+    dictItem2.setIsHidden(false);
+    assertThat(dict.findVisible(token)).hasValue(dictItem2);
+    dict.setSearchOrder(new int[] {dict.createWordlist()});
+    assertThat(dict.findVisible(token)).isEmpty();
+    dict.setSearchOrder(new int[] {Dictionary.FORTH_WORDLIST});
+    dict.remove("word");
+    assertThat(dict.findVisible(token)).hasValue(dictItem1);
   }
 }
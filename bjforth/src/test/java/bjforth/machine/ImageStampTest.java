@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageStampTest {
+
+  @Test
+  void skipsFilesSavedFrom(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var library = Files.writeString(dir.resolve("library.forth"), ": SQ DUP * ;");
+    var program = Files.writeString(dir.resolve("program.forth"), "3 SQ .");
+    var stamp = ImageStamp.of(List.of(ImageStamp.Source.of(library)));
+
+    // EXPECT
+    assertEquals(Optional.of(List.of(program)), stamp.unread(List.of(library, program)));
+    assertEquals(Optional.of(List.of(program)), stamp.unread(List.of(program)));
+    assertEquals(Optional.of(List.of()), stamp.unread(List.of()));
+  }
+
+  @Test
+  void isStaleIfFileChanged(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var library = Files.writeString(dir.resolve("library.forth"), ": SQ DUP * ;");
+    var stamp = ImageStamp.of(List.of(ImageStamp.Source.of(library)));
+    Files.writeString(library, ": SQ DUP DUP * * ;");
+
+    // EXPECT
+    assertEquals(Optional.empty(), stamp.unread(List.of(library)));
+  }
+
+  @Test
+  void isStaleIfSavedByAnotherBuild(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var library = Files.writeString(dir.resolve("library.forth"), ": SQ DUP * ;");
+    var stamp = new ImageStamp("another build", List.of(ImageStamp.Source.of(library)));
+
+    // EXPECT
+    assertEquals(Optional.empty(), stamp.unread(List.of(library)));
+  }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.primitives.ParsedValue;
+import bjforth.primitives.PrimitiveFactory;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ImageTest {
+
+  @Test
+  void savesAndLoads(@TempDir Path dir) {
+    // GIVEN
+    // : ADDER 1 + ;
+    var image = dir.resolve("test.image");
+    var machine = aMachine().withState(aMachineState().build()).build();
+    var here = machine.getHere();
+    machine.setMemoryAt(here, Machine.DOCOL_CODEWORD);
+    machine.setMemoryAt(here + 1, getPrimitiveAddress("LIT"));
+    machine.setMemoryAt(here + 2, 1);
+    machine.setMemoryAt(here + 3, getPrimitiveAddress("+"));
+    machine.setMemoryAt(here + 4, getPrimitiveAddress("EXIT"));
+    machine.setMemoryAt(here + 5, new BigDecimal("1.5"));
+    machine.setMemoryAt(here + 6, String.class);
+    machine.setMemoryAt(here + 7, PrimitiveFactory.parse(".<", "toString()/0 "));
+    machine.setMemoryAt(here + 8, "DOCOL");
+    machine.setHere(here + 9);
+    machine.createDictionaryItem("ADDER", new DictionaryItem("ADDER", here, false, false));
+    machine.setCurrentWordlist(machine.createWordlist());
+    machine.saveImage(image);
+
+    // WHEN
+    var actualState =
+        aMachineState().withParameterStack(aParameterStack().with(41).build()).build();
+    var loaded = aMachine().withState(actualState).build();
+    loaded.loadImage(image);
+    loaded.executeWord(loaded.findDictionaryItem("adder").get().getAddress());
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(42).build())
+        .hasMemoryEqualTo(here + 5, new BigDecimal("1.5"))
+        .hasMemoryEqualTo(here + 6, String.class);
+    assertSame(
+        machine.getMemoryAt(getPrimitiveAddress("DUP")),
+        loaded.getMemoryAt(getPrimitiveAddress("DUP")));
+    assertEquals("toString()/0 ", ((ParsedValue) loaded.getMemoryAt(here + 7)).getSource());
+    assertEquals("DOCOL", loaded.getMemoryAt(here + 8));
+    assertEquals(here + 9, loaded.getHere());
+    assertEquals(1, loaded.getCurrentWordlist());
+  }
+
+  @Test
+  void savesLongStrings(@TempDir Path dir) {
+    // GIVEN
+    var image = dir.resolve("test.image");
+    var machine = aMachine().withState(aMachineState().build()).build();
+    var here = machine.getHere();
+    var string = "\u00e9".repeat(40_000);
+    var number = new BigInteger("9".repeat(70_000));
+    machine.setMemoryAt(here, string);
+    machine.setMemoryAt(here + 1, number);
+    machine.setHere(here + 2);
+    machine.saveImage(image);
+
+    // WHEN
+    var actualState = aMachineState().build();
+    aMachine().withState(actualState).build().loadImage(image);
+
+    // THEN
+    assertThat(actualState).hasMemoryEqualTo(here, string).hasMemoryEqualTo(here + 1, number);
+  }
+
+  @Test
+  void keepsStamp(@TempDir Path dir) {
+    // GIVEN
+    var stream = dir.resolve("stream.image");
+    var mapped = dir.resolve("mapped.image");
+    var state = aMachineState().build();
+    aMachine().withState(state).build();
+    var stamp =
+        new ImageStamp("build", List.of(new ImageStamp.Source("/lib/bjForth.forth", "c0ffee")));
+
+    // WHEN
+    Image.save(state, stream, stamp);
+    MappedImage.save(state, mapped, stamp);
+
+    // THEN
+    assertEquals(Optional.of(stamp), Image.readStamp(stream));
+    assertEquals(Optional.of(stamp), Image.readStamp(mapped));
+  }
+
+  @Test
+  void hasNoStampIfNotAnImage(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("test.image"), ": SQ DUP * ;");
+
+    // EXPECT
+    assertEquals(Optional.empty(), Image.readStamp(file));
+  }
+
+  @Test
+  void throwsIfCellCannotBeSaved(@TempDir Path dir) {
+    // GIVEN
+    var machine = aMachine().withState(aMachineState().build()).build();
+    machine.setMemoryAt(machine.getHere(), new Object());
+
+    // EXPECT
+    assertThrows(MachineException.class, () -> machine.saveImage(dir.resolve("test.image")));
+  }
+
+  @Test
+  void throwsIfNotAnImage(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("test.image"), ": SQ DUP * ;");
+    var machine = aMachine().withState(aMachineState().build()).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, () -> machine.loadImage(file));
+  }
+}
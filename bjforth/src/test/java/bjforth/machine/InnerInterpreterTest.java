@@ -0,0 +1,308 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static bjforth.machine.ReturnStackBuilder.aReturnStack;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.config.Options;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class InnerInterpreterTest {
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void runsNestedWordsUntilHaltAddress(String engine) {
+    // GIVEN
+    // : INNER 1- DUP 0= 0BRANCH(-3) ;  : OUTER 3 INNER 10 + ;
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("1-"))
+                    .with(1002, getPrimitiveAddress("DUP"))
+                    .with(1003, getPrimitiveAddress("0="))
+                    .with(1004, getPrimitiveAddress("0BRANCH"))
+                    .with(1005, -4)
+                    .with(1006, getPrimitiveAddress("EXIT"))
+                    .with(2000, Machine.DOCOL_CODEWORD)
+                    .with(2001, getPrimitiveAddress("LIT"))
+                    .with(2002, 3)
+                    .with(2003, 1000)
+                    .with(2004, getPrimitiveAddress("LIT"))
+                    .with(2005, 10)
+                    .with(2006, getPrimitiveAddress("BRANCH"))
+                    .with(2007, 2)
+                    .with(2008, getPrimitiveAddress("DROP"))
+                    .with(2009, getPrimitiveAddress("+"))
+                    .with(2010, getPrimitiveAddress("EXIT"))
+                    .with(3000, 2000)
+                    .build())
+            .withInstrcutionPointer(3000)
+            .withNextInstructionPointer(3001)
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+
+    // WHEN
+    machine.run(3001);
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(10).build())
+        .hasInstructionPointerEqualTo(3001)
+        .hasNextInstructionPointerEqualTo(3001)
+        .hasReturnStackEqualTo(aReturnStack().build());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void leavesStateAtFailingPrimitive(String engine) {
+    // GIVEN
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("LIT"))
+                    .with(1002, "not a number")
+                    .with(1003, getPrimitiveAddress("0BRANCH"))
+                    .with(1004, 1)
+                    .with(1005, getPrimitiveAddress("EXIT"))
+                    .with(3000, 1000)
+                    .build())
+            .withInstrcutionPointer(3000)
+            .withNextInstructionPointer(3001)
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+
+    // EXPECT
+    var ex = assertThrows(MachineException.class, () -> machine.run(3001));
+    assertEquals("Invalid parameter type", ex.getMessage());
+    assertThat(actualState)
+        .hasInstructionPointerEqualTo(getPrimitiveAddress("0BRANCH"))
+        .hasNextInstructionPointerEqualTo(1004)
+        .hasReturnStackEqualTo(aReturnStack().with(3001).build());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void leavesStateAtFailingPrimitiveOfHotWord(String engine) {
+    // GIVEN
+    // : NIP SWAP DROP ;
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("SWAPDROP"))
+                    .with(1002, getPrimitiveAddress("DROP"))
+                    .with(1003, getPrimitiveAddress("EXIT"))
+                    .with(3000, 1000)
+                    .build())
+            .withParameterStack(aParameterStack().with(0).build())
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+    for (var i = 0; i < 2 * Options.jitThreshold(); i++) {
+      machine.pushToParameterStack(i);
+      call(machine, 3000);
+    }
+    machine.popFromParameterStack();
+    machine.pushToParameterStack(42);
+
+    // EXPECT
+    var ex = assertThrows(MachineException.class, () -> call(machine, 3000));
+    assertEquals("Stack error.", ex.getMessage());
+    assertThat(actualState)
+        .hasInstructionPointerEqualTo(getPrimitiveAddress("SWAPDROP"))
+        .hasNextInstructionPointerEqualTo(1002)
+        .hasReturnStackEqualTo(aReturnStack().with(3001).build());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void seesWritesIntoHotWords(String engine) {
+    // GIVEN
+    // : ADDER 1 + ;
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("LIT"))
+                    .with(1002, 1)
+                    .with(1003, getPrimitiveAddress("+"))
+                    .with(1004, getPrimitiveAddress("EXIT"))
+                    .with(3000, 1000)
+                    .build())
+            .withParameterStack(aParameterStack().with(0).build())
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+
+    // WHEN
+    for (var i = 0; i < 2 * Options.jitThreshold(); i++) {
+      call(machine, 3000);
+    }
+    machine.setMemoryAt(1002, 1000);
+    call(machine, 3000);
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(2 * Options.jitThreshold() + 1000).build())
+        .hasReturnStackEqualTo(aReturnStack().build());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void runsSelfModifyingWords(String engine) {
+    // GIVEN
+    // : COUNTER 1 + [ 1002 ] LITERAL @ 1+ [ 1002 ] LITERAL ! ;
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("LIT"))
+                    .with(1002, 1)
+                    .with(1003, getPrimitiveAddress("+"))
+                    .with(1004, getPrimitiveAddress("LIT"))
+                    .with(1005, 1002)
+                    .with(1006, getPrimitiveAddress("@"))
+                    .with(1007, getPrimitiveAddress("1+"))
+                    .with(1008, getPrimitiveAddress("LIT"))
+                    .with(1009, 1002)
+                    .with(1010, getPrimitiveAddress("!"))
+                    .with(1011, getPrimitiveAddress("EXIT"))
+                    .with(3000, 1000)
+                    .build())
+            .withParameterStack(aParameterStack().with(0).build())
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+    var calls = 2 * Options.jitThreshold();
+
+    // WHEN
+    for (var i = 0; i < calls; i++) {
+      call(machine, 3000);
+    }
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(calls * (calls + 1) / 2).build())
+        .hasReturnStackEqualTo(aReturnStack().build());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void runsSuperinstructions(String engine) {
+    // GIVEN
+    // : W 5 + DUP IF DUP OVER = THEN + 9 SWAP SWAP DROP 0 DUP IF 100 THEN + ;
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("LIT+"))
+                    .with(1002, 5)
+                    .with(1003, getPrimitiveAddress("+"))
+                    .with(1004, getPrimitiveAddress("DUP0BRANCH"))
+                    .with(1005, getPrimitiveAddress("0BRANCH"))
+                    .with(1006, 4)
+                    .with(1007, getPrimitiveAddress("DUP"))
+                    .with(1008, getPrimitiveAddress("OVER="))
+                    .with(1009, getPrimitiveAddress("="))
+                    .with(1010, getPrimitiveAddress("+"))
+                    .with(1011, getPrimitiveAddress("LIT"))
+                    .with(1012, 9)
+                    .with(1013, getPrimitiveAddress("SWAP"))
+                    .with(1014, getPrimitiveAddress("SWAPDROP"))
+                    .with(1015, getPrimitiveAddress("DROP"))
+                    .with(1016, getPrimitiveAddress("LIT"))
+                    .with(1017, 0)
+                    .with(1018, getPrimitiveAddress("DUP0BRANCH"))
+                    .with(1019, getPrimitiveAddress("0BRANCH"))
+                    .with(1020, 3)
+                    .with(1021, getPrimitiveAddress("LIT"))
+                    .with(1022, 100)
+                    .with(1023, getPrimitiveAddress("+"))
+                    .with(1024, getPrimitiveAddress("EXIT"))
+                    .with(3000, 1000)
+                    .build())
+            .withParameterStack(aParameterStack().with(0).build())
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+    var calls = 2 * Options.jitThreshold();
+
+    // WHEN
+    for (var i = 0; i < calls; i++) {
+      call(machine, 3000);
+    }
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(6 * calls).build())
+        .hasReturnStackEqualTo(aReturnStack().build());
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {Options.ENGINE_STEPPING, Options.ENGINE_DIRECT, Options.ENGINE_JIT})
+  void executesWordAndResumes(String engine) {
+    // GIVEN
+    // : ADDER 1 + ;
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("LIT"))
+                    .with(1002, 1)
+                    .with(1003, getPrimitiveAddress("+"))
+                    .with(1004, getPrimitiveAddress("EXIT"))
+                    .build())
+            .withParameterStack(aParameterStack().with(41).build())
+            .withInstrcutionPointer(3000)
+            .withNextInstructionPointer(3001)
+            .build();
+    var machine = aMachine().withState(actualState).withEngine(engine).build();
+
+    // WHEN
+    machine.executeWord(1000);
+    machine.executeWord(getPrimitiveAddress("DUP"));
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(42, 42).build())
+        .hasInstructionPointerEqualTo(3000)
+        .hasNextInstructionPointerEqualTo(3001)
+        .hasReturnStackEqualTo(aReturnStack().build());
+  }
+
+  private static void call(Machine machine, int callSite) {
+    machine.jumpTo(callSite);
+    machine.setNextInstructionPointer(callSite + 1);
+    machine.run(callSite + 1);
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class InputSourceTest {
+
+  private final TokenCache tokens = new TokenCache();
+
+  @Test
+  void readsAcrossBlocks() {
+    // GIVEN
+    var input = new InputSource(() -> new StringReader(": SQ DUP * ;"), 4);
+    var result = new StringBuilder();
+
+    // WHEN
+    for (var i = 0; i < 12; i++) {
+      result.append(input.read());
+    }
+
+    // THEN
+    assertThat(result.toString()).isEqualTo(": SQ DUP * ;");
+    assertThrows(GracefulShutdown.class, input::read);
+  }
+
+  @Test
+  void opensReaderOnFirstRead() {
+    // GIVEN
+    var opened = new boolean[] {false};
+    var input =
+        new InputSource(
+            () -> {
+              opened[0] = true;
+              return new StringReader("A");
+            });
+
+    // EXPECT
+    assertThat(opened[0]).isFalse();
+    assertThat(input.read()).isEqualTo('A');
+    assertThat(opened[0]).isTrue();
+  }
+
+  @Test
+  void readTokenSkipsBlanksAndComments() {
+    // GIVEN
+    var input = new InputSource(() -> new StringReader("  \t# a comment\n\r\nSWAP\tdrop\n"));
+
+    // EXPECT
+    assertThat(input.readToken(tokens).getText()).isEqualTo("SWAP");
+    var token = input.readToken(tokens);
+    assertThat(token.getText()).isEqualTo("drop");
+    assertThat(token.getFolded()).isEqualTo("DROP");
+    assertThrows(GracefulShutdown.class, () -> input.readToken(tokens));
+  }
+
+  @Test
+  void readTokenAcrossBlocks() {
+    // GIVEN
+    var input = new InputSource(() -> new StringReader("A LONGER-WORD B "), 4);
+
+    // EXPECT
+    assertThat(input.readToken(tokens).getText()).isEqualTo("A");
+    assertThat(input.readToken(tokens).getText()).isEqualTo("LONGER-WORD");
+    assertThat(input.readToken(tokens).getText()).isEqualTo("B");
+  }
+
+  @Test
+  void readTokenInternsTokens() {
+    // GIVEN
+    var input = new InputSource(() -> new StringReader("DUP dup DUP "));
+
+    // WHEN
+    var first = input.readToken(tokens);
+    var second = input.readToken(tokens);
+    var third = input.readToken(tokens);
+
+    // THEN
+    assertThat(first).isSameAs(third);
+    assertThat(second).isNotSameAs(first);
+    assertThat(second.getFolded()).isEqualTo(first.getFolded());
+  }
+
+  @Test
+  void sourcesShareTokens() {
+    // GIVEN
+    var input1 = new InputSource(() -> new StringReader("DUP "));
+    var input2 = new InputSource(() -> new StringReader("DUP "));
+
+    // EXPECT
+    assertThat(input1.readToken(tokens)).isSameAs(input2.readToken(tokens));
+  }
+
+  @Test
+  void readsFile(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("lib.forth"), ": ÄÖ 42 ;");
+    var input = InputSource.file(file);
+
+    // EXPECT
+    assertThat(input.readToken(tokens).getText()).isEqualTo(":");
+    assertThat(input.readToken(tokens).getText()).isEqualTo("ÄÖ");
+    assertThat(input.readToken(tokens).getText()).isEqualTo("42");
+    assertThat(input.readToken(tokens).getText()).isEqualTo(";");
+    assertThrows(GracefulShutdown.class, () -> input.readToken(tokens));
+  }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import bjforth.primitives.ParsedValue;
+import bjforth.primitives.PrimitiveFactory;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MappedImageTest {
+
+  @Test
+  void bootsFromImage(@TempDir Path dir) {
+    // GIVEN
+    // : ADDER 1 + ;
+    var image = dir.resolve("test.image");
+    var state = aMachineState().build();
+    var machine = aMachine().withState(state).build();
+    var here = machine.getHere();
+    machine.setMemoryAt(here, Machine.DOCOL_CODEWORD);
+    machine.setMemoryAt(here + 1, getPrimitiveAddress("LIT"));
+    machine.setMemoryAt(here + 2, 1);
+    machine.setMemoryAt(here + 3, getPrimitiveAddress("+"));
+    machine.setMemoryAt(here + 4, getPrimitiveAddress("EXIT"));
+    machine.setMemoryAt(here + 5, new BigDecimal("1.5"));
+    machine.setMemoryAt(here + 6, String.class);
+    machine.setMemoryAt(here + 7, PrimitiveFactory.parse(".<", "toString()/0 "));
+    machine.setMemoryAt(here + 8, "DOCOL");
+    machine.setHere(here + 9);
+    machine.setMemoryAt(1_000_000, 'c');
+    machine.createDictionaryItem("ADDER", new DictionaryItem("ADDER", here, false, false));
+    machine.setCurrentWordlist(machine.createWordlist());
+    MappedImage.save(state, image, ImageStamp.of(List.of()));
+
+    // WHEN
+    var booted = Machine.ofImage(image);
+    booted.pushToParameterStack(41);
+    booted.executeWord(booted.findDictionaryItem("adder").get().getAddress());
+
+    // THEN
+    assertEquals(42, booted.popFromParameterStack());
+    assertEquals(new BigDecimal("1.5"), booted.getMemoryAt(here + 5));
+    assertSame(String.class, booted.getMemoryAt(here + 6));
+    assertEquals("toString()/0 ", ((ParsedValue) booted.getMemoryAt(here + 7)).getSource());
+    assertSame(Machine.DOCOL_CODEWORD, booted.getMemoryAt(here));
+    assertEquals('c', booted.getMemoryAt(1_000_000));
+    assertNull(booted.getMemoryAt(1_000_001));
+    assertSame(
+        machine.getMemoryAt(getPrimitiveAddress("DUP")),
+        booted.getMemoryAt(getPrimitiveAddress("DUP")));
+    assertEquals("DOCOL", booted.getMemoryAt(here + 8));
+    assertEquals(here + 9, booted.getHere());
+    assertEquals(1, booted.getCurrentWordlist());
+  }
+
+  @Test
+  void writesShadowImage(@TempDir Path dir) {
+    // GIVEN
+    var image = dir.resolve("test.image");
+    var state = aMachineState().build();
+    var machine = aMachine().withState(state).build();
+    var here = machine.getHere();
+    machine.setMemoryAt(here, 1);
+    machine.setMemoryAt(here + 1, 2);
+    machine.setHere(here + 2);
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", here, false, false));
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", here + 1, false, false));
+    MappedImage.save(state, image, ImageStamp.of(List.of()));
+    var booted = Machine.ofImage(image);
+
+    // WHEN
+    booted.setMemoryAt(here, 10);
+    booted.setMemoryAt(here + 1, null);
+    booted.removeDictionaryItem("FOO");
+
+    // THEN
+    assertEquals(10, booted.getMemoryAt(here));
+    assertNull(booted.getMemoryAt(here + 1));
+    assertFalse(booted.getAllDictionaryItemNames().isEmpty());
+    assertEquals(here, booted.findDictionaryItem("FOO").get().getAddress());
+    assertEquals(here, booted.getDictionaryItem(here).get().getAddress());
+    assertTrue(booted.getDictionaryItem(here + 1).isEmpty());
+  }
+
+  @Test
+  void keepsCellsOutsideTheImage(@TempDir Path dir) {
+    // GIVEN
+    var image = dir.resolve("test.image");
+    var state = aMachineState().build();
+    var machine = aMachine().withState(state).build();
+    machine.setMemoryAt(-5, "minus five");
+    machine.setMemoryAt(1_000_000, "a million");
+    MappedImage.save(state, image, ImageStamp.of(List.of()));
+    var booted = Machine.ofImage(image);
+
+    // WHEN
+    booted.setMemoryAt(999_999, "below a million");
+    booted.setMemoryAt(2_000_000, "two million");
+    booted.setMemoryAt(1_000_000, "changed");
+
+    // THEN
+    assertEquals("minus five", booted.getMemoryAt(-5));
+    assertEquals("below a million", booted.getMemoryAt(999_999));
+    assertEquals("changed", booted.getMemoryAt(1_000_000));
+    assertEquals("two million", booted.getMemoryAt(2_000_000));
+    assertNull(booted.getMemoryAt(-4));
+    assertNull(booted.getMemoryAt(2_000_001));
+  }
+
+  @Test
+  void loadsIntoRunningMachine(@TempDir Path dir) {
+    // GIVEN
+    var image = dir.resolve("test.image");
+    var state = aMachineState().build();
+    var machine = aMachine().withState(state).build();
+    var here = machine.getHere();
+    machine.setMemoryAt(here, "foo");
+    machine.setHere(here + 1);
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", here, false, false));
+    MappedImage.save(state, image, ImageStamp.of(List.of()));
+    var loaded = aMachine().withState(aMachineState().build()).build();
+    loaded.createDictionaryItem("BAR", new DictionaryItem("BAR", here, false, false));
+
+    // WHEN
+    loaded.loadImage(image);
+
+    // THEN
+    assertEquals("foo", loaded.getMemoryAt(here));
+    assertTrue(loaded.findDictionaryItem("FOO").isPresent());
+    assertTrue(loaded.findDictionaryItem("BAR").isEmpty());
+  }
+
+  @Test
+  void throwsIfNotAnImage(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("test.image"), "bjFM");
+
+    // EXPECT
+    assertThrows(MachineException.class, () -> Machine.ofImage(file));
+  }
+}
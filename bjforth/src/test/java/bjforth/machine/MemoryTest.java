@@ -0,0 +1,95 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import java.util.Set;
+import java.util.stream.Stream;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class MemoryTest {
+
+  static Stream<Memory> memories() {
+    return Stream.of(new PagedMemory(), new HashMapMemory());
+  }
+
+  @ParameterizedTest
+  @MethodSource("memories")
+  void getReturnsNullIfNeverSet(Memory memory) {
+    // EXPECT
+    assertThat(memory.get(0)).isNull();
+    assertThat(memory.get(PagedMemory.PAGE_SIZE * PagedMemory.DENSE_PAGES)).isNull();
+    assertThat(memory.get(-1)).isNull();
+  }
+
+  @ParameterizedTest
+  @MethodSource("memories")
+  void setOk(Memory memory) {
+    // GIVEN
+    var sparseAddress = PagedMemory.PAGE_SIZE * PagedMemory.DENSE_PAGES + 7;
+
+    // WHEN
+    memory.set(0, "DOCOL");
+    memory.set(PagedMemory.PAGE_SIZE, 10);
+    memory.set(sparseAddress, 20);
+    memory.set(-3, 30);
+
+    // THEN
+    assertThat(memory.get(0)).isEqualTo("DOCOL");
+    assertThat(memory.get(PagedMemory.PAGE_SIZE)).isEqualTo(10);
+    assertThat(memory.get(sparseAddress)).isEqualTo(20);
+    assertThat(memory.get(-3)).isEqualTo(30);
+    assertThat(memory.getAddresses())
+        .isEqualTo(Set.of(0, PagedMemory.PAGE_SIZE, sparseAddress, -3));
+  }
+
+  @ParameterizedTest
+  @MethodSource("memories")
+  void setNullClearsCell(Memory memory) {
+    // GIVEN
+    memory.set(42, 1);
+
+    // WHEN
+    memory.set(42, null);
+    memory.set(PagedMemory.PAGE_SIZE * 100, null);
+
+    // THEN
+    assertThat(memory.get(42)).isNull();
+    assertThat(memory.getAddresses()).isEqualTo(Set.of());
+  }
+
+  @ParameterizedTest
+  @MethodSource("memories")
+  void copyIsIndependent(Memory memory) {
+    // GIVEN
+    memory.set(1, 10);
+    memory.set(-1, 20);
+
+    // WHEN
+    var copy = memory.copy();
+    memory.set(1, 11);
+    memory.set(-1, 21);
+
+    // THEN
+    assertThat(copy.get(1)).isEqualTo(10);
+    assertThat(copy.get(-1)).isEqualTo(20);
+  }
+}
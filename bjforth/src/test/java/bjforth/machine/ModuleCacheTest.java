@@ -0,0 +1,134 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ModuleCacheTest {
+
+  private final InputStream originalSystemIn = System.in;
+
+  @AfterEach
+  public void restore() {
+    System.clearProperty("bjforth.module.cache");
+    System.setIn(originalSystemIn);
+  }
+
+  @Test
+  void replaysIncludedFile(@TempDir Path dir) throws Exception {
+    // GIVEN
+    enableModuleCache(dir);
+    var lib = Files.writeString(dir.resolve("lib.forth"), "FOO\n");
+    var machine = aMachine().withState(aMachineState().build()).build();
+    var here = machine.getHere();
+    machine.include(lib);
+    compileFoo(machine);
+    var immediate = machine.getDictionaryItem(getPrimitiveAddress("DUP")).get();
+    immediate.setIsImmediate(true);
+    System.setIn(new ByteArrayInputStream("BAR ".getBytes()));
+    assertEquals("BAR", machine.readToken().getText());
+    immediate.setIsImmediate(false);
+
+    // WHEN
+    var replayed = aMachine().withState(aMachineState().build()).build();
+    replayed.include(lib);
+
+    // THEN
+    System.setIn(new ByteArrayInputStream("BAR ".getBytes()));
+    assertEquals("BAR", replayed.readToken().getText());
+    assertSame(Machine.DOCOL_CODEWORD, replayed.getMemoryAt(here));
+    assertEquals(getPrimitiveAddress("EXIT"), replayed.getMemoryAt(here + 1));
+    assertNull(replayed.getMemoryAt(here + 2));
+    assertEquals(here + 2, replayed.getHere());
+    assertEquals(here, replayed.findDictionaryItem("FOO").get().getAddress());
+    assertTrue(replayed.getDictionaryItem(getPrimitiveAddress("DUP")).get().getIsImmediate());
+  }
+
+  @Test
+  void readsFileIfIncludedFileChanged(@TempDir Path dir) throws Exception {
+    // GIVEN
+    enableModuleCache(dir);
+    var lib = Files.writeString(dir.resolve("lib.forth"), "FOO\n");
+    var inner = Files.writeString(dir.resolve("inner.forth"), "INNER\n");
+    var machine = aMachine().withState(aMachineState().build()).build();
+    machine.include(lib);
+    compileFoo(machine);
+    machine.include(inner);
+    assertEquals("INNER", machine.readToken().getText());
+    System.setIn(new ByteArrayInputStream("BAR ".getBytes()));
+    assertEquals("BAR", machine.readToken().getText());
+    Files.writeString(inner, "CHANGED\n");
+
+    // WHEN
+    var reread = aMachine().withState(aMachineState().build()).build();
+    reread.include(lib);
+
+    // THEN
+    assertEquals("FOO", reread.readToken().getText());
+    assertTrue(reread.findDictionaryItem("FOO").isEmpty());
+  }
+
+  @Test
+  void doesNotCacheIfParameterStackNotEmpty(@TempDir Path dir) throws Exception {
+    // GIVEN
+    enableModuleCache(dir);
+    var lib = Files.writeString(dir.resolve("lib.forth"), "FOO\n");
+    var machine = aMachine().withState(aMachineState().build()).build();
+    machine.include(lib);
+    compileFoo(machine);
+    machine.pushToParameterStack(42);
+    System.setIn(new ByteArrayInputStream("BAR ".getBytes()));
+
+    // WHEN
+    assertEquals("BAR", machine.readToken().getText());
+
+    // THEN
+    var reread = aMachine().withState(aMachineState().build()).build();
+    reread.include(lib);
+    assertEquals("FOO", reread.readToken().getText());
+  }
+
+  private static void enableModuleCache(Path dir) {
+    System.setProperty("bjforth.module.cache", dir.resolve("cache").toString());
+  }
+
+  /** Reads FOO and does what : FOO ; would. */
+  private static void compileFoo(Machine machine) {
+    assertEquals("FOO", machine.readToken().getText());
+    var here = machine.getHere();
+    machine.setMemoryAt(here, Machine.DOCOL_CODEWORD);
+    machine.setMemoryAt(here + 1, getPrimitiveAddress("EXIT"));
+    machine.setHere(here + 2);
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", here, false, false));
+  }
+}
@@ -21,6 +21,8 @@ package bjforth.machine;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
 import org.junit.jupiter.api.Test;
 
 class StackTest {
@@ -130,4 +132,70 @@ class StackTest {
     // THEN
     assertThat(item).isEqualTo(10);
   }
+
+  @Test
+  void popThrowIfEmpty() {
+    // GIVEN
+    var stack = new Stack();
+
+    // EXPECT
+    assertThrows(NoSuchElementException.class, stack::pop);
+  }
+
+  @Test
+  void peekReturnsNullIfEmpty() {
+    // GIVEN
+    var stack = new Stack();
+
+    // EXPECT
+    assertThat(stack.peek()).isNull();
+  }
+
+  @Test
+  void pushGrowsBeyondInitialCapacity() {
+    // GIVEN
+    var stack = new Stack();
+
+    // WHEN
+    IntStream.range(0, 1000).forEach(stack::push);
+
+    // THEN
+    assertThat(stack.getPointer()).isEqualTo(999);
+    assertThat(stack.getItem(999)).isEqualTo(0);
+    assertThat(stack.pop()).isEqualTo(999);
+  }
+
+  @Test
+  void setPointerKeepsTopItems() {
+    // GIVEN
+    var stack = new Stack();
+    IntStream.range(0, 100).forEach(stack::push);
+
+    // WHEN
+    stack.setPointer(1);
+    IntStream.range(100, 200).forEach(stack::push);
+
+    // THEN
+    assertThat(stack.getPointer()).isEqualTo(101);
+    assertThat(stack.getItem(101)).isEqualTo(98);
+    assertThat(stack.getItem(100)).isEqualTo(99);
+    assertThat(stack.getItem(0)).isEqualTo(199);
+  }
+
+  @Test
+  void copyIsIndependent() {
+    // GIVEN
+    var stack = new Stack();
+    stack.push(10);
+    stack.push(20);
+    stack.setPointer(0);
+
+    // WHEN
+    var copy = new Stack(stack);
+    stack.pop();
+
+    // THEN
+    assertThat(copy.getPointer()).isEqualTo(0);
+    assertThat(copy.peek()).isEqualTo(20);
+  }
 }
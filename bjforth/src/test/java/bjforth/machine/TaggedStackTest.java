@@ -0,0 +1,117 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class TaggedStackTest {
+
+  @Test
+  void unboxedItemsAreBoxedWithTheirOwnType() {
+    // GIVEN
+    var stack = new TaggedStack();
+
+    // WHEN
+    stack.pushInt(10);
+    stack.pushLong(20L);
+
+    // THEN
+    assertThat(stack.getItem(0)).isEqualTo(20L);
+    assertThat(stack.getItem(1)).isEqualTo(10);
+  }
+
+  @Test
+  void boxedIntegersAreReadUnboxed() {
+    // GIVEN
+    var stack = new TaggedStack();
+    stack.push(10);
+    stack.push(20L);
+    stack.push("30");
+
+    // EXPECT
+    assertThat(stack.isInt(0)).isFalse();
+    assertThat(stack.isIntOrLong(0)).isFalse();
+    assertThat(stack.isInt(1)).isFalse();
+    assertThat(stack.isIntOrLong(1)).isTrue();
+    assertThat(stack.isInt(2)).isTrue();
+    assertThat(stack.isInt(3)).isFalse();
+    stack.drop();
+    assertThat(stack.popLong()).isEqualTo(20L);
+    assertThat(stack.popInt()).isEqualTo(10);
+  }
+
+  @Test
+  void manipulationKeepsItemsUnboxed() {
+    // GIVEN
+    var stack = new TaggedStack();
+    stack.pushInt(1);
+    stack.pushLong(2L);
+    stack.pushInt(3);
+
+    // WHEN
+    stack.rot();
+    stack.over();
+    stack.swap();
+    stack.dup();
+
+    // THEN
+    assertThat(stack.isInt(0)).isTrue();
+    assertThat(stack.popInt()).isEqualTo(1);
+    assertThat(stack.popInt()).isEqualTo(1);
+    assertThat(stack.pop()).isEqualTo(3);
+    assertThat(stack.pop()).isEqualTo(3);
+    assertThat(stack.pop()).isEqualTo(2L);
+  }
+
+  @Test
+  void manipulationEmptiesStackOnUnderflow() {
+    // GIVEN
+    var stack = new TaggedStack();
+    stack.pushInt(1);
+    stack.pushInt(2);
+
+    // EXPECT
+    assertThrows(NoSuchElementException.class, stack::rot);
+    assertThat(stack.peek()).isNull();
+  }
+
+  @Test
+  void growsAndCopies() {
+    // GIVEN
+    var stack = new TaggedStack();
+    for (var i = 0; i < 1000; i++) {
+      stack.pushInt(i);
+    }
+    stack.setPointer(9);
+
+    // WHEN
+    var copy = stack.copy();
+    stack.popInt();
+
+    // THEN
+    assertThat(copy.getPointer()).isEqualTo(9);
+    assertThat(copy.isInt(9)).isTrue();
+    assertThat(copy.getItem(9)).isEqualTo(990);
+    assertThat(copy.peek()).isEqualTo(999);
+  }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.machine;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class TokenCacheTest {
+
+  // A single bucket.
+  private final TokenCache tokens = new TokenCache(TokenCache.WAYS);
+
+  @Test
+  void internsTokens() {
+    // WHEN
+    var first = intern("DUP");
+    var second = intern("DUP");
+
+    // THEN
+    assertThat(first).isSameAs(second);
+    assertThat(tokens.size()).isEqualTo(1);
+  }
+
+  @Test
+  void replacesColdTokensWhenFull() {
+    // GIVEN
+    var hot = intern("DUP");
+    for (var i = 0; i < 20; i++) {
+      intern("DUP");
+    }
+    var warm = intern("SWAP");
+    intern("SWAP");
+
+    // WHEN
+    for (var i = 0; i < 10; i++) {
+      intern(String.valueOf(i));
+    }
+
+    // THEN
+    assertThat(tokens.size()).isEqualTo(TokenCache.WAYS);
+    assertThat(intern("DUP")).isSameAs(hot);
+    assertThat(intern("SWAP")).isNotSameAs(warm);
+  }
+
+  @Test
+  void replacesTokensWhichAreNotUsedAnyMore() {
+    // GIVEN
+    var hot = intern("DUP");
+    for (var i = 0; i < 20; i++) {
+      intern("DUP");
+    }
+
+    // WHEN
+    for (var i = 0; i < 100; i++) {
+      intern(String.valueOf(i));
+    }
+
+    // THEN
+    assertThat(intern("DUP")).isNotSameAs(hot);
+  }
+
+  private Token intern(String text) {
+    return tokens.intern(text.toCharArray(), 0, text.length(), new Token(text).hash);
+  }
+}
@@ -42,6 +42,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.MethodSource;
 
 class ADDTest {
 
@@ -76,6 +77,72 @@ class ADDTest {
         .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
   }
 
+  @DisplayName("promotes the sum to a wider type instead of overflowing.")
+  @ParameterizedTest(name = "{displayName} {0} + {1} = {2}")
+  @MethodSource("overflowingFixnums")
+  void promotesOnOverflow(Object parameter1, Object parameter2, Object expectedResult) {
+    // GIVEN
+    var ADDaddr = getPrimitiveAddress("+");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(ADDaddr)
+            .withNextInstructionPointer(ADDaddr + 1)
+            .withMemory(aMemory().build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+  }
+
+  static Stream<Arguments> overflowingFixnums() {
+    return Stream.of(
+        Arguments.of(Integer.MAX_VALUE, 1, 2147483648L),
+        Arguments.of(Long.MAX_VALUE, 1L, BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+        Arguments.of(Long.MAX_VALUE, 1, BigInteger.valueOf(Long.MAX_VALUE).add(BigInteger.ONE)),
+        Arguments.of(
+            new BigInteger("123456789012345678901234567890"),
+            1L,
+            new BigInteger("123456789012345678901234567890").add(BigInteger.ONE)));
+  }
+
+  @DisplayName("adds big integers and floating point numbers as floating point numbers.")
+  @ParameterizedTest(name = "{displayName} {0} + {1} = {2}")
+  @MethodSource("mixedNumbers")
+  void mixesBigIntegersWithFloatingPoint(
+      Object parameter1, Object parameter2, Object expectedResult) {
+    // GIVEN
+    var ADDaddr = getPrimitiveAddress("+");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(ADDaddr)
+            .withNextInstructionPointer(ADDaddr + 1)
+            .withMemory(aMemory().build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+  }
+
+  static Stream<Arguments> mixedNumbers() {
+    return Stream.of(
+        Arguments.of(BigInteger.TWO.pow(70), 0.5, 0x1p70 + 0.5),
+        Arguments.of(0.5, BigInteger.TWO.pow(70), 0.5 + 0x1p70),
+        Arguments.of(BigInteger.TWO.pow(70), 0.5f, 0x1p70f + 0.5f),
+        Arguments.of(0.5f, BigInteger.TWO.pow(70), 0.5f + 0x1p70f));
+  }
+
   @DisplayName("should throw if any of parameter stack top is not a number.")
   @ParameterizedTest(name = "{displayName} parameter1(type={2}) parameter2(type={3})")
   @ArgumentsSource(NonNumberArgumentProvider.class)
@@ -220,9 +287,11 @@ class ADDTest {
       } else if (a instanceof Float || b instanceof Float) {
         return a.floatValue() + b.floatValue();
       } else if (a instanceof Long || b instanceof Long) {
-        return a.longValue() + b.longValue();
+        var exact = BigInteger.valueOf(a.longValue()).add(BigInteger.valueOf(b.longValue()));
+        return exact.bitLength() < Long.SIZE ? (Number) exact.longValue() : exact;
       } else if (a instanceof Integer || b instanceof Integer) {
-        return a.intValue() + b.intValue();
+        var exact = (long) a.intValue() + b.intValue();
+        return exact == (int) exact ? (Number) (int) exact : (Number) exact;
       } else if (a instanceof Short || b instanceof Short) {
         return a.shortValue() + b.shortValue();
       } else if (a instanceof Byte || b instanceof Byte) {
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class ALSOTest {
+
+  @DisplayName("duplicates the first wordlist of the search order.")
+  @Test
+  void worksOk() {
+    // GIVEN
+    var ALSOaddr = getPrimitiveAddress("ALSO");
+    var actualState = aMachineState().withInstrcutionPointer(ALSOaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    var wordlist = machine.createWordlist();
+    machine.setSearchOrder(new int[] {wordlist, machine.getForthWordlist()});
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(machine.getSearchOrder())
+        .containsExactly(wordlist, wordlist, machine.getForthWordlist());
+  }
+}
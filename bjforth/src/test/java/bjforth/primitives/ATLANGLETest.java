@@ -57,6 +57,7 @@ class ATLANGLETest {
     var ATLANGLEaddr = getPrimitiveAddress("@<");
     var actualState = aMachineState().withInstrcutionPointer(ATLANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -84,6 +85,7 @@ class ATLANGLETest {
     var ATLANGLEaddr = getPrimitiveAddress("@<");
     var actualState = aMachineState().withInstrcutionPointer(ATLANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -112,6 +114,7 @@ class ATLANGLETest {
     var ATLANGLEaddr = getPrimitiveAddress("@<");
     var actualState = aMachineState().withInstrcutionPointer(ATLANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
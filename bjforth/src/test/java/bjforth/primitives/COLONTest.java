@@ -27,6 +27,7 @@ import static bjforth.machine.MemoryBuilder.aMemory;
 import static org.junit.jupiter.api.Assertions.*;
 
 import bjforth.machine.DictionaryItem;
+import bjforth.machine.Machine;
 import bjforth.variables.Variables;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
@@ -77,7 +78,7 @@ class COLONTest {
         .hasMemoryEqualTo(
             aMemory()
                 .with(referenceState)
-                .with(referenceLATESTvalue + 1, "DOCOL")
+                .with(referenceLATESTvalue + 1, Machine.DOCOL_CODEWORD)
                 .with(Variables.get("HERE").getAddress(), referenceHEREvalue + 1)
                 .with(Variables.get("STATE").getAddress(), 1)
                 .with(Variables.get("LATEST").getAddress(), referenceLATESTvalue + 1)
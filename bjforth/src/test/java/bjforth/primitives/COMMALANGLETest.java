@@ -57,6 +57,7 @@ class COMMALANGLETest {
     var COMMALANGLEaddr = getPrimitiveAddress(",<");
     var actualState = aMachineState().withInstrcutionPointer(COMMALANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -84,6 +85,7 @@ class COMMALANGLETest {
     var COMMALANGLEaddr = getPrimitiveAddress(",<");
     var actualState = aMachineState().withInstrcutionPointer(COMMALANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -111,6 +113,7 @@ class COMMALANGLETest {
     var COMMALANGLEaddr = getPrimitiveAddress(",<");
     var actualState = aMachineState().withInstrcutionPointer(COMMALANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
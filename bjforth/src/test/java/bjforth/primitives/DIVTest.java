@@ -130,6 +130,35 @@ class DIVTest {
         .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
   }
 
+  @DisplayName("promotes the quotient to a wider type instead of overflowing.")
+  @ParameterizedTest(name = "{displayName} {0} / {1} = {2}")
+  @MethodSource("overflowingFixnums")
+  void promotesOnOverflow(Object parameter1, Object parameter2, Object expectedResult) {
+    // GIVEN
+    var DIVaddr = getPrimitiveAddress("/");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(DIVaddr)
+            .withNextInstructionPointer(DIVaddr + 1)
+            .withMemory(aMemory().build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+  }
+
+  static Stream<Arguments> overflowingFixnums() {
+    return Stream.of(
+        Arguments.of(Integer.MIN_VALUE, -1, 2147483648L),
+        Arguments.of(Long.MIN_VALUE, -1L, BigInteger.valueOf(Long.MIN_VALUE).negate()));
+  }
+
   @DisplayName("should throw if any of parameter stack top is not a number.")
   @ParameterizedTest(name = "{displayName} parameter1(type={2}) parameter2(type={3})")
   @ArgumentsSource(NonNumberArgumentProvider.class)
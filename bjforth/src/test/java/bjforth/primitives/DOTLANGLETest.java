@@ -57,6 +57,7 @@ class DOTLANGLETest {
     var DOTLANGLEaddr = getPrimitiveAddress(".<");
     var actualState = aMachineState().withInstrcutionPointer(DOTLANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -84,6 +85,7 @@ class DOTLANGLETest {
     var DOTLANGLEaddr = getPrimitiveAddress(".<");
     var actualState = aMachineState().withInstrcutionPointer(DOTLANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -111,6 +113,7 @@ class DOTLANGLETest {
     var DOTLANGLEaddr = getPrimitiveAddress(".<");
     var actualState = aMachineState().withInstrcutionPointer(DOTLANGLEaddr).build();
     var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(1);
     var HEREvalue = (Integer) machine.getMemoryAt(Variables.get("HERE").getAddress());
 
     // WHEN
@@ -127,4 +130,27 @@ class DOTLANGLETest {
 
     assertThat(machine.getMemoryAt(Variables.get("HERE").getAddress())).isEqualTo(HEREvalue + 2);
   }
+
+  @Test
+  void pushesDescriptorWhenInterpreting() {
+    // GIVEN
+    var str = "toString()/0 ";
+    var inputStream = new ByteArrayInputStream(str.getBytes());
+    System.setIn(inputStream);
+
+    var DOTLANGLEaddr = getPrimitiveAddress(".<");
+    var actualState = aMachineState().withInstrcutionPointer(DOTLANGLEaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    machine.setCompilationState(0);
+    var HEREvalue = machine.getHere();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    var actualResult = (MethodDescriptor) machine.popFromParameterStack();
+    assertThat(actualResult.name).isEqualTo("toString");
+    assertThat(actualResult.arity).isEqualTo(0);
+    assertThat(machine.getHere()).isEqualTo(HEREvalue);
+  }
 }
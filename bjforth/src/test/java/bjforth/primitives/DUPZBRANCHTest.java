@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class DUPZBRANCHTest {
+
+  @Test
+  @DisplayName("Branches by the offset of 0BRANCH, keeping the 0 on the stack.")
+  void worksOkIfZero() {
+    // GIVEN
+    var offset = RandomUtils.insecure().randomInt(10, 200);
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 1500);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("DUP0BRANCH"))
+                    .with(memoryAddress + 1, getPrimitiveAddress("0BRANCH"))
+                    .with(memoryAddress + 2, offset)
+                    .build())
+            .withParameterStack(aParameterStack().with(0).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasInstructionPointerEqualTo(memoryAddress + 2 + offset)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 2 + offset)
+        .hasParameterStackEqualTo(aParameterStack().with(0).build());
+  }
+
+  @Test
+  @DisplayName("Skips over 0BRANCH and its offset, keeping the flag on the stack.")
+  void worksOkIfNotZero() {
+    // GIVEN
+    var offset = RandomUtils.insecure().randomInt(10, 200);
+    var flag = RandomUtils.insecure().randomInt(1, 200);
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 1500);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("DUP0BRANCH"))
+                    .with(memoryAddress + 1, getPrimitiveAddress("0BRANCH"))
+                    .with(memoryAddress + 2, offset)
+                    .build())
+            .withParameterStack(aParameterStack().with(flag).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasInstructionPointerEqualTo(memoryAddress + 3)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 3)
+        .hasParameterStackEqualTo(aParameterStack().with(flag).build());
+  }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class FusionTest {
+
+  @Test
+  @DisplayName("Replaces the first cell of each sequence in the table and nothing else.")
+  void fusesSequences() {
+    // GIVEN
+    // : FOO  SWAP DROP  LIT 2 +  BEGIN DUP 0BRANCH(5) OVER = BRANCH(-5)  ' DUP DROP ;
+    var machine =
+        aMachine()
+            .withState(
+                aMachineState()
+                    .withMemory(
+                        aMemory()
+                            .with(1000, getPrimitiveAddress("SWAP"))
+                            .with(1001, getPrimitiveAddress("DROP"))
+                            .with(1002, getPrimitiveAddress("LIT"))
+                            .with(1003, 2)
+                            .with(1004, getPrimitiveAddress("+"))
+                            .with(1005, getPrimitiveAddress("DUP"))
+                            .with(1006, getPrimitiveAddress("0BRANCH"))
+                            .with(1007, 5)
+                            .with(1008, getPrimitiveAddress("OVER"))
+                            .with(1009, getPrimitiveAddress("="))
+                            .with(1010, getPrimitiveAddress("BRANCH"))
+                            .with(1011, -5)
+                            .with(1012, getPrimitiveAddress("'"))
+                            .with(1013, getPrimitiveAddress("DUP"))
+                            .with(1014, getPrimitiveAddress("DROP"))
+                            .build())
+                    .build())
+            .build();
+
+    // WHEN
+    var fused = Fusion.fuse(machine, 1000, 1015);
+
+    // THEN
+    assertThat(fused).isEqualTo(4);
+    assertThat(machine.getMemoryAt(1000)).isEqualTo(getPrimitiveAddress("SWAPDROP"));
+    assertThat(machine.getMemoryAt(1001)).isEqualTo(getPrimitiveAddress("DROP"));
+    assertThat(machine.getMemoryAt(1002)).isEqualTo(getPrimitiveAddress("LIT+"));
+    assertThat(machine.getMemoryAt(1003)).isEqualTo(2);
+    assertThat(machine.getMemoryAt(1004)).isEqualTo(getPrimitiveAddress("+"));
+    assertThat(machine.getMemoryAt(1005)).isEqualTo(getPrimitiveAddress("DUP0BRANCH"));
+    assertThat(machine.getMemoryAt(1006)).isEqualTo(getPrimitiveAddress("0BRANCH"));
+    assertThat(machine.getMemoryAt(1008)).isEqualTo(getPrimitiveAddress("OVER="));
+    assertThat(machine.getMemoryAt(1013)).isEqualTo(getPrimitiveAddress("DUP"));
+    assertThat(Fusion.count(machine, 1000, 1015)).isEqualTo(4);
+  }
+
+  @Test
+  @DisplayName("Doesn't fuse a sequence which runs past the end of the range.")
+  void staysInRange() {
+    // GIVEN
+    var machine =
+        aMachine()
+            .withState(
+                aMachineState()
+                    .withMemory(
+                        aMemory()
+                            .with(1000, getPrimitiveAddress("SWAP"))
+                            .with(1001, getPrimitiveAddress("DROP"))
+                            .build())
+                    .build())
+            .build();
+
+    // WHEN
+    var fused = Fusion.fuse(machine, 1000, 1001);
+
+    // THEN
+    assertThat(fused).isEqualTo(0);
+    assertThat(machine.getMemoryAt(1000)).isEqualTo(getPrimitiveAddress("SWAP"));
+  }
+}
@@ -76,6 +76,26 @@ class GTTest {
         .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
   }
 
+  @DisplayName("compares integral values exactly even if they don't fit a double.")
+  @Test
+  void worksOkWithLargeLongs() {
+    // GIVEN
+    var GTaddr = getPrimitiveAddress(">");
+    var large = 1L << 53;
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(GTaddr)
+            .withParameterStack(aParameterStack().with(large, large + 1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState).hasParameterStackEqualTo(aParameterStack().with(1).build());
+  }
+
   @DisplayName("should throw if either of ParameterStack top 2 is not a number.")
   @ParameterizedTest(
       name = "{displayName} parameter1(type={2}, value={0}) parameter2(type={3}, value={1})")
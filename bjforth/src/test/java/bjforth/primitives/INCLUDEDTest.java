@@ -0,0 +1,103 @@
+/*
+ * Copyright 2023 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.MachineException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class INCLUDEDTest {
+
+  private final InputStream originalSystemIn = System.in;
+
+  @AfterEach
+  public void restoreSystemIn() {
+    System.setIn(originalSystemIn);
+  }
+
+  @BeforeEach
+  public void resetAllPrimitives() {
+    PrimitiveFactoryModificationUtils.resetAllPrimitives();
+  }
+
+  @Test
+  void worksOkNested(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var outer = Files.writeString(dir.resolve("outer.forth"), "A C\n");
+    var inner = Files.writeString(dir.resolve("inner.forth"), "B\n");
+    System.setIn(new ByteArrayInputStream("D ".getBytes()));
+
+    var INCLUDEDaddr = getPrimitiveAddress("INCLUDED");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(INCLUDEDaddr)
+            .withParameterStack(aParameterStack().with(inner.toString()).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+    machine.include(outer);
+    assertEquals("A", machine.readToken().getText());
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertEquals("B", machine.readToken().getText());
+    assertEquals("C", machine.readToken().getText());
+    assertEquals("D", machine.readToken().getText());
+  }
+
+  @Test
+  void throwsIfNotFileName() {
+    // GIVEN
+    var INCLUDEDaddr = getPrimitiveAddress("INCLUDED");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(INCLUDEDaddr)
+            .withParameterStack(aParameterStack().with(42).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+  }
+
+  @Test
+  void throwsIfStackEmpty() {
+    // GIVEN
+    var INCLUDEDaddr = getPrimitiveAddress("INCLUDED");
+    var actualState = aMachineState().withInstrcutionPointer(INCLUDEDaddr).build();
+    var machine = aMachine().withState(actualState).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2023 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.GracefulShutdown;
+import bjforth.machine.MachineException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class INCLUDETest {
+
+  private final InputStream originalSystemIn = System.in;
+
+  @AfterEach
+  public void restoreSystemIn() {
+    System.setIn(originalSystemIn);
+  }
+
+  @BeforeEach
+  public void resetAllPrimitives() {
+    PrimitiveFactoryModificationUtils.resetAllPrimitives();
+  }
+
+  @Test
+  void worksOk(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("lib.forth"), "FOO\n  BAR");
+    System.setIn(new ByteArrayInputStream("%s BAZ ".formatted(file).getBytes()));
+
+    var INCLUDEaddr = getPrimitiveAddress("INCLUDE");
+    var actualState = aMachineState().withInstrcutionPointer(INCLUDEaddr).build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertEquals("FOO", machine.readToken().getText());
+    assertEquals("BAR", machine.readToken().getText());
+    assertEquals("BAZ", machine.readToken().getText());
+    assertThrows(GracefulShutdown.class, machine::readToken);
+  }
+
+  @Test
+  void throwsIfFileNotFound(@TempDir Path dir) {
+    // GIVEN
+    var file = dir.resolve("missing.forth");
+    System.setIn(new ByteArrayInputStream("%s BAZ ".formatted(file).getBytes()));
+
+    var INCLUDEaddr = getPrimitiveAddress("INCLUDE");
+    var actualState = aMachineState().withInstrcutionPointer(INCLUDEaddr).build();
+    var machine = aMachine().withState(actualState).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+    assertEquals("BAZ", machine.readToken().getText());
+  }
+
+  @Test
+  void resolvesPathsAgainstIncludingFile(@TempDir Path dir) throws Exception {
+    // GIVEN
+    Files.createDirectory(dir.resolve("lib"));
+    var outer = Files.writeString(dir.resolve("lib/outer.forth"), "inner.forth BAR");
+    Files.writeString(dir.resolve("lib/inner.forth"), "FOO");
+    System.setIn(new ByteArrayInputStream("%s BAZ ".formatted(outer).getBytes()));
+    var machine = aMachine().withState(aMachineState().build()).build();
+    var INCLUDE = PrimitiveFactory.getPrimitive("INCLUDE").get();
+    INCLUDE.execute(machine);
+
+    // WHEN
+    INCLUDE.execute(machine);
+
+    // THEN
+    assertEquals("FOO", machine.readToken().getText());
+    assertEquals("BAR", machine.readToken().getText());
+    assertEquals("BAZ", machine.readToken().getText());
+  }
+
+  @Test
+  void throwsIfNestedTooDeeply(@TempDir Path dir) throws Exception {
+    // GIVEN
+    var file = Files.writeString(dir.resolve("self.forth"), "self.forth\n");
+    System.setIn(new ByteArrayInputStream("%s BAZ ".formatted(file).getBytes()));
+    var machine = aMachine().withState(aMachineState().build()).build();
+    var INCLUDE = PrimitiveFactory.getPrimitive("INCLUDE").get();
+    for (var i = 0; i < 64; i++) {
+      INCLUDE.execute(machine);
+    }
+
+    // EXPECT
+    assertThrows(MachineException.class, () -> INCLUDE.execute(machine));
+  }
+}
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class LITADDTest {
+
+  @Test
+  @DisplayName("Adds the literal to the top of the stack and skips over the + cell.")
+  void worksOk() {
+    // GIVEN
+    var nr1 = RandomUtils.insecure().randomInt(1, 1000);
+    var nr2 = RandomUtils.insecure().randomInt(1, 1000);
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 2000);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("LIT+"))
+                    .with(memoryAddress + 1, nr2)
+                    .with(memoryAddress + 2, getPrimitiveAddress("+"))
+                    .build())
+            .withParameterStack(aParameterStack().with(nr1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasInstructionPointerEqualTo(memoryAddress + 3)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 3)
+        .hasParameterStackEqualTo(aParameterStack().with(nr1 + nr2).build());
+  }
+
+  @Test
+  @DisplayName("Promotes the sum to a long on overflow.")
+  void promotesOnOverflow() {
+    // GIVEN
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 2000);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("LIT+"))
+                    .with(memoryAddress + 1, 1)
+                    .with(memoryAddress + 2, getPrimitiveAddress("+"))
+                    .build())
+            .withParameterStack(aParameterStack().with(Integer.MAX_VALUE).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 3)
+        .hasParameterStackEqualTo(aParameterStack().with(2147483648L).build());
+  }
+
+  @Test
+  @DisplayName("Works as LIT + for other numbers.")
+  void worksOkNonInt() {
+    // GIVEN
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 2000);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("LIT+"))
+                    .with(memoryAddress + 1, 2L)
+                    .with(memoryAddress + 2, getPrimitiveAddress("+"))
+                    .build())
+            .withParameterStack(aParameterStack().with(1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 3)
+        .hasParameterStackEqualTo(aParameterStack().with(3L).build());
+  }
+}
@@ -22,6 +22,7 @@ import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
 import static bjforth.machine.MachineAssertions.*;
 import static bjforth.machine.MachineBuilder.aMachine;
 import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
 import static bjforth.machine.ParameterStackBuilder.aParameterStack;
 import static org.assertj.core.api.Assertions.*;
 
@@ -41,6 +42,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.MethodSource;
 
 class MULTest {
 
@@ -73,6 +75,71 @@ class MULTest {
         .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
   }
 
+  @DisplayName("promotes the product to a wider type instead of overflowing.")
+  @ParameterizedTest(name = "{displayName} {0} * {1} = {2}")
+  @MethodSource("overflowingFixnums")
+  void promotesOnOverflow(Object parameter1, Object parameter2, Object expectedResult) {
+    // GIVEN
+    var MULaddr = getPrimitiveAddress("*");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(MULaddr)
+            .withNextInstructionPointer(MULaddr + 1)
+            .withMemory(aMemory().build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+  }
+
+  static Stream<Arguments> overflowingFixnums() {
+    return Stream.of(
+        Arguments.of(65536, 65536, 4294967296L),
+        Arguments.of(Long.MAX_VALUE, 2L, BigInteger.valueOf(Long.MAX_VALUE).shiftLeft(1)),
+        Arguments.of(
+            new BigInteger("123456789012345678901234567890"),
+            3,
+            new BigInteger("123456789012345678901234567890").multiply(BigInteger.valueOf(3))));
+  }
+
+  @DisplayName("multiplies big integers and floating point numbers as floating point numbers.")
+  @ParameterizedTest(name = "{displayName} {0} * {1} = {2}")
+  @MethodSource("mixedNumbers")
+  void mixesBigIntegersWithFloatingPoint(
+      Object parameter1, Object parameter2, Object expectedResult) {
+    // GIVEN
+    var MULaddr = getPrimitiveAddress("*");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(MULaddr)
+            .withNextInstructionPointer(MULaddr + 1)
+            .withMemory(aMemory().build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+  }
+
+  static Stream<Arguments> mixedNumbers() {
+    return Stream.of(
+        Arguments.of(BigInteger.TWO.pow(70), 0.5, 0x1p69),
+        Arguments.of(0.5, BigInteger.TWO.pow(70), 0x1p69),
+        Arguments.of(BigInteger.TWO.pow(70), 0.5f, 0x1p69f),
+        Arguments.of(0.5f, BigInteger.TWO.pow(70), 0x1p69f));
+  }
+
   @DisplayName("should throw if any of parameter stack top is not a number.")
   @ParameterizedTest(name = "{displayName} parameter1(type={2}) parameter2(type={3})")
   @ArgumentsSource(NonNumberArgumentProvider.class)
@@ -211,9 +278,11 @@ class MULTest {
       } else if (a instanceof Float || b instanceof Float) {
         return a.floatValue() * b.floatValue();
       } else if (a instanceof Long || b instanceof Long) {
-        return a.longValue() * b.longValue();
+        var exact = BigInteger.valueOf(a.longValue()).multiply(BigInteger.valueOf(b.longValue()));
+        return exact.bitLength() < Long.SIZE ? (Number) exact.longValue() : exact;
       } else if (a instanceof Integer || b instanceof Integer) {
-        return a.intValue() * b.intValue();
+        var exact = (long) a.intValue() * b.intValue();
+        return exact == (int) exact ? (Number) (int) exact : (Number) exact;
       } else if (a instanceof Short || b instanceof Short) {
         return a.shortValue() * b.shortValue();
       } else if (a instanceof Byte || b instanceof Byte) {
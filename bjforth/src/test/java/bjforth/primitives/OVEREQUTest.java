@@ -0,0 +1,91 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+
+import org.apache.commons.lang3.RandomUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class OVEREQUTest {
+
+  @Test
+  @DisplayName("Works as OVER = and skips over the = cell.")
+  void worksOk() {
+    // GIVEN
+    Integer nr1 = RandomUtils.insecure().randomInt(1, 3);
+    Integer nr2 = RandomUtils.insecure().randomInt(1, 3);
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 2000);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("OVER="))
+                    .with(memoryAddress + 1, getPrimitiveAddress("="))
+                    .build())
+            .withParameterStack(aParameterStack().with(nr1).with(nr2).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasInstructionPointerEqualTo(memoryAddress + 2)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 2)
+        .hasParameterStackEqualTo(
+            aParameterStack().with(nr1).with(nr1.equals(nr2) ? 1 : 0).build());
+  }
+
+  @Test
+  @DisplayName("Works as OVER = for other values.")
+  void worksOkNonInt() {
+    // GIVEN
+    var memoryAddress = RandomUtils.insecure().randomInt(1000, 2000);
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(memoryAddress)
+            .withNextInstructionPointer(memoryAddress + 1)
+            .withMemory(
+                aMemory()
+                    .with(memoryAddress, getPrimitiveAddress("OVER="))
+                    .with(memoryAddress + 1, getPrimitiveAddress("="))
+                    .build())
+            .withParameterStack(aParameterStack().with("foo").with("foo").build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step(2);
+
+    // THEN
+    assertThat(actualState)
+        .hasNextInstructionPointerEqualTo(memoryAddress + 2)
+        .hasParameterStackEqualTo(aParameterStack().with("foo").with(1).build());
+  }
+}
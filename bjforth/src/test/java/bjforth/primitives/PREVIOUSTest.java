@@ -0,0 +1,62 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.MachineException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class PREVIOUSTest {
+
+  @DisplayName("removes the first wordlist of the search order.")
+  @Test
+  void worksOk() {
+    // GIVEN
+    var PREVIOUSaddr = getPrimitiveAddress("PREVIOUS");
+    var actualState = aMachineState().withInstrcutionPointer(PREVIOUSaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    var wordlist = machine.createWordlist();
+    machine.setSearchOrder(new int[] {wordlist, machine.getForthWordlist()});
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(machine.getSearchOrder()).containsExactly(machine.getForthWordlist());
+  }
+
+  @DisplayName("throws if the search order is empty.")
+  @Test
+  void throwsIfEmpty() {
+    // GIVEN
+    var PREVIOUSaddr = getPrimitiveAddress("PREVIOUS");
+    var actualState = aMachineState().withInstrcutionPointer(PREVIOUSaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    machine.setSearchOrder(new int[] {});
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+  }
+}
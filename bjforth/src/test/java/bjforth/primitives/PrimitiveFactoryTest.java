@@ -0,0 +1,59 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class PrimitiveFactoryTest {
+
+  @Test
+  void idsFollowTheContainers() {
+    // GIVEN
+    var containers = PrimitiveFactory.getPrimitiveContainers();
+
+    // EXPECT
+    assertThat(PrimitiveFactory.getPrimitiveCount()).isEqualTo(containers.size());
+    for (var id = 0; id < containers.size(); id++) {
+      var primitive = containers.get(id).get();
+      assertThat(PrimitiveFactory.getPrimitive(id)).isSameAs(primitive);
+      assertThat(PrimitiveFactory.getPrimitiveId(primitive.getName())).isEqualTo(id);
+      assertThat(PrimitiveFactory.getPrimitive(primitive.getName())).containsSame(primitive);
+    }
+  }
+
+  @Test
+  void unknownName() {
+    // EXPECT
+    assertThat(PrimitiveFactory.getPrimitiveId("NO-SUCH-PRIMITIVE")).isEqualTo(-1);
+    assertThat(PrimitiveFactory.getPrimitive("NO-SUCH-PRIMITIVE")).isEmpty();
+  }
+
+  @Test
+  void superinstructionsShareTheirParts() {
+    // EXPECT
+    assertThat(PrimitiveFactory.getSuperinstructions()).isNotEmpty();
+    for (var superinstruction : PrimitiveFactory.getSuperinstructions()) {
+      for (var part : superinstruction.getParts()) {
+        assertThat(PrimitiveFactory.getPrimitive(part.getName())).containsSame(part);
+      }
+    }
+  }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.Machine;
+import bjforth.machine.MachineException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import org.junit.jupiter.api.Test;
+
+class RANGLEASTest {
+
+  @Test
+  void worksOkFunction() {
+    // GIVEN
+    // : ADDER 1 + ;
+    var RANGLEASaddr = getPrimitiveAddress(">AS");
+    var actualState =
+        aMachineState()
+            .withMemory(
+                aMemory()
+                    .with(1000, Machine.DOCOL_CODEWORD)
+                    .with(1001, getPrimitiveAddress("LIT"))
+                    .with(1002, 1)
+                    .with(1003, getPrimitiveAddress("+"))
+                    .with(1004, getPrimitiveAddress("EXIT"))
+                    .build())
+            .withInstrcutionPointer(RANGLEASaddr)
+            .withParameterStack(aParameterStack().with(1000, Function.class).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    @SuppressWarnings("unchecked")
+    var function = (Function<Object, Object>) machine.popFromParameterStack();
+    assertThat(function.apply(41)).isEqualTo(42);
+    assertThat(function.andThen(function).apply(1)).isEqualTo(3);
+  }
+
+  @Test
+  void worksOkComparatorAndPredicate() {
+    // GIVEN
+    var RANGLEASaddr = getPrimitiveAddress(">AS");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(RANGLEASaddr)
+            .withParameterStack(
+                aParameterStack().with(getPrimitiveAddress("-"), Comparator.class).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+    machine.pushToParameterStack(getPrimitiveAddress("0="));
+    machine.pushToParameterStack(Predicate.class);
+    machine.jumpTo(RANGLEASaddr);
+    machine.step();
+
+    // THEN
+    @SuppressWarnings("unchecked")
+    var isZero = (Predicate<Object>) machine.popFromParameterStack();
+    @SuppressWarnings("unchecked")
+    var comparator = (Comparator<Object>) machine.popFromParameterStack();
+    var list = new ArrayList<Object>(List.of(3, 1, 2));
+    list.sort(comparator);
+    assertThat(list).isEqualTo(List.of(3, 2, 1));
+    assertThat(isZero.test(0)).isTrue();
+    assertThat(isZero.test(1)).isFalse();
+  }
+
+  @Test
+  void throwsIfNotFunctionalInterface() {
+    // GIVEN
+    var RANGLEASaddr = getPrimitiveAddress(">AS");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(RANGLEASaddr)
+            .withParameterStack(
+                aParameterStack().with(getPrimitiveAddress("DUP"), List.class).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // EXPECT
+    assertThrows(MachineException.class, () -> machine.step());
+  }
+}
@@ -25,6 +25,7 @@ import static bjforth.machine.MachineStateBuilder.aMachineState;
 import static bjforth.machine.ParameterStackBuilder.aParameterStack;
 
 import bjforth.primitives.COMMALANGLE.MethodDescriptor;
+import java.util.Collections;
 import java.util.List;
 import org.apache.commons.lang3.RandomUtils;
 import org.junit.jupiter.api.DisplayName;
@@ -117,4 +118,39 @@ class RANGLECOMMATest {
     // THEN
     assertThat(actualState).hasParameterStackEqualTo(aParameterStack().with((Object) null).build());
   }
+
+  public static class Many {
+    public static String concat(
+        String a, String b, String c, String d, String e, String f, String g, String h) {
+      return a + b + c + d + e + f + g + h;
+    }
+  }
+
+  @DisplayName("Should call methods with any number of arguments")
+  @Test
+  void worksOkManyArguments() {
+    // GIVEN
+    var RANGLECOMMAaddr = getPrimitiveAddress(">,");
+    var methodDescriptor = new MethodDescriptor();
+    methodDescriptor.parameterTypes = Collections.nCopies(8, String.class);
+    methodDescriptor.arity = 8;
+    methodDescriptor.name = "concat";
+    methodDescriptor.target = Many.class;
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(RANGLECOMMAaddr)
+            .withParameterStack(
+                aParameterStack()
+                    .with("h", "g", "f", "e", "d", "c", "b", "a")
+                    .with(methodDescriptor)
+                    .build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState).hasParameterStackEqualTo(aParameterStack().with("abcdefgh").build());
+  }
 }
@@ -141,4 +141,33 @@ class RANGLEDOTTest {
     // THEN
     assertThat(actualState).hasParameterStackEqualTo(aParameterStack().with(10).build());
   }
+
+  @DisplayName("Should resolve the method for the class of each receiver")
+  @Test
+  void worksOkDifferentReceivers() {
+    // GIVEN
+    var DOTDOTaddr = getPrimitiveAddress(">.");
+    var methodDescriptor = new MethodDescriptor();
+    methodDescriptor.parameterTypes = List.of();
+    methodDescriptor.arity = 0;
+    methodDescriptor.name = "toString";
+    methodDescriptor.varargFromArgumentNo = -1;
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(DOTDOTaddr)
+            .withParameterStack(aParameterStack().with(List.of(1), methodDescriptor).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+    machine.step();
+    machine.popFromParameterStack();
+
+    // WHEN
+    machine.pushToParameterStack(42L);
+    machine.pushToParameterStack(methodDescriptor);
+    machine.jumpTo(DOTDOTaddr);
+    machine.step();
+
+    // THEN
+    assertThat(actualState).hasParameterStackEqualTo(aParameterStack().with("42").build());
+  }
 }
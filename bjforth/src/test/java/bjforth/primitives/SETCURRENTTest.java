@@ -0,0 +1,70 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.DictionaryItem;
+import bjforth.machine.MachineException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SETCURRENTTest {
+
+  @DisplayName("new definitions go into the given wordlist.")
+  @Test
+  void worksOk() {
+    // GIVEN
+    var SETCURRENTaddr = getPrimitiveAddress("SET-CURRENT");
+    var actualState = aMachineState().withInstrcutionPointer(SETCURRENTaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    var wordlist = machine.createWordlist();
+    machine.pushToParameterStack(wordlist);
+
+    // WHEN
+    machine.step();
+    machine.createDictionaryItem("FOO", new DictionaryItem("FOO", 10000, false, false));
+
+    // THEN
+    assertThat(machine.getCurrentWordlist()).isEqualTo(wordlist);
+    assertThat(machine.findDictionaryItem("FOO")).isEmpty();
+    machine.setSearchOrder(new int[] {wordlist});
+    assertThat(machine.findDictionaryItem("FOO")).isPresent();
+  }
+
+  @DisplayName("throws if the wordlist doesn't exist.")
+  @Test
+  void throwsIfNoSuchWordlist() {
+    // GIVEN
+    var SETCURRENTaddr = getPrimitiveAddress("SET-CURRENT");
+    var actualState = aMachineState().withInstrcutionPointer(SETCURRENTaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    machine.pushToParameterStack(42);
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+    assertThat(machine.getCurrentWordlist()).isEqualTo(machine.getForthWordlist());
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives;
+
+import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
+import static bjforth.machine.MachineAssertions.assertThat;
+import static bjforth.machine.MachineBuilder.aMachine;
+import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.ParameterStackBuilder.aParameterStack;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import bjforth.machine.MachineException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class SETORDERTest {
+
+  @DisplayName("sets the search order, the wordlist below the length searched first.")
+  @Test
+  void worksOk() {
+    // GIVEN
+    var SETORDERaddr = getPrimitiveAddress("SET-ORDER");
+    var actualState = aMachineState().withInstrcutionPointer(SETORDERaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    var wordlist = machine.createWordlist();
+    machine.pushToParameterStack(machine.getForthWordlist());
+    machine.pushToParameterStack(wordlist);
+    machine.pushToParameterStack(2);
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState).hasParameterStackEqualTo(aParameterStack().build());
+    assertThat(machine.getSearchOrder()).containsExactly(wordlist, machine.getForthWordlist());
+  }
+
+  @DisplayName("-1 sets the search order to the Forth wordlist only.")
+  @Test
+  void minimumSearchOrder() {
+    // GIVEN
+    var SETORDERaddr = getPrimitiveAddress("SET-ORDER");
+    var actualState = aMachineState().withInstrcutionPointer(SETORDERaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    machine.setSearchOrder(new int[] {});
+    machine.pushToParameterStack(-1);
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(machine.getSearchOrder()).containsExactly(machine.getForthWordlist());
+  }
+
+  @DisplayName("throws if a wordlist doesn't exist.")
+  @Test
+  void throwsIfNoSuchWordlist() {
+    // GIVEN
+    var SETORDERaddr = getPrimitiveAddress("SET-ORDER");
+    var actualState = aMachineState().withInstrcutionPointer(SETORDERaddr).build();
+    var machine = aMachine().withState(actualState).build();
+    machine.pushToParameterStack(42);
+    machine.pushToParameterStack(1);
+
+    // EXPECT
+    assertThrows(MachineException.class, machine::step);
+    assertThat(machine.getSearchOrder()).containsExactly(machine.getForthWordlist());
+  }
+}
@@ -22,6 +22,7 @@ import static bjforth.machine.BootstrapUtils.getPrimitiveAddress;
 import static bjforth.machine.MachineAssertions.*;
 import static bjforth.machine.MachineBuilder.aMachine;
 import static bjforth.machine.MachineStateBuilder.aMachineState;
+import static bjforth.machine.MemoryBuilder.aMemory;
 import static bjforth.machine.ParameterStackBuilder.aParameterStack;
 import static org.assertj.core.api.Assertions.*;
 
@@ -41,6 +42,7 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.ArgumentsProvider;
 import org.junit.jupiter.params.provider.ArgumentsSource;
+import org.junit.jupiter.params.provider.MethodSource;
 
 class SUBTest {
 
@@ -73,6 +75,40 @@ class SUBTest {
         .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
   }
 
+  @DisplayName("promotes the difference to a wider type instead of overflowing.")
+  @ParameterizedTest(name = "{displayName} {0} - {1} = {2}")
+  @MethodSource("overflowingFixnums")
+  void promotesOnOverflow(Object parameter1, Object parameter2, Object expectedResult) {
+    // GIVEN
+    var SUBaddr = getPrimitiveAddress("-");
+    var actualState =
+        aMachineState()
+            .withInstrcutionPointer(SUBaddr)
+            .withNextInstructionPointer(SUBaddr + 1)
+            .withMemory(aMemory().build())
+            .withParameterStack(aParameterStack().with(parameter2, parameter1).build())
+            .build();
+    var machine = aMachine().withState(actualState).build();
+
+    // WHEN
+    machine.step();
+
+    // THEN
+    assertThat(actualState)
+        .hasParameterStackEqualTo(aParameterStack().with(expectedResult).build());
+  }
+
+  static Stream<Arguments> overflowingFixnums() {
+    return Stream.of(
+        Arguments.of(Integer.MIN_VALUE, 1, -2147483649L),
+        Arguments.of(
+            Long.MIN_VALUE, 1L, BigInteger.valueOf(Long.MIN_VALUE).subtract(BigInteger.ONE)),
+        Arguments.of(
+            new BigInteger("123456789012345678901234567890"),
+            1,
+            new BigInteger("123456789012345678901234567890").subtract(BigInteger.ONE)));
+  }
+
   @DisplayName("should throw if any of parameter stack top is not a number.")
   @ParameterizedTest(name = "{displayName} parameter1(type={2}) parameter2(type={3})")
   @ArgumentsSource(NonNumberArgumentProvider.class)
@@ -21,11 +21,20 @@ package bjforth.primitives.lib;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 
+import bjforth.machine.MachineException;
 import java.io.File;
+import java.nio.file.FileVisitResult;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 
 class ClassCacheTest {
 
+  @AfterEach
+  void resetImports() {
+    ClassCache.reset();
+  }
+
   @Test
   void worksOkFullyQualified() {
     // GIVEN
@@ -61,4 +70,44 @@ class ClassCacheTest {
     // EXPECT
     assertThat(ClassCache.forNameArray(className)).isEqualTo(Object[].class);
   }
+
+  @Test
+  void throwsIfNotFound() {
+    // GIVEN
+    var className = "NoSuchClass";
+
+    // EXPECT
+    assertThrows(MachineException.class, () -> ClassCache.forName(className));
+    assertThrows(MachineException.class, () -> ClassCache.forNameArray(className));
+  }
+
+  @Test
+  void worksOkImported() {
+    // GIVEN
+    var className = "FileVisitResult";
+    assertThrows(MachineException.class, () -> ClassCache.forName(className));
+
+    // WHEN
+    ClassCache.addImport("java.nio.file");
+
+    // THEN
+    assertThat(ClassCache.forName(className)).isEqualTo(FileVisitResult.class);
+    assertThat(ClassCache.getImports().subList(0, 3))
+        .isEqualTo(List.of("java.lang", "java.util", "java.io"));
+    assertThat(ClassCache.getImports().contains("java.nio.file")).isTrue();
+  }
+
+  @Test
+  void resetsImports() {
+    // GIVEN
+    ClassCache.addImport("java.nio.file");
+    ClassCache.forName("FileVisitResult");
+
+    // WHEN
+    ClassCache.reset();
+
+    // THEN
+    assertThat(ClassCache.getImports()).isEqualTo(List.of("java.lang", "java.util", "java.io"));
+    assertThrows(MachineException.class, () -> ClassCache.forName("FileVisitResult"));
+  }
 }
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InlineCacheTest {
+
+  private final Map<Class<?>, Integer> resolutions = new HashMap<>();
+
+  private final Function<Class<?>, MethodHandle> resolver =
+      receiver -> {
+        resolutions.merge(receiver, 1, Integer::sum);
+        return MethodHandles.constant(Object.class, receiver);
+      };
+
+  @BeforeEach
+  void resetTotals() {
+    InlineCache.resetTotals();
+  }
+
+  @Test
+  void resolvesOncePerReceiverClass() throws Throwable {
+    // GIVEN
+    var cache = new InlineCache(2);
+
+    // WHEN
+    for (var receiver : List.of(1, "a", 2, "b", 3)) {
+      var handle = cache.get(receiver.getClass(), resolver);
+      assertThat(handle.invoke()).isEqualTo(receiver.getClass());
+    }
+
+    // THEN
+    assertThat(resolutions).isEqualTo(Map.of(Integer.class, 1, String.class, 1));
+    assertThat(cache.getSize()).isEqualTo(2);
+    assertThat(cache.isMegamorphic()).isFalse();
+    assertThat(cache.getHits()).isEqualTo(3);
+    assertThat(cache.getMisses()).isEqualTo(2);
+    assertThat(InlineCache.getTotalHits()).isEqualTo(3);
+    assertThat(InlineCache.getTotalMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void becomesMegamorphic() {
+    // GIVEN
+    var cache = new InlineCache(2);
+
+    // WHEN
+    for (var receiver : List.of(1, "a", 2L, 3, 4L)) {
+      cache.get(receiver.getClass(), resolver);
+    }
+
+    // THEN
+    assertThat(cache.isMegamorphic()).isTrue();
+    assertThat(cache.getSize()).isEqualTo(0);
+    assertThat(resolutions).isEqualTo(Map.of(Integer.class, 2, String.class, 1, Long.class, 2));
+    assertThat(cache.getHits()).isEqualTo(0);
+    assertThat(cache.getMisses()).isEqualTo(3);
+    assertThat(cache.getMegamorphicCalls()).isEqualTo(2);
+    assertThat(InlineCache.getTotalMegamorphicCalls()).isEqualTo(2);
+  }
+
+  @Test
+  void countsEachSiteAndAllOfThem() {
+    // GIVEN
+    var cache1 = new InlineCache(2);
+    var cache2 = new InlineCache(2);
+
+    // WHEN
+    for (var receiver : List.of(1, 2, 3)) {
+      cache1.get(receiver.getClass(), resolver);
+    }
+    for (var receiver : List.of("a", "b")) {
+      cache2.get(receiver.getClass(), resolver);
+    }
+
+    // THEN
+    assertThat(cache1.getHits()).isEqualTo(2);
+    assertThat(cache2.getHits()).isEqualTo(1);
+    assertThat(InlineCache.getTotalHits()).isEqualTo(3);
+    assertThat(InlineCache.getTotalMisses()).isEqualTo(2);
+  }
+
+  @Test
+  void megamorphicSiteReusesResolvedMethods() throws Throwable {
+    // GIVEN
+    var cache = new InlineCache(1);
+    var method = CallSites.forInstanceMethod("toString", List.of(), 0, -1);
+    cache.get(Integer.class, method);
+    cache.get(String.class, method);
+
+    // WHEN
+    var handle = cache.get(Long.class, method);
+
+    // THEN
+    assertThat(cache.isMegamorphic()).isTrue();
+    assertThat(cache.get(Long.class, method)).isSameAs(handle);
+    assertThat(handle.invoke(new Object[] {42L})).isEqualTo("42");
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2026 Bahman Movaqar
+ *
+ * This file is part of bjForth.
+ *
+ * bjForth is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * bjForth is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the GNU General Public License
+ * for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with bjForth. If not, see <https://www.gnu.org/licenses/>.
+ */
+package bjforth.primitives.lib;
+
+import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+class NumberParserTest {
+
+  @Test
+  void parsesNarrowestInteger() {
+    // EXPECT
+    assertThat(NumberParser.parse("-2147483648", 10)).isEqualTo(Integer.MIN_VALUE);
+    assertThat(NumberParser.parse("+2147483648", 10)).isEqualTo(2147483648L);
+    assertThat(NumberParser.parse("-9223372036854775808", 10)).isEqualTo(Long.MIN_VALUE);
+    assertThat(NumberParser.parse("9223372036854775808", 10))
+        .isEqualTo(new BigInteger("9223372036854775808"));
+  }
+
+  @Test
+  void parsesOtherBases() {
+    // EXPECT
+    assertThat(NumberParser.parse("-ff", 16)).isEqualTo(-255);
+    assertThat(NumberParser.parse("101", 2)).isEqualTo(5);
+    assertThat(NumberParser.parse("zzzzzzzzzzzzzz", 36))
+        .isEqualTo(new BigInteger("zzzzzzzzzzzzzz", 36));
+    assertThat(NumberParser.parse("12", 2)).isNull();
+    assertThat(NumberParser.parse("1.5", 16)).isNull();
+    assertThat(NumberParser.parse("1", 37)).isNull();
+  }
+
+  @Test
+  void parsesDecimalsInBase10() {
+    // EXPECT
+    assertThat(NumberParser.parse("1.5", 10)).isEqualTo(new BigDecimal("1.5"));
+    assertThat(NumberParser.parse("-.5E+3", 10)).isEqualTo(new BigDecimal("-.5E+3"));
+    assertThat(NumberParser.parse("5.", 10)).isEqualTo(new BigDecimal("5."));
+  }
+
+  @Test
+  void rejectsNonNumbers() {
+    // EXPECT
+    assertThat(NumberParser.parse("", 10)).isNull();
+    assertThat(NumberParser.parse("-", 10)).isNull();
+    assertThat(NumberParser.parse(".", 10)).isNull();
+    assertThat(NumberParser.parse("1e", 10)).isNull();
+    assertThat(NumberParser.parse("DUP", 10)).isNull();
+    assertThat(NumberParser.parse("1e99999999999", 10)).isNull();
+  }
+}